@@ -7,6 +7,8 @@ import javax.imageio.ImageIO;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Hashtable;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
@@ -14,15 +16,15 @@ import java.util.Set;
 import java.util.Dictionary;
 
 
-public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseMotionListener {
+public class AdvancedDesktopPet extends SpriteWindow implements MouseListener, MouseMotionListener {
     private static final int DEFAULT_WIDTH = 128;
     private static final int DEFAULT_HEIGHT = 128;
     private static final int ANIMATION_DELAY = 150;
     
-    private JLabel petLabel;
-    private Timer animationTimer;
-    private Timer movementTimer;
-    private Timer behaviorTimer;
+    private SpriteView petLabel;
+    private FrameTimer animationTimer;
+    private FrameTimer movementTimer;
+    private FrameTimer behaviorTimer;
     
     private ImageIcon idleGif;
     private ImageIcon walkGif;
@@ -34,6 +36,12 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
     
     // Movement
     private int targetX, targetY;
+    
+    // Movement speeds for the fixed-timestep integrator (per axis)
+    private static final int MOTION_STEP_MS = 10;
+    private static final int MAX_CATCH_UP_STEPS = 50; // Catch up at most 500ms (covers governor slowdown)
+    private static final double WALK_SPEED_PX_PER_SEC = 60.0;    // Was 3px per 50ms tick
+    private static final double ESCAPE_SPEED_PX_PER_SEC = 166.0; // Was 5px per 30ms tick
     private Random random = new Random();
     private boolean isWalking = false;
     private boolean facingRight = true; // Track facing direction
@@ -44,21 +52,24 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
     
     // Character Set Integration
     private CharacterSetManager characterSetManager;
-    private Timer multiFrameAnimationTimer;
+    private FrameTimer multiFrameAnimationTimer;
+    private AnimationPlayhead animationPlayhead = new AnimationPlayhead(); // This pet's position in the shared frames
+    private final FrameRateGovernor.Client frameRate =
+        FrameRateGovernor.getInstance().register("Pet@" + Integer.toHexString(System.identityHashCode(this)));
     private boolean isPainAnimationActive = false;
     private int painCycleCount = 0; // Track pain animation cycles
     private int maxPainCycles = 3; // Maximum pain cycles before running away
     private boolean isPowerModeActive = false; // Power mode - immune to pain
-    private Timer powerModeTimer; // Timer for power mode duration
+    private FrameTimer powerModeTimer; // Timer for power mode duration
     
     // Safety timer to check if pet is lost
-    private Timer safetyTimer;
+    private FrameTimer safetyTimer;
     
     // Enemy system
     private boolean enemyEnabled = false;
     private List<EnemyWindow> enemies = new ArrayList<>();
-    private Timer enemySpawnTimer;
-    private Timer enemyCleanupTimer;
+    private FrameTimer enemySpawnTimer;
+    private FrameTimer enemyCleanupTimer;
     private List<ImageIcon> enemyImages = new ArrayList<>();
     private Random enemyRandom = new Random();
     private int maxEnemies = 5; // Increased from 3 to 5
@@ -76,6 +87,9 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
     int petHeight = DEFAULT_HEIGHT;
     float transparency = 1.0f; // 0.0 = invisible, 1.0 = opaque
     private static List<AdvancedDesktopPet> allPets = new ArrayList<>();
+    private static boolean displayChangeHandlerRegistered = false;
+    private static boolean reloadHandlerRegistered = false;
+    private static volatile Rectangle[] screenBounds; // Cached for offscreen checks, reset when displays change
     private JFrame settingsWindow = null;
     private boolean allowCrossScreen = false; // Allow movement between screens
     private JWindow floatingShortcut = null; // Cyberpunk floating shortcut
@@ -134,6 +148,34 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
         initializeLanguages();
         allPets.add(this); // Register this pet
         MusicManager.updatePetList(allPets); // Update music manager
+        registerDisplayChangeHandler();
+        registerCharacterSetReloadHandler();
+        
+        // Moving onto another monitor can mean a different pixel format
+        addPropertyChangeListener("graphicsConfiguration", e -> {
+            CompatibleImages.setTargetConfiguration(getGraphicsConfiguration());
+            CompatibleImages.checkDisplayChange();
+        });
+        
+        // Offscreen and hidden state follow moves and visibility rather than being polled every frame
+        addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentMoved(ComponentEvent e) {
+                CompatibleImages.setTargetConfiguration(getGraphicsConfiguration());
+                updateFrameRateState();
+            }
+            
+            @Override
+            public void componentShown(ComponentEvent e) {
+                CompatibleImages.setTargetConfiguration(getGraphicsConfiguration());
+                updateFrameRateState();
+            }
+            
+            @Override
+            public void componentHidden(ComponentEvent e) {
+                updateFrameRateState();
+            }
+        });
         
         // Set application icon
         setApplicationIcon();
@@ -281,9 +323,13 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
             }
             
             if (iconFile.exists()) {
-                ImageIcon icon = new ImageIcon(iconFile.getAbsolutePath());
-                setIconImage(icon.getImage());
-                System.out.println("Application icon set successfully: " + iconFile.getAbsolutePath());
+                BufferedImage icon = CharacterFileManager.readImage(iconFile);
+                if (icon != null) {
+                    setIconImage(icon);
+                    System.out.println("Application icon set successfully: " + iconFile.getAbsolutePath());
+                } else {
+                    System.out.println("Warning: " + iconFile.getName() + " is not a readable image. Application will use default icon.");
+                }
             } else {
                 System.out.println("Warning: chibi01.ico not found. Application will use default icon.");
             }
@@ -348,6 +394,16 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
         englishTexts.put("pain_animation", "Pain Animation");
         englishTexts.put("import_images", "Import Images");
         englishTexts.put("export_set", "Export Set");
+        englishTexts.put("import_archive", "Import Archive");
+        englishTexts.put("exporting_character_set", "Exporting character set...");
+        englishTexts.put("importing_character_set", "Importing character set...");
+        englishTexts.put("saving_character_set", "Saving character set...");
+        englishTexts.put("frame_dedup_stats", "Shared frames: %d unique, %d reused, %d KB saved");
+        englishTexts.put("export_complete", "Character set exported to: ");
+        englishTexts.put("import_complete", "Imported character set: ");
+        englishTexts.put("save_set_before_export", "Please save the character set before exporting it.");
+        englishTexts.put("error_exporting_character_set", "Error exporting character set: ");
+        englishTexts.put("error_importing_character_set", "Error importing character set: ");
         englishTexts.put("save_set", "Save Set");
         englishTexts.put("delete_set", "Delete Set");
         englishTexts.put("test_in_pet", "Test in Pet");
@@ -419,6 +475,16 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
         chineseTexts.put("pain_animation", "\u75bc\u75db\u52a8\u753b");
         chineseTexts.put("import_images", "\u5bfc\u5165\u56fe\u7247");
         chineseTexts.put("export_set", "\u5bfc\u51fa\u96c6\u5408");
+        chineseTexts.put("import_archive", "\u5bfc\u5165\u538b\u7f29\u5305");
+        chineseTexts.put("exporting_character_set", "\u6b63\u5728\u5bfc\u51fa\u89d2\u8272\u96c6...");
+        chineseTexts.put("importing_character_set", "\u6b63\u5728\u5bfc\u5165\u89d2\u8272\u96c6...");
+        chineseTexts.put("saving_character_set", "\u6b63\u5728\u4fdd\u5b58\u89d2\u8272\u96c6...");
+        chineseTexts.put("frame_dedup_stats", "\u5171\u4eab\u5e27\uff1a%d \u4e2a\u552f\u4e00\uff0c\u590d\u7528 %d \u4e2a\uff0c\u8282\u7701 %d KB");
+        chineseTexts.put("export_complete", "\u89d2\u8272\u96c6\u5df2\u5bfc\u51fa\u5230\uff1a");
+        chineseTexts.put("import_complete", "\u5df2\u5bfc\u5165\u89d2\u8272\u96c6\uff1a");
+        chineseTexts.put("save_set_before_export", "\u8bf7\u5148\u4fdd\u5b58\u89d2\u8272\u96c6\u518d\u5bfc\u51fa\u3002");
+        chineseTexts.put("error_exporting_character_set", "\u5bfc\u51fa\u89d2\u8272\u96c6\u65f6\u51fa\u9519\uff1a");
+        chineseTexts.put("error_importing_character_set", "\u5bfc\u5165\u89d2\u8272\u96c6\u65f6\u51fa\u9519\uff1a");
         chineseTexts.put("save_set", "\u4fdd\u5b58\u96c6\u5408");
         chineseTexts.put("delete_set", "\u5220\u9664\u96c6\u5408");
         chineseTexts.put("test_in_pet", "\u5728\u5b9c\u7269\u4e2d\u6d4b\u8bd5");
@@ -586,9 +652,8 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
         int centerY = screenBounds.y + (screenBounds.height - petHeight) / 2;
         setLocation(centerX, centerY);
         
-        petLabel = new JLabel();
-        petLabel.setHorizontalAlignment(JLabel.CENTER);
-        petLabel.setVerticalAlignment(JLabel.CENTER);
+        petLabel = new SpriteView();
+        attachSpriteView(petLabel);
         petLabel.setVisible(true);
         petLabel.setOpaque(false);
         petLabel.setBounds(0, 0, petWidth, petHeight);
@@ -661,13 +726,13 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
             // Load idle animation
             AnimationSequence idleSeq = currentSet.getIdleAnimation();
             if (idleSeq.getFrameCount() > 0) {
-                idleGif = idleSeq.getCurrentFrame().getImage();
+                idleGif = new ImageIcon(idleSeq.getFrames().get(0).getImage());
             }
             
             // Load walking animation
             AnimationSequence walkingSeq = currentSet.getWalkingAnimation();
             if (walkingSeq.getFrameCount() > 0) {
-                walkGif = walkingSeq.getCurrentFrame().getImage();
+                walkGif = new ImageIcon(walkingSeq.getFrames().get(0).getImage());
             }
             
             // Load special animation
@@ -675,7 +740,7 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
             AnimationSequence specialSeq = currentSet.getSpecialAnimation();
             if (specialSeq.getFrameCount() > 0) {
                 for (AnimationFrame frame : specialSeq.getFrames()) {
-                    specialAnimations.add(frame.getImage());
+                    specialAnimations.add(new ImageIcon(frame.getImage()));
                 }
             }
             
@@ -709,8 +774,8 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
                 if (sequence != null && sequence.getFrameCount() > 0) {
                     for (AnimationFrame frame : sequence.getFrames()) {
                         if (frame.getImage() != null) {
-                            int imageWidth = frame.getImage().getIconWidth();
-                            int imageHeight = frame.getImage().getIconHeight();
+                            int imageWidth = frame.getWidth();
+                            int imageHeight = frame.getHeight();
                             
                             if (imageWidth > maxWidth) maxWidth = imageWidth;
                             if (imageHeight > maxHeight) maxHeight = imageHeight;
@@ -799,8 +864,9 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
      * Initialize timer for multi-frame animations
      */
     private void initializeMultiFrameAnimationTimer() {
-        multiFrameAnimationTimer = new Timer(150, e -> updateMultiFrameAnimation());
+        multiFrameAnimationTimer = new FrameTimer(150, e -> updateMultiFrameAnimation());
         multiFrameAnimationTimer.setRepeats(true); // Ensure it repeats
+        multiFrameAnimationTimer.setRateClient(frameRate);
         // Don't start automatically - will be started when needed
     }
     
@@ -808,6 +874,8 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
      * Update multi-frame animation for character sets
      */
     private void updateMultiFrameAnimation() {
+        updateIdleState(); // Offscreen and hidden state follow move, visibility and display events
+
         try {
             CharacterSet currentSet = characterSetManager.getCurrentPetCharacterSet();
             if (currentSet == null) return;
@@ -838,13 +906,14 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
             }
             
             if (currentSequence != null && currentSequence.getFrameCount() > 0) {
-                AnimationFrame nextFrame = currentSequence.nextFrame();
+                animationPlayhead.play(currentSequence);
+                AnimationFrame nextFrame = animationPlayhead.nextFrame();
                 if (nextFrame != null) {
-                    ImageIcon frameImage = nextFrame.getImage();
+                    BufferedImage frameImage = nextFrame.getDisplayImage();
                     if (frameImage != null) {
                         // Apply horizontal flip if needed
-                        ImageIcon displayImage = facingRight ? frameImage : getFlippedIcon(frameImage);
-                        petLabel.setIcon(displayImage);
+                        BufferedImage displayImage = facingRight ? frameImage : nextFrame.getFlippedImage();
+                        petLabel.setImage(displayImage);
                         
                         // Update timer delay based on frame duration
                         int frameDuration = nextFrame.getDuration();
@@ -854,12 +923,12 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
                         
                         // Debug output for pain animation
                         if (isPainAnimationActive) {
-                            System.out.println("Pain animation frame: " + currentSequence.getCurrentFrameIndex() + 
+                            System.out.println("Pain animation frame: " + animationPlayhead.getCurrentFrameIndex() + 
                                              "/" + currentSequence.getFrameCount() + 
                                              " (duration: " + frameDuration + "ms)");
                             
                             // Check if we completed a cycle (reached the end of animation)
-                            if (currentSequence.getCurrentFrameIndex() == 0) {
+                            if (animationPlayhead.getCurrentFrameIndex() == 0) {
                                 painCycleCount++;
                                 System.out.println("Pain cycle completed: " + painCycleCount + "/" + maxPainCycles);
                                 
@@ -897,6 +966,7 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
         }
         
         isPainAnimationActive = true;
+        frameRate.setIdle(false);
         painCycleCount = 0; // Reset cycle counter
         System.out.println("Starting pain animation (will run for " + maxPainCycles + " cycles)");
         
@@ -924,13 +994,13 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
             CharacterSet currentSet = characterSetManager.getCurrentPetCharacterSet();
             if (currentSet != null) {
                 if (currentSet.getPainAnimation().getFrameCount() > 0) {
-                    currentSet.getPainAnimation().reset(); // Reset to first frame
+                    animationPlayhead.start(currentSet.getPainAnimation()); // Reset to first frame
                     multiFrameAnimationTimer.start();
                     System.out.println("Started pain animation with " + currentSet.getPainAnimation().getFrameCount() + " frames");
                 } else {
                     // No pain animation available, just use idle animation during pain
                     System.out.println("No pain animation available, using idle animation");
-                    currentSet.getIdleAnimation().reset();
+                    animationPlayhead.start(currentSet.getIdleAnimation());
                     multiFrameAnimationTimer.start();
                 }
                 
@@ -975,12 +1045,12 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
         // Trigger a faster escape behavior after pain
         if (currentBehavior == 1) { // If in walking behavior
             // Start a faster escape walk immediately
-            Timer postPainEscapeTimer = new Timer(100, e -> {
+            FrameTimer postPainEscapeTimer = new FrameTimer(100, e -> {
                 if (!isDragging && !isPainAnimationActive) {
                     System.out.println("Starting post-pain escape run");
                     startEscapeRun();
                 }
-                ((Timer) e.getSource()).stop();
+                ((FrameTimer) e.getSource()).stop();
             });
             postPainEscapeTimer.start();
         }
@@ -1036,6 +1106,7 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
         
         isWalking = true;
         walkAnimationFrame = 0;
+        frameRate.setIdle(false);
         
         System.out.println("Escape target set to: (" + targetX + ", " + targetY + ")");
         
@@ -1051,7 +1122,13 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
         updateWalkingSprite();
         
         // Faster escape timer (30ms instead of 50ms for faster movement)
-        Timer escapeTimer = new Timer(30, new ActionListener() {
+        FrameTimer escapeTimer = new FrameTimer(30, new ActionListener() {
+            private final MotionIntegrator motion = new MotionIntegrator(MOTION_STEP_MS, MAX_CATCH_UP_STEPS);
+            
+            {
+                motion.reset(getLocation());
+            }
+            
             @Override
             public void actionPerformed(ActionEvent e) {
                 // Stop movement immediately if pain animation is active (but allow during power mode)
@@ -1059,42 +1136,43 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
                     System.out.println("Stopping escape during pain animation");
                     isWalking = false;
                     updateIdleSprite();
-                    ((Timer) e.getSource()).stop();
+                    ((FrameTimer) e.getSource()).stop();
                     return;
                 }
                 
-                Point current = getLocation();
-                int dx = targetX - current.x;
-                int dy = targetY - current.y;
+                // Simulate however much time really passed since the last tick
+                motion.sync(getLocation());
+                motion.advance(System.nanoTime());
+                while (motion.nextStep() && !hasReachedTarget(motion)) {
+                    motion.moveToward(targetX, targetY, ESCAPE_SPEED_PX_PER_SEC);
+                    Point safeNewLocation = ensurePetFullyVisible(motion.getPosition());
+                    if (!safeNewLocation.equals(motion.getPosition())) {
+                        motion.setPosition(safeNewLocation);
+                    }
+                }
                 
-                if (Math.abs(dx) < 5 && Math.abs(dy) < 5) {
+                if (hasReachedTarget(motion)) {
+                    setLocation(motion.settle());
                     System.out.println("Pet reached escape target, stopping escape");
                     isWalking = false;
                     updateIdleSprite();
-                    ((Timer) e.getSource()).stop();
+                    ((FrameTimer) e.getSource()).stop();
                     
                     // Return to normal behavior after escape
-                    Timer returnToNormalTimer = new Timer(1000, evt -> {
+                    FrameTimer returnToNormalTimer = new FrameTimer(1000, evt -> {
                         if (!isDragging && !isPainAnimationActive) {
                             System.out.println("Returning to normal behavior after escape");
                             startRandomWalk();
                         }
-                        ((Timer) evt.getSource()).stop();
+                        ((FrameTimer) evt.getSource()).stop();
                     });
                     returnToNormalTimer.start();
                     return;
                 }
                 
-                // Faster movement (5 pixels instead of 3)
-                int stepX = dx == 0 ? 0 : (dx > 0 ? 5 : -5);
-                int stepY = dy == 0 ? 0 : (dy > 0 ? 5 : -5);
-                
-                Point newLocation = new Point(current.x + stepX, current.y + stepY);
-                Point safeNewLocation = ensurePetFullyVisible(newLocation);
-                
                 // Don't move if pain animation is active
                 if (!isPainAnimationActive) {
-                    setLocation(safeNewLocation);
+                    setLocation(motion.getRenderPosition());
                 }
                 
                 // Update walking animation frame for leg sync
@@ -1106,6 +1184,7 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
                 }
             }
         });
+        escapeTimer.setRateClient(frameRate);
         escapeTimer.start();
     }
     
@@ -1119,9 +1198,9 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
         System.out.println("POWER MODE ACTIVATED! Pet is immune to pain for 3 seconds!");
         
         // Create power mode timer for 3 seconds
-        powerModeTimer = new Timer(3000, e -> {
+        powerModeTimer = new FrameTimer(3000, e -> {
             stopPowerMode();
-            ((Timer) e.getSource()).stop();
+            ((FrameTimer) e.getSource()).stop();
         });
         powerModeTimer.start();
     }
@@ -1189,6 +1268,13 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
      */
     public void switchCharacterSet(String setName, boolean isPet) {
         try {
+            // Keep showing the current set while a stub set decodes, then switch
+            CharacterSet target = characterSetManager.peekCharacterSet(setName, isPet);
+            if (target != null && !target.isLoaded()) {
+                characterSetManager.loadInBackground(target, () -> switchCharacterSet(setName, isPet));
+                return;
+            }
+            
             if (isPet) {
                 characterSetManager.setCurrentPetCharacterSet(setName);
                 
@@ -1300,11 +1386,9 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
             // Load from character set animations (EXCLUDING pain frames - they are handled separately)
             if (currentEnemySet.getIdleAnimation().getFrameCount() > 0) {
                 for (AnimationFrame frame : currentEnemySet.getIdleAnimation().getFrames()) {
-                    if (frame.getOriginalImage() != null) {
+                    if (frame.hasOriginal()) {
                                             // Scale enemy image to independent size
-                    Image img = frame.getOriginalImage().getImage();
-                    Image scaledImg = img.getScaledInstance(enemyWidth, enemyHeight, Image.SCALE_SMOOTH);
-                    enemyImages.add(new ImageIcon(scaledImg));
+                    enemyImages.add(new ImageIcon(frame.getScaledImage(enemyWidth, enemyHeight)));
                     System.out.println("Scaled enemy idle frame to " + enemyWidth + "x" + enemyHeight);
                     }
                 }
@@ -1313,11 +1397,9 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
             // Also add walking animation frames if available
             if (currentEnemySet.getWalkingAnimation().getFrameCount() > 0) {
                 for (AnimationFrame frame : currentEnemySet.getWalkingAnimation().getFrames()) {
-                    if (frame.getOriginalImage() != null) {
+                    if (frame.hasOriginal()) {
                         // Scale enemy image to independent size
-                        Image img = frame.getOriginalImage().getImage();
-                        Image scaledImg = img.getScaledInstance(enemyWidth, enemyHeight, Image.SCALE_SMOOTH);
-                        enemyImages.add(new ImageIcon(scaledImg));
+                        enemyImages.add(new ImageIcon(frame.getScaledImage(enemyWidth, enemyHeight)));
                         System.out.println("Scaled enemy walking frame to " + enemyWidth + "x" + enemyHeight);
                     }
                 }
@@ -1326,11 +1408,9 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
             // Add special animation frames if available
             if (currentEnemySet.getSpecialAnimation().getFrameCount() > 0) {
                 for (AnimationFrame frame : currentEnemySet.getSpecialAnimation().getFrames()) {
-                    if (frame.getOriginalImage() != null) {
+                    if (frame.hasOriginal()) {
                         // Scale enemy image to independent size
-                        Image img = frame.getOriginalImage().getImage();
-                        Image scaledImg = img.getScaledInstance(enemyWidth, enemyHeight, Image.SCALE_SMOOTH);
-                        enemyImages.add(new ImageIcon(scaledImg));
+                        enemyImages.add(new ImageIcon(frame.getScaledImage(enemyWidth, enemyHeight)));
                         System.out.println("Scaled enemy special frame to " + enemyWidth + "x" + enemyHeight);
                     }
                 }
@@ -1392,10 +1472,10 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
         try {
             // First try to load from resources
             java.net.URL resource = getClass().getResource("/" + filename);
-            ImageIcon icon = null;
+            BufferedImage icon = null;
             
             if (resource != null) {
-                icon = new ImageIcon(resource);
+                icon = CharacterFileManager.readImage(resource);
                 System.out.println("Successfully loaded enemy image from resources: " + filename);
             } else {
                 // Try alternative resource paths
@@ -1409,7 +1489,7 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
                 for (String path : resourcePaths) {
                     resource = getClass().getResource(path);
                     if (resource != null) {
-                        icon = new ImageIcon(resource);
+                        icon = CharacterFileManager.readImage(resource);
                         System.out.println("Successfully loaded enemy image from resources: " + path);
                         break;
                     }
@@ -1419,7 +1499,7 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
                 if (icon == null) {
                 File file = new File(filename);
                 if (file.exists()) {
-                    icon = new ImageIcon(filename);
+                    icon = CharacterFileManager.readImage(file);
                         System.out.println("Successfully loaded enemy image from file: " + filename);
                 } else {
                         // Try alternative file paths
@@ -1433,7 +1513,7 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
                     for (String alt : alternatives) {
                         File altFile = new File(alt);
                         if (altFile.exists()) {
-                            icon = new ImageIcon(alt);
+                            icon = CharacterFileManager.readImage(altFile);
                                 System.out.println("Successfully loaded enemy image from file: " + alt);
                             break;
                             }
@@ -1443,11 +1523,9 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
             }
             
             // Scale the enemy image to independent size
-            if (icon != null && icon.getIconWidth() > 0 && icon.getIconHeight() > 0) {
-                Image img = icon.getImage();
-                Image scaledImg = img.getScaledInstance(enemyWidth, enemyHeight, Image.SCALE_SMOOTH);
+            if (icon != null && icon.getWidth() > 0 && icon.getHeight() > 0) {
                 System.out.println("Scaled legacy enemy image to " + enemyWidth + "x" + enemyHeight);
-                return new ImageIcon(scaledImg);
+                return ScaledImageCache.getScaled(icon, enemyWidth, enemyHeight);
             } else {
                 System.out.println("Failed to load enemy image: " + filename);
             }
@@ -1497,33 +1575,28 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
         try {
             // First try to load from resources
             java.net.URL resource = getClass().getResource("/" + filename);
-            ImageIcon icon = null;
+            BufferedImage icon = null;
             
             if (resource != null) {
-                icon = new ImageIcon(resource);
+                icon = CharacterFileManager.readImage(resource);
             } else {
                 // Try to load from current directory
                 File file = new File(filename);
                 if (file.exists()) {
-                    icon = new ImageIcon(filename);
+                    icon = CharacterFileManager.readImage(file);
                 } else {
                     // Try from images subfolder
                     file = new File("images/" + filename);
                     if (file.exists()) {
-                        icon = new ImageIcon("images/" + filename);
+                        icon = CharacterFileManager.readImage(file);
                     }
                 }
             }
             
             // Always scale the image to fit the pet window if loaded successfully
-            if (icon != null && icon.getIconWidth() > 0 && icon.getIconHeight() > 0) {
-                Image img = icon.getImage();
-                
-                // Use SCALE_SMOOTH for better quality scaling
-                Image scaledImg = img.getScaledInstance(petWidth, petHeight, Image.SCALE_SMOOTH);
-                
-                // Create a new ImageIcon with the scaled image
-                return new ImageIcon(scaledImg);
+            if (icon != null && icon.getWidth() > 0 && icon.getHeight() > 0) {
+                // Shared with every other pet showing this image at the same size
+                return ScaledImageCache.getScaled(icon, petWidth, petHeight);
             }
             
         } catch (Exception e) {
@@ -1658,11 +1731,13 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
     
     private void startTimers() {
         // Animation timer
-        animationTimer = new Timer(ANIMATION_DELAY, e -> updateAnimation());
+        animationTimer = new FrameTimer(ANIMATION_DELAY, e -> updateAnimation());
+        animationTimer.setRateClient(frameRate);
         animationTimer.start();
         
         // Movement timer - more frequent to keep pet active
-        movementTimer = new Timer(2000 + random.nextInt(3000), e -> {
+        // (not governed: stretching it would make the pet decide to walk less often)
+        movementTimer = new FrameTimer(2000 + random.nextInt(3000), e -> {
             if (!isDragging && currentBehavior == 1 && !isWalking) {
                 System.out.println("Movement timer triggered - starting random walk");
                 startRandomWalk();
@@ -1672,7 +1747,7 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
         movementTimer.start();
         
         // Behavior timer for random special animations
-        behaviorTimer = new Timer(15000 + random.nextInt(20000), e -> {
+        behaviorTimer = new FrameTimer(15000 + random.nextInt(20000), e -> {
             if (!isDragging && random.nextInt(3) == 0) {
                 playSpecialAnimation();
             }
@@ -1681,7 +1756,7 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
         behaviorTimer.start();
         
         // Safety timer to check if pet is lost or stuck - check every 5 seconds
-        safetyTimer = new Timer(5000, e -> {
+        safetyTimer = new FrameTimer(5000, e -> {
             checkAndFixPetLocation();
         });
         safetyTimer.start();
@@ -1692,7 +1767,7 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
         }
         
         // Add a movement watchdog timer to ensure pet keeps moving
-        Timer movementWatchdog = new Timer(10000, e -> {
+        FrameTimer movementWatchdog = new FrameTimer(10000, e -> {
             if (!isDragging && !isWalking && currentBehavior == 1) {
                 // Movement watchdog: Pet hasn't moved for 10 seconds - forcing movement
                 startRandomWalk();
@@ -1710,7 +1785,7 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
         }
         
         // Enemy spawn timer - spawn enemies at random intervals
-        enemySpawnTimer = new Timer(10000 + enemyRandom.nextInt(20000), e -> {
+        enemySpawnTimer = new FrameTimer(10000 + enemyRandom.nextInt(20000), e -> {
             if (enemyEnabled && enemies.size() < maxEnemies) {
                 spawnEnemy();
             }
@@ -1720,7 +1795,7 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
         enemySpawnTimer.start();
         
         // More frequent cleanup - check and fix issues every 10 seconds
-        enemyCleanupTimer = new Timer(10000, e -> {
+        enemyCleanupTimer = new FrameTimer(10000, e -> {
             if (enemyEnabled) {
                 // Focus on recovery first, only remove if completely broken
                 checkEnemyHealth();
@@ -1737,11 +1812,11 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
         loadEnemyImagesFromCharacterSet();
         
         // Spawn initial enemy after a delay
-        Timer initialSpawnTimer = new Timer(3000, e -> {
+        FrameTimer initialSpawnTimer = new FrameTimer(3000, e -> {
             if (enemyEnabled) {
                 spawnEnemy();
             }
-            ((Timer) e.getSource()).stop();
+            ((FrameTimer) e.getSource()).stop();
         });
         initialSpawnTimer.start();
     }
@@ -1752,7 +1827,7 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
         
         for (EnemyWindow enemy : enemies) {
             try {
-                if (enemy != null && enemy.isVisible() && enemy.isDisplayable()) {
+                if (enemy != null && enemy.isVisible() && enemy.isLive()) {
                     // Try to recover enemies with issues
                     if (enemy.hasNullTimers()) {
                         System.out.println("Attempting to recover enemy with null timers: " + enemy.hashCode());
@@ -1786,7 +1861,7 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
                     shouldRemove = true;
                 }
                 // Only remove if window is completely disposed
-                else if (!enemy.isDisplayable()) {
+                else if (!enemy.isLive()) {
                     System.out.println("Found disposed enemy, marking for removal");
                     shouldRemove = true;
                 }
@@ -1865,7 +1940,7 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
         }
         
         // Remove enemy after some time (2-5 minutes)
-        Timer despawnTimer = new Timer(120000 + enemyRandom.nextInt(180000), e -> {
+        FrameTimer despawnTimer = new FrameTimer(120000 + enemyRandom.nextInt(180000), e -> {
                 try {
             if (enemies.contains(enemy)) {
                         System.out.println("Despawning enemy...");
@@ -1882,7 +1957,7 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
                 } catch (Exception ex) {
                     System.out.println("Error during enemy despawn: " + ex.getMessage());
                 } finally {
-            ((Timer) e.getSource()).stop();
+            ((FrameTimer) e.getSource()).stop();
                 }
         });
         despawnTimer.start();
@@ -1924,6 +1999,20 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
             System.out.println("Enemies in list: " + listCount);
             System.out.println("Actual enemy windows: " + actualWindowCount);
             System.out.println("Orphaned enemy windows: " + orphanedCount);
+            System.out.println(SpriteFlipCache.getStats());
+            System.out.println(FrameScheduler.getInstance().getStats());
+            System.out.println(ScaledImageCache.getStats());
+            System.out.println(DecodedFrameCache.getStats());
+            System.out.println(FrameStore.getStats());
+            System.out.println(OffHeapFrameStore.getStats());
+            System.out.println(CompressedFrame.getStats());
+            System.out.println(CharacterSetManager.getInstance().getMemoryStats());
+            System.out.println(FrameRateGovernor.getInstance().getStats());
+            System.out.println("This pet - " + frameRate.describe());
+            if (isOverlayMode()) {
+                System.out.println(OverlayRenderer.getInstance().getStats());
+            }
+            System.out.println("Sprite repaints: " + petLabel.getRepaintCount() + ", identical frames skipped: " + petLabel.getSkippedCount());
             System.out.println("=========================");
             
             if (orphanedCount > 0) {
@@ -1960,7 +2049,7 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
                     shouldRemove = true;
                 }
                 // Check if enemy is not displayable (disposed)
-                else if (!enemy.isDisplayable()) {
+                else if (!enemy.isLive()) {
                     System.out.println("Found disposed enemy, marking for removal");
                     shouldRemove = true;
                 }
@@ -2074,10 +2163,10 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
             
             // Restart enemy system after a delay if it was enabled
             if (enemyEnabled) {
-                Timer restartTimer = new Timer(5000, e -> {
+                FrameTimer restartTimer = new FrameTimer(5000, e -> {
                     System.out.println("Restarting enemy system after force cleanup...");
                     startEnemySystem();
-                    ((Timer) e.getSource()).stop();
+                    ((FrameTimer) e.getSource()).stop();
                 });
                 restartTimer.start();
             }
@@ -2101,12 +2190,12 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
                 enemyEnabled = false;
                 
                 // Wait a moment then re-enable if it was enabled
-                Timer reenableTimer = new Timer(3000, e -> {
+                FrameTimer reenableTimer = new FrameTimer(3000, e -> {
                     if (enemyEnabled) {
                         System.out.println("Re-enabling enemy system after emergency cleanup...");
                         startEnemySystem();
                     }
-                    ((Timer) e.getSource()).stop();
+                    ((FrameTimer) e.getSource()).stop();
                 });
                 reenableTimer.start();
                 
@@ -2171,10 +2260,10 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
                 
                 // Restart enemy system after a longer delay
                 if (enemyEnabled) {
-                    Timer restartTimer = new Timer(10000, e -> {
+                    FrameTimer restartTimer = new FrameTimer(10000, e -> {
                         System.out.println("Restarting enemy system after ultra-aggressive cleanup...");
                         startEnemySystem();
-                        ((Timer) e.getSource()).stop();
+                        ((FrameTimer) e.getSource()).stop();
                     });
                     restartTimer.start();
                 }
@@ -2280,10 +2369,10 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
             MusicManager.switchToHorrorMusic();
             
             // Clear the flag after enemies have had time to spawn
-            Timer clearFlagTimer = new Timer(5000, e -> {
+            FrameTimer clearFlagTimer = new FrameTimer(5000, e -> {
                 MusicManager.setEnemySystemStarting(false);
                 System.out.println("Enemy system startup complete - music switching re-enabled");
-                ((Timer) e.getSource()).stop();
+                ((FrameTimer) e.getSource()).stop();
             });
             clearFlagTimer.start();
             
@@ -2304,6 +2393,11 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
         for (GraphicsDevice device : devices) {
             Rectangle screenBounds = device.getDefaultConfiguration().getBounds();
             
+            if (isOverlayMode()) {
+                createOverlayFlash(screenBounds);
+                continue;
+            }
+            
             JWindow flashWindow = new JWindow();
             flashWindow.setAlwaysOnTop(true);
             flashWindow.setBounds(screenBounds);
@@ -2311,7 +2405,7 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
             flashWindow.setVisible(true);
             
             // Flash effect timer
-            Timer flashTimer = new Timer(200, new ActionListener() {
+            FrameTimer flashTimer = new FrameTimer(200, new ActionListener() {
                 int flashCount = 0;
                 
                 @Override
@@ -2321,7 +2415,7 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
                     
                     if (flashCount >= 6) {
                         flashWindow.dispose();
-                        ((Timer) e.getSource()).stop();
+                        ((FrameTimer) e.getSource()).stop();
                     }
                 }
             });
@@ -2329,10 +2423,51 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
         }
     }
     
+    /**
+     * Screen flash drawn into the shared overlay instead of its own window
+     */
+    private void createOverlayFlash(Rectangle screenBounds) {
+        OverlaySprite flash = new OverlaySprite() {
+            @Override
+            public Rectangle getOverlayBounds() { return screenBounds; }
+            
+            @Override
+            public void paintOverlay(Graphics2D g) {
+                g.setColor(new Color(255, 0, 0, 100)); // Red flash
+                g.fillRect(0, 0, screenBounds.width, screenBounds.height);
+            }
+            
+            @Override
+            public Component getOverlayInputTarget() { return null; }
+        };
+        OverlayRenderer overlay = OverlayRenderer.getInstance();
+        overlay.add(flash);
+        
+        FrameTimer flashTimer = new FrameTimer(200, new ActionListener() {
+            int flashCount = 0;
+            
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                flashCount++;
+                if (flashCount % 2 == 0) {
+                    overlay.add(flash);
+                } else {
+                    overlay.remove(flash);
+                }
+                
+                if (flashCount >= 6) {
+                    overlay.remove(flash);
+                    ((FrameTimer) e.getSource()).stop();
+                }
+            }
+        });
+        flashTimer.start();
+    }
+    
     public void createHorrorShake() {
         // Make the pet shake when enemies are near
         Point originalLocation = getLocation();
-        Timer shakeTimer = new Timer(50, new ActionListener() {
+        FrameTimer shakeTimer = new FrameTimer(50, new ActionListener() {
             int shakeCount = 0;
             
             @Override
@@ -2345,7 +2480,7 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
                     setLocation(originalLocation.x + shakeX, originalLocation.y + shakeY);
                 } else {
                     setLocation(originalLocation);
-                    ((Timer) e.getSource()).stop();
+                    ((FrameTimer) e.getSource()).stop();
                 }
             }
         });
@@ -2353,6 +2488,10 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
     }
     
     private void checkAndFixPetLocation() {
+        // Monitors may have been plugged in or changed color depth
+        CompatibleImages.checkDisplayChange();
+        updateFrameRateState();
+        
         Point currentLocation = getLocation();
         
         // Only rescue if pet is truly lost (way off screen) or stuck, not during normal cross-screen movement
@@ -2368,11 +2507,11 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
             updateIdleSprite();
             
             // Start a new walk after a short delay
-            Timer rescueTimer = new Timer(1000, e -> {
+            FrameTimer rescueTimer = new FrameTimer(1000, e -> {
                 if (!isDragging) {
                     startRandomWalk();
                 }
-                ((Timer) e.getSource()).stop();
+                ((FrameTimer) e.getSource()).stop();
             });
             rescueTimer.start();
         }
@@ -2582,6 +2721,7 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
         
         isWalking = true;
         walkAnimationFrame = 0;
+        frameRate.setIdle(false);
         
         System.out.println("Movement target set to: (" + targetX + ", " + targetY + ")");
         
@@ -2596,7 +2736,13 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
         // Ensure walking animation is properly started
         updateWalkingSprite();
         
-        Timer walkTimer = new Timer(50, new ActionListener() {
+        FrameTimer walkTimer = new FrameTimer(50, new ActionListener() {
+            private final MotionIntegrator motion = new MotionIntegrator(MOTION_STEP_MS, MAX_CATCH_UP_STEPS);
+            
+            {
+                motion.reset(getLocation());
+            }
+            
             @Override
             public void actionPerformed(ActionEvent e) {
                 // Stop movement immediately if pain animation is active
@@ -2604,54 +2750,64 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
                     System.out.println("Stopping movement during pain animation");
                     isWalking = false;
                     updateIdleSprite();
-                    ((Timer) e.getSource()).stop();
+                    ((FrameTimer) e.getSource()).stop();
                     return;
                 }
                 
-                Point current = getLocation();
-                int dx = targetX - current.x;
-                int dy = targetY - current.y;
+                // Simulate however much time really passed since the last tick
+                motion.sync(getLocation());
+                motion.advance(System.nanoTime());
+                int steps = 0;
+                boolean moved = false;
+                while (motion.nextStep() && !hasReachedTarget(motion)) {
+                    steps++;
+                    
+                    Point before = motion.getPosition();
+                    motion.moveToward(targetX, targetY, WALK_SPEED_PX_PER_SEC);
+                    Point safeNewLocation = ensurePetFullyVisible(motion.getPosition());
+                    if (!safeNewLocation.equals(motion.getPosition())) {
+                        motion.setPosition(safeNewLocation);
+                    }
+                    if (!safeNewLocation.equals(before)) {
+                        moved = true;
+                    }
+                }
                 
-                if (Math.abs(dx) < 5 && Math.abs(dy) < 5) {
+                if (hasReachedTarget(motion)) {
+                    setLocation(motion.settle());
                     // Pet reached target, stopping movement
                     isWalking = false;
                     updateIdleSprite();
-                    ((Timer) e.getSource()).stop();
+                    ((FrameTimer) e.getSource()).stop();
                     
                     // Schedule next movement automatically if in walking behavior - shorter delay
                     if (currentBehavior == 1 && !isDragging && !isPainAnimationActive) {
-                        Timer nextMovementTimer = new Timer(1000 + random.nextInt(2000), evt -> {
+                        FrameTimer nextMovementTimer = new FrameTimer(1000 + random.nextInt(2000), evt -> {
                             if (!isDragging && currentBehavior == 1 && !isPainAnimationActive) {
                                 System.out.println("Auto-starting next movement after reaching target");
                                 startRandomWalk();
                             }
-                            ((Timer) evt.getSource()).stop();
+                            ((FrameTimer) evt.getSource()).stop();
                         });
                         nextMovementTimer.start();
                     }
                     return;
                 }
                 
-                int stepX = dx == 0 ? 0 : (dx > 0 ? 3 : -3);
-                int stepY = dy == 0 ? 0 : (dy > 0 ? 3 : -3);
-                
-                Point newLocation = new Point(current.x + stepX, current.y + stepY);
-                Point safeNewLocation = ensurePetFullyVisible(newLocation);
-                
                 // Check if we're stuck (not making progress towards target)
-                if (safeNewLocation.equals(current)) {
+                if (steps > 0 && !moved) {
                     // We're stuck, pick a new target
                     // Pet is stuck trying to reach target, picking new target...
-                    ((Timer) e.getSource()).stop();
+                    ((FrameTimer) e.getSource()).stop();
                     isWalking = false;
                     updateIdleSprite();
                     
                     // Start a new walk after a short delay
-                    Timer retryTimer = new Timer(1000, evt -> {
+                    FrameTimer retryTimer = new FrameTimer(1000, evt -> {
                         if (!isDragging && !isPainAnimationActive) {
                             startRandomWalk();
                         }
-                        ((Timer) evt.getSource()).stop();
+                        ((FrameTimer) evt.getSource()).stop();
                     });
                     retryTimer.start();
                     return;
@@ -2659,7 +2815,7 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
                 
                 // Don't move if pain animation is active
                 if (!isPainAnimationActive) {
-                setLocation(safeNewLocation);
+                    setLocation(motion.getRenderPosition());
                 }
                 
                 // Update walking animation frame for leg sync (for legacy animations only)
@@ -2685,9 +2841,17 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
                 }
             }
         });
+        walkTimer.setRateClient(frameRate);
         walkTimer.start();
     }
     
+    /**
+     * Check whether the simulated position is close enough to the walk target
+     */
+    private boolean hasReachedTarget(MotionIntegrator motion) {
+        return Math.abs(targetX - motion.getX()) < 5 && Math.abs(targetY - motion.getY()) < 5;
+    }
+    
     private void selectTargetOnRandomScreen() {
         GraphicsEnvironment ge = GraphicsEnvironment.getLocalGraphicsEnvironment();
         GraphicsDevice[] devices = ge.getScreenDevices();
@@ -2862,7 +3026,7 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
             if (isWalking) {
                 // Pet is walking - ensure walking animation is active
                 if (!multiFrameAnimationTimer.isRunning()) {
-                currentSet.getWalkingAnimation().reset();
+                animationPlayhead.start(currentSet.getWalkingAnimation());
                 multiFrameAnimationTimer.start();
                     // Started multi-frame walking animation for character set: " + currentSet.getName()
                 }
@@ -2892,7 +3056,7 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
                 // Start idle animation loop if not already running
                 if (!multiFrameAnimationTimer.isRunning()) {
                     System.out.println("Starting idle animation loop");
-                    currentSet.getIdleAnimation().reset(); // Reset to first frame
+                    animationPlayhead.start(currentSet.getIdleAnimation()); // Reset to first frame
                     multiFrameAnimationTimer.start();
                 }
             } else {
@@ -2917,16 +3081,8 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
             return original; // Return original if facing right or null
         }
         
-        // Flip the image horizontally for left-facing direction
-        Image img = original.getImage();
-        BufferedImage flipped = new BufferedImage(img.getWidth(null), img.getHeight(null), BufferedImage.TYPE_INT_ARGB);
-        Graphics2D g2d = flipped.createGraphics();
-        
-        // Apply horizontal flip transformation
-        g2d.drawImage(img, img.getWidth(null), 0, -img.getWidth(null), img.getHeight(null), null);
-        g2d.dispose();
-        
-        return new ImageIcon(flipped);
+        // Left-facing sprites are mirrored once and reused from the flip cache
+        return SpriteFlipCache.getFlipped(original);
     }
     
     private void playSpecialAnimation() {
@@ -2941,14 +3097,14 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
                 multiFrameAnimationTimer.stop();
             }
             
-            currentSet.getSpecialAnimation().reset();
+            animationPlayhead.start(currentSet.getSpecialAnimation());
             multiFrameAnimationTimer.start();
             
             // Auto-return to idle after special animation
-            Timer resetTimer = new Timer(2000, e -> {
+            FrameTimer resetTimer = new FrameTimer(2000, e -> {
                 currentBehavior = 0; // Return to idle
                 updateIdleSprite();
-                ((Timer) e.getSource()).stop();
+                ((FrameTimer) e.getSource()).stop();
             });
             resetTimer.start();
             
@@ -2965,9 +3121,9 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
         
         petLabel.setIcon(special);
         
-        Timer resetTimer = new Timer(2000, e -> {
+        FrameTimer resetTimer = new FrameTimer(2000, e -> {
             petLabel.setIcon(originalIcon);
-            ((Timer) e.getSource()).stop();
+            ((FrameTimer) e.getSource()).stop();
         });
         resetTimer.start();
         }
@@ -2978,6 +3134,7 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
         mouseOffset = e.getPoint();
         isDragging = true;
         isWalking = false;
+        frameRate.setIdle(false);
     }
     
     @Override
@@ -3176,7 +3333,7 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
     
     private void animateJump() {
         Point current = getLocation();
-        Timer jumpTimer = new Timer(20, new ActionListener() {
+        FrameTimer jumpTimer = new FrameTimer(20, new ActionListener() {
             int jumpStep = 0;
             int originalY = current.y;
             
@@ -3188,7 +3345,7 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
                 
                 if (jumpStep >= 25) {
                     setLocation(current.x, originalY);
-                    ((Timer) evt.getSource()).stop();
+                    ((FrameTimer) evt.getSource()).stop();
                 }
             }
         });
@@ -3218,6 +3375,7 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
         }
         
         allPets.remove(this);
+        FrameRateGovernor.getInstance().unregister(frameRate);
         MusicManager.updatePetList(allPets); // Update music manager
         
         // Stop timers
@@ -3263,6 +3421,7 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
                 System.out.println("Transparency not supported on this system");
             }
         }
+        updateFrameRateState(); // Hidden pets stop ticking entirely
         
         // Update all enemies' transparency
         for (EnemyWindow enemy : enemies) {
@@ -3383,6 +3542,101 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
         });
     }
     
+    /**
+     * Tell the frame-rate governor whether this pet is hidden, idle or off-screen
+     */
+    private void updateFrameRateState() {
+        updateIdleState();
+        frameRate.setOffscreen(!isOnAnyScreen(getBounds()));
+        frameRate.setHidden(!isVisible() || transparency <= 0.1f);
+    }
+    
+    private void updateIdleState() {
+        frameRate.setIdle(!isWalking && !isDragging && !isPainAnimationActive);
+    }
+    
+    private static boolean isOnAnyScreen(Rectangle bounds) {
+        Rectangle[] screens = screenBounds;
+        if (screens == null) {
+            screens = readScreenBounds();
+            screenBounds = screens;
+        }
+        if (screens.length == 0) {
+            return true; // Can't tell - assume visible
+        }
+        for (Rectangle screen : screens) {
+            if (screen.intersects(bounds)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static Rectangle[] readScreenBounds() {
+        try {
+            GraphicsDevice[] devices = GraphicsEnvironment.getLocalGraphicsEnvironment().getScreenDevices();
+            Rectangle[] bounds = new Rectangle[devices.length];
+            for (int i = 0; i < devices.length; i++) {
+                bounds[i] = devices[i].getDefaultConfiguration().getBounds();
+            }
+            return bounds;
+        } catch (Exception e) {
+            return new Rectangle[0];
+        }
+    }
+    
+    FrameRateGovernor.Client getFrameRateClient() {
+        return frameRate;
+    }
+    
+    /**
+     * Register (once) the handler that rebuilds sprites when displays change
+     */
+    private static void registerDisplayChangeHandler() {
+        if (displayChangeHandlerRegistered) {
+            return;
+        }
+        displayChangeHandlerRegistered = true;
+        CompatibleImages.addDisplayChangeListener(() -> SwingUtilities.invokeLater(() -> {
+            screenBounds = null; // Monitors were added, removed or moved
+            CharacterSetManager.getInstance().convertFramesForDisplay();
+            for (AdvancedDesktopPet pet : new ArrayList<>(allPets)) {
+                pet.rescaleCharacterSetImages();
+                pet.updateFrameRateState();
+            }
+        }));
+    }
+    
+    /**
+     * Pick up hot-reloaded frames of the sets in use; the next animation tick shows them
+     */
+    private static void registerCharacterSetReloadHandler() {
+        if (reloadHandlerRegistered) {
+            return;
+        }
+        reloadHandlerRegistered = true;
+        CharacterSetManager manager = CharacterSetManager.getInstance();
+        manager.addReloadListener((set, isPet) -> {
+            for (AdvancedDesktopPet pet : new ArrayList<>(allPets)) {
+                if (isPet && set == manager.getCurrentPetCharacterSet()) {
+                    pet.rescaleCharacterSetImages();
+                } else if (!isPet && set == manager.getCurrentEnemyCharacterSet()) {
+                    pet.loadEnemyImagesFromCharacterSet();
+                    pet.updateExistingEnemiesWithNewImages();
+                }
+            }
+        });
+        manager.addLoadListener((set, isPet) -> {
+            // A set that was still decoding when it was asked for: switch to it if it is still current
+            if (set != manager.peekCharacterSet(isPet ? manager.getCurrentPetSetName() : manager.getCurrentEnemySetName(), isPet)) {
+                return;
+            }
+            for (AdvancedDesktopPet pet : new ArrayList<>(allPets)) {
+                pet.switchCharacterSet(set.getName(), isPet);
+            }
+        });
+    }
+    
     /**
      * Rescale character set images to match new pet size
      */
@@ -3420,13 +3674,15 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
         try {
             // Scale each frame using its original image (preserves quality)
             for (AnimationFrame frame : sequence.getFrames()) {
-                if (frame.getOriginalImage() != null) {
+                if (frame.hasOriginal()) {
                     frame.scaleToSize(petWidth, petHeight);
                 }
             }
             
-            // Reset sequence to first frame
-            sequence.reset();
+            // Restart this pet's playhead on the first frame
+            if (animationPlayhead.getSequence() == sequence) {
+                animationPlayhead.reset();
+            }
             
         } catch (Exception e) {
             System.out.println("Error rescaling animation sequence: " + e.getMessage());
@@ -3923,14 +4179,14 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
             // Also clean up orphaned enemies immediately
             cleanupOrphanedEnemies();
             // Also try ultra-aggressive cleanup if force cleanup doesn't work
-            Timer ultraCleanupTimer = new Timer(5000, evt -> {
+            FrameTimer ultraCleanupTimer = new FrameTimer(5000, evt -> {
                 if (!enemies.isEmpty()) {
                     System.out.println("Force cleanup didn't work, trying ultra-aggressive cleanup");
                     ultraAggressiveCleanup();
                 }
                 // Check for orphaned enemies again after ultra-aggressive cleanup
                 cleanupOrphanedEnemies();
-                ((Timer) evt.getSource()).stop();
+                ((FrameTimer) evt.getSource()).stop();
             });
             ultraCleanupTimer.start();
         });
@@ -4000,7 +4256,7 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
         settingsWindow.setVisible(true);
         
         // Update pet count
-        Timer updateTimer = new Timer(1000, e -> {
+        FrameTimer updateTimer = new FrameTimer(1000, e -> {
             petCountLabel.setText(getText("active_pets") + ": " + allPets.size());
         });
         updateTimer.start();
@@ -4498,7 +4754,8 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
         if (animationTimer == null || !animationTimer.isRunning()) {
             System.out.println("Restarting animation timer");
             if (animationTimer != null) animationTimer.stop();
-            animationTimer = new Timer(ANIMATION_DELAY, e -> updateAnimation());
+            animationTimer = new FrameTimer(ANIMATION_DELAY, e -> updateAnimation());
+            animationTimer.setRateClient(frameRate);
             animationTimer.start();
         }
         
@@ -4506,7 +4763,7 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
         if (movementTimer == null || !movementTimer.isRunning()) {
             System.out.println("Restarting movement timer");
             if (movementTimer != null) movementTimer.stop();
-            movementTimer = new Timer(2000 + random.nextInt(3000), e -> {
+            movementTimer = new FrameTimer(2000 + random.nextInt(3000), e -> {
                 if (!isDragging && currentBehavior == 1 && !isWalking) {
                     System.out.println("Movement timer triggered - starting random walk");
                     startRandomWalk();
@@ -4520,7 +4777,7 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
         if (behaviorTimer == null || !behaviorTimer.isRunning()) {
             System.out.println("Restarting behavior timer");
             if (behaviorTimer != null) behaviorTimer.stop();
-            behaviorTimer = new Timer(15000 + random.nextInt(20000), e -> {
+            behaviorTimer = new FrameTimer(15000 + random.nextInt(20000), e -> {
                 if (!isDragging && random.nextInt(3) == 0) {
                     playSpecialAnimation();
                 }
@@ -4533,7 +4790,7 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
         if (safetyTimer == null || !safetyTimer.isRunning()) {
             System.out.println("Restarting safety timer");
             if (safetyTimer != null) safetyTimer.stop();
-            safetyTimer = new Timer(5000, e -> {
+            safetyTimer = new FrameTimer(5000, e -> {
                 checkAndFixPetLocation();
             });
             safetyTimer.start();
@@ -4549,7 +4806,7 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
         if (currentSet != null && isWalking) {
             if (currentSet.getWalkingAnimation().getFrameCount() > 0 && !multiFrameAnimationTimer.isRunning()) {
                 // Pet is walking but multi-frame animation not running - restarting animation
-                currentSet.getWalkingAnimation().reset();
+                animationPlayhead.start(currentSet.getWalkingAnimation());
                 multiFrameAnimationTimer.start();
             }
         }
@@ -4693,28 +4950,25 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
             rowPanel.setBorder(BorderFactory.createEtchedBorder());
             rowPanel.setPreferredSize(new Dimension(560, 80));
             
-            // Get character set to extract preview image
-            CharacterSet characterSet = isPet ? 
-                characterSetManager.getPetCharacterSet(setName) :
-                characterSetManager.getEnemyCharacterSet(setName);
+            // Preview from the set's thumbnail, without decoding its frames
+            CharacterSet characterSet = characterSetManager.peekCharacterSet(setName, isPet);
             
             // Create preview image
             JLabel imageLabel = new JLabel();
             imageLabel.setPreferredSize(new Dimension(64, 64));
             imageLabel.setHorizontalAlignment(JLabel.CENTER);
             
-            if (characterSet != null) {
-                // Try to get first frame of idle animation for preview
-                AnimationSequence idleSeq = characterSet.getIdleAnimation();
-                if (idleSeq.getFrameCount() > 0) {
-                    AnimationFrame firstFrame = idleSeq.getFrames().get(0);
-                    if (firstFrame.getOriginalImage() != null) {
-                        Image img = firstFrame.getOriginalImage().getImage();
-                        Image scaled = img.getScaledInstance(60, 60, Image.SCALE_SMOOTH);
-                        imageLabel.setIcon(new ImageIcon(scaled));
-                    }
-                }
+            ImageIcon thumbnail = characterSet != null ? characterSet.getThumbnail() : null;
+            int thumbnailSize = ThumbnailIndex.THUMBNAIL_SIZE;
+            if (thumbnail != null && (thumbnail.getIconWidth() > thumbnailSize || thumbnail.getIconHeight() > thumbnailSize)) {
+                // Loaded sets without an index entry preview their full-size first frame
+                double scale = Math.min((double) thumbnailSize / thumbnail.getIconWidth(),
+                    (double) thumbnailSize / thumbnail.getIconHeight());
+                thumbnail = ScaledImageCache.getScaled(thumbnail,
+                    Math.max(1, (int) (thumbnail.getIconWidth() * scale)),
+                    Math.max(1, (int) (thumbnail.getIconHeight() * scale)));
             }
+            imageLabel.setIcon(thumbnail); // Index thumbnails are pre-rendered to fit the label
             
             // If no preview available, show placeholder
             if (imageLabel.getIcon() == null) {
@@ -4841,98 +5095,246 @@ public class AdvancedDesktopPet extends JWindow implements MouseListener, MouseM
 
 /**
  * Represents a single animation frame with image and timing
+ *
+ * Frames hold plain BufferedImages decoded with ImageIO, never ImageIcons:
+ * icons loaded by file name go through the Toolkit image cache, which keeps
+ * every image for the life of the process and serves stale pixels after the
+ * file is edited. Swing code wraps a frame in an ImageIcon only where it
+ * hands it to a component.
  */
 class AnimationFrame {
-    private ImageIcon image;
-    private ImageIcon originalImage; // Store original high-quality version
+    private BufferedImage image; // Pixels at the current display size
+    private BufferedImage originalImage; // Store original high-quality version, until the first rescale
+    private CompressedFrame compressedOriginal; // The original after that, decoded again only to rescale
+    private BufferedImage heapCopy; // Of an off-heap display image, made when the frame is first drawn
+    private int width;
+    private int height;
     private String imagePath;
     private int duration; // Duration in milliseconds
     
-    public AnimationFrame(ImageIcon image, String imagePath, int duration) {
+    public AnimationFrame(BufferedImage image, String imagePath, int duration) {
         this.originalImage = image; // Store original
-        this.image = image;
         this.imagePath = imagePath;
         this.duration = duration;
+        setImage(image);
     }
     
-    public ImageIcon getImage() { return image; }
-    public ImageIcon getOriginalImage() { return originalImage; }
+    public BufferedImage getImage() { return image; }
+    
+    /**
+     * The image to draw. Off-heap pixels are slow to draw every tick, so an
+     * unscaled off-heap frame is drawn from a heap copy made on first use;
+     * frames that are never drawn at their original size never pay for it.
+     */
+    public BufferedImage getDisplayImage() {
+        if (!OffHeapFrameStore.isOffHeap(image)) {
+            return image;
+        }
+        if (heapCopy == null) {
+            heapCopy = OffHeapFrameStore.toHeap(image);
+        }
+        return heapCopy;
+    }
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
     public String getImagePath() { return imagePath; }
     public int getDuration() { return duration; }
     
-    public void setImage(ImageIcon image) { this.image = image; }
+    public void setImage(BufferedImage image) {
+        this.image = image;
+        this.heapCopy = null;
+        this.width = image != null ? image.getWidth() : 0;
+        this.height = image != null ? image.getHeight() : 0;
+    }
     public void setDuration(int duration) { this.duration = duration; }
     
+    /**
+     * Full-quality pixels, decoded from the compressed copy if the frame has
+     * been rescaled (the decoded copy is not kept)
+     */
+    public BufferedImage getOriginalImage() {
+        if (originalImage != null) {
+            return originalImage;
+        }
+        return compressedOriginal != null ? compressedOriginal.decode() : null;
+    }
+    
+    public boolean hasOriginal() {
+        return originalImage != null || compressedOriginal != null;
+    }
+    
+    /**
+     * The decoded original if it is still held, for memory accounting
+     */
+    BufferedImage getRetainedOriginal() { return originalImage; }
+    CompressedFrame getCompressedOriginal() { return compressedOriginal; }
+    
+    /**
+     * Get the left-facing version of this frame (mirrored once, then cached)
+     */
+    public BufferedImage getFlippedImage() {
+        return SpriteFlipCache.getFlipped(getDisplayImage());
+    }
+    
+    /**
+     * This frame at another size (an enemy's, a preview's) without changing
+     * the display image. The original is only decoded if that size isn't cached.
+     */
+    public BufferedImage getScaledImage(int width, int height) {
+        if (image != null && width == this.width && height == this.height) {
+            return getDisplayImage();
+        }
+        return hasOriginal() ? rescale(width, height) : null;
+    }
+    
     /**
      * Scale this frame to new dimensions using original high-quality image
      */
     public void scaleToSize(int width, int height) {
-        if (originalImage != null) {
-            Image originalImg = originalImage.getImage();
-            Image scaledImg = originalImg.getScaledInstance(width, height, Image.SCALE_SMOOTH);
-            this.image = new ImageIcon(scaledImg);
+        if (hasOriginal() && (image == null || width != this.width || height != this.height)) {
+            setImage(rescale(width, height));
+        }
+    }
+    
+    /**
+     * Scale from the original, moving it to the compressed tier first: after
+     * this only the display size stays decoded
+     */
+    private BufferedImage rescale(int width, int height) {
+        if (compressedOriginal == null) {
+            compressedOriginal = CompressedFrame.of(originalImage);
+        }
+        BufferedImage decoded = originalImage;
+        CompressedFrame compressed = compressedOriginal;
+        originalImage = null;
+        return ScaledImageCache.getScaledImage(compressed,
+            () -> decoded != null ? decoded : compressed.decode(), width, height);
+    }
+    
+    /**
+     * Re-copy this frame into the current display's native pixel format
+     */
+    public void convertForDisplay() {
+        if (OffHeapFrameStore.isOffHeap(originalImage)) {
+            // Never rescaled, and the original stays off the heap: its heap copy is made again when drawn
+            setImage(originalImage);
+        } else if (originalImage != null && image == originalImage) {
+            // Never rescaled: the display image is the original itself
+            originalImage = CompatibleImages.toCompatible(originalImage); // Already compatible images are kept as they are
+            setImage(originalImage);
+        } else if (image != null && hasOriginal()) {
+            // Re-scale from the original at the current size (compressed pixels don't depend on the display)
+            setImage(rescale(width, height));
         }
     }
 }
 
 /**
  * Represents a sequence of animation frames (walking, idle, pain, etc.)
+ * 
+ * Sequences are immutable and shared by every pet using the same character
+ * set. Pets track their own position with an AnimationPlayhead; changing a
+ * set's frames swaps in a new sequence instead of editing this one.
  */
 class AnimationSequence {
-    private String name;
-    private List<AnimationFrame> frames;
-    private boolean loop;
-    private int currentFrame;
+    private final String name;
+    private final List<AnimationFrame> frames;
+    private final boolean loop;
     
     public AnimationSequence(String name, boolean loop) {
+        this(name, loop, java.util.Collections.emptyList());
+    }
+    
+    public AnimationSequence(String name, boolean loop, List<AnimationFrame> frames) {
         this.name = name;
         this.loop = loop;
-        this.frames = new ArrayList<>();
-        this.currentFrame = 0;
+        this.frames = java.util.Collections.unmodifiableList(new ArrayList<>(frames));
     }
     
-    public void addFrame(AnimationFrame frame) {
-        frames.add(frame);
+    /**
+     * The same animation with other frames
+     */
+    public AnimationSequence withFrames(List<AnimationFrame> newFrames) {
+        return new AnimationSequence(name, loop, newFrames);
+    }
+    
+    /**
+     * Get a frame by index, or null if out of range
+     */
+    public AnimationFrame getFrame(int index) {
+        if (index < 0 || index >= frames.size()) return null;
+        return frames.get(index);
+    }
+    
+    // Getters
+    public String getName() { return name; }
+    public List<AnimationFrame> getFrames() { return frames; }
+    public boolean isLoop() { return loop; }
+    public int getFrameCount() { return frames.size(); }
+}
+
+/**
+ * Lightweight per-viewer position inside a shared AnimationSequence
+ * 
+ * Each pet keeps its own playhead, so any number of pets can play the same
+ * decoded frames without advancing each other's animation.
+ */
+class AnimationPlayhead {
+    private AnimationSequence sequence;
+    private int currentFrame;
+    
+    public AnimationPlayhead() {
+        this(null);
+    }
+    
+    public AnimationPlayhead(AnimationSequence sequence) {
+        this.sequence = sequence;
+        this.currentFrame = 0;
     }
     
-    public void removeFrame(int index) {
-        if (index >= 0 && index < frames.size()) {
-            frames.remove(index);
+    /**
+     * Switch to a sequence, starting from the first frame if it changed
+     */
+    public void play(AnimationSequence newSequence) {
+        if (newSequence != sequence) {
+            start(newSequence);
         }
     }
     
+    /**
+     * Switch to a sequence and always restart from the first frame
+     */
+    public void start(AnimationSequence newSequence) {
+        this.sequence = newSequence;
+        this.currentFrame = 0;
+    }
+    
     public AnimationFrame getCurrentFrame() {
-        if (frames.isEmpty()) return null;
-        return frames.get(currentFrame);
+        if (sequence == null || sequence.getFrameCount() == 0) return null;
+        return sequence.getFrame(currentFrame);
     }
     
     public AnimationFrame nextFrame() {
-        if (frames.isEmpty()) return null;
+        if (sequence == null || sequence.getFrameCount() == 0) return null;
         
+        int frameCount = sequence.getFrameCount();
         currentFrame++;
-        if (currentFrame >= frames.size()) {
-            if (loop) {
+        if (currentFrame >= frameCount) {
+            if (sequence.isLoop()) {
                 currentFrame = 0;
             } else {
-                currentFrame = frames.size() - 1; // Stay at last frame
+                currentFrame = frameCount - 1; // Stay at last frame
             }
         }
-        return frames.get(currentFrame);
+        return sequence.getFrame(currentFrame);
     }
     
     public void reset() {
         currentFrame = 0;
     }
     
-    // Getters
-    public String getName() { return name; }
-    public List<AnimationFrame> getFrames() { return frames; }
-    public boolean isLoop() { return loop; }
+    public AnimationSequence getSequence() { return sequence; }
     public int getCurrentFrameIndex() { return currentFrame; }
-    public int getFrameCount() { return frames.size(); }
-    
-    // Setters
-    public void setLoop(boolean loop) { this.loop = loop; }
 }
 
 /**
@@ -4950,6 +5352,13 @@ class CharacterSet {
     private AnimationSequence specialAnimation;
     private AnimationSequence painAnimation;
     
+    // Sets found on disk start as stubs: metadata, frame counts and a thumbnail only
+    private volatile boolean loaded = true;
+    private volatile boolean loading = false;
+    private Map<String, Integer> storedFrameCounts = new HashMap<>();
+    private ImageIcon thumbnail;
+    private ImageIcon icon;
+    
     public CharacterSet(String name, String setPath) {
         this.name = name;
         this.setPath = setPath;
@@ -4983,6 +5392,120 @@ class CharacterSet {
     public void setSpecialAnimation(AnimationSequence specialAnimation) { this.specialAnimation = specialAnimation; }
     public void setPainAnimation(AnimationSequence painAnimation) { this.painAnimation = painAnimation; }
     
+    /**
+     * Replace the frames of an animation. Views still holding the old sequence keep playing it.
+     */
+    public void setFrames(String animationName, List<AnimationFrame> frames) {
+        AnimationSequence sequence = getAnimationByName(animationName);
+        if (sequence == null) {
+            return;
+        }
+        AnimationSequence replaced = sequence.withFrames(frames != null ? frames : java.util.Collections.emptyList());
+        switch (animationName.toLowerCase()) {
+            case "idle": idleAnimation = replaced; break;
+            case "walking": walkingAnimation = replaced; break;
+            case "special": specialAnimation = replaced; break;
+            case "pain": painAnimation = replaced; break;
+        }
+    }
+    
+    // Lazy loading state
+    public boolean isLoaded() { return loaded; }
+    public boolean isLoading() { return loading; }
+    void setLoading(boolean loading) { this.loading = loading; }
+    
+    /**
+     * Use pre-rendered previews from the thumbnail index
+     */
+    void setThumbnails(ThumbnailIndex.Entry previews) {
+        this.thumbnail = previews != null ? previews.thumbnail : null;
+        this.icon = previews != null ? previews.icon : null;
+    }
+    
+    /**
+     * Turn this set into a stub whose frames are decoded on first use
+     */
+    void markUnloaded(Map<String, Integer> frameCounts) {
+        this.storedFrameCounts = new HashMap<>(frameCounts);
+        this.loaded = false;
+    }
+    
+    /**
+     * Refresh metadata, previews and (for stubs) frame counts from a newly read stub
+     */
+    void updateFromStub(CharacterSet stub) {
+        this.description = stub.description;
+        this.authorName = stub.authorName;
+        this.thumbnail = stub.thumbnail;
+        this.icon = stub.icon;
+        if (!loaded) {
+            this.storedFrameCounts = new HashMap<>(stub.storedFrameCounts);
+        }
+    }
+    
+    /**
+     * Drop the decoded frames to free memory; they are decoded again on next use.
+     * The sequences are replaced, so views still holding them keep their frames.
+     */
+    void releaseFrames() {
+        Map<String, Integer> frameCounts = new HashMap<>();
+        for (String animation : new String[] {"idle", "walking", "special", "pain"}) {
+            frameCounts.put(animation, getAnimationByName(animation).getFrameCount());
+            setFrames(animation, null);
+        }
+        markUnloaded(frameCounts);
+    }
+    
+    /**
+     * Take the decoded sequences of a fully loaded copy of this set
+     */
+    void adoptFrames(CharacterSet decoded) {
+        idleAnimation = decoded.idleAnimation;
+        walkingAnimation = decoded.walkingAnimation;
+        specialAnimation = decoded.specialAnimation;
+        painAnimation = decoded.painAnimation;
+        loaded = true;
+        loading = false;
+    }
+    
+    /**
+     * Number of frames in an animation, known even before the frames are decoded
+     */
+    public int getStoredFrameCount(String animationName) {
+        if (loaded) {
+            AnimationSequence sequence = getAnimationByName(animationName);
+            return sequence != null ? sequence.getFrameCount() : 0;
+        }
+        return storedFrameCounts.getOrDefault(animationName.toLowerCase(), 0);
+    }
+    
+    /**
+     * Small preview of the set: the stub thumbnail, or the first frame once loaded
+     */
+    public ImageIcon getThumbnail() {
+        if (thumbnail != null) {
+            return thumbnail;
+        }
+        for (AnimationSequence sequence : new AnimationSequence[] {
+                idleAnimation, walkingAnimation, specialAnimation, painAnimation}) {
+            if (sequence.getFrameCount() > 0) {
+                return new ImageIcon(sequence.getFrames().get(0).getImage());
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Combo box sized preview
+     */
+    public ImageIcon getIcon() {
+        if (icon != null) {
+            return icon;
+        }
+        ImageIcon preview = getThumbnail();
+        return preview != null ? ScaledImageCache.getScaled(preview, ThumbnailIndex.ICON_SIZE, ThumbnailIndex.ICON_SIZE) : null;
+    }
+    
     /**
      * Check if character set has all required animations
      */
@@ -5015,6 +5538,18 @@ class CharacterSet {
             default: return null;
         }
     }
+    
+    /**
+     * Convert every frame to the current display's native pixel format
+     */
+    public void convertFramesForDisplay() {
+        for (AnimationSequence sequence : new AnimationSequence[] {
+                idleAnimation, walkingAnimation, specialAnimation, painAnimation}) {
+            for (AnimationFrame frame : sequence.getFrames()) {
+                frame.convertForDisplay();
+            }
+        }
+    }
 }
 
 /**
@@ -5027,8 +5562,21 @@ class CharacterSetManager {
     private String currentPetSet;
     private String currentEnemySet;
     private String characterSetsPath;
-    
-    private CharacterSetManager() {
+    private final Map<CharacterSet, java.util.concurrent.CompletableFuture<CharacterSet>> pendingLoads = new IdentityHashMap<>();
+    private final List<java.util.function.BiConsumer<CharacterSet, Boolean>> reloadListeners = new ArrayList<>();
+    private final List<java.util.function.BiConsumer<CharacterSet, Boolean>> loadListeners = new ArrayList<>();
+    private CharacterSetWatcher watcher;
+    private final FrameMemoryBudget memoryBudget = new FrameMemoryBudget(FrameMemoryBudget.readBudgetBytes(), this::isDisplayed,
+        runnable -> {
+            if (SwingUtilities.isEventDispatchThread()) {
+                runnable.run();
+            } else {
+                SwingUtilities.invokeLater(runnable);
+            }
+        });
+    private final Map<CharacterSet, Integer> pinned = new IdentityHashMap<>(); // Sets open in windows, with hold counts
+    
+    private CharacterSetManager() {
         this.petCharacterSets = new HashMap<>();
         this.enemyCharacterSets = new HashMap<>();
         this.characterSetsPath = "resources/CharacterSets/";
@@ -5079,45 +5627,201 @@ class CharacterSetManager {
         
         System.out.println("Character Set Manager initialized with default sets");
         
-        // Load existing character sets from disk
+        // Read existing character sets from disk (metadata and thumbnails only)
         loadCharacterSetsFromDisk();
         
         // Load default character sets from config file
         loadDefaultCharacterSets();
         
+        // Decode the two sets that are shown right away, in parallel; pets switch to them once they are in
+        requestLoad(petCharacterSets.get(currentPetSet), true);
+        requestLoad(enemyCharacterSets.get(currentEnemySet), false);
+        
         // Don't automatically select imported character sets unless user set a default
         System.out.println("Using character set: " + currentPetSet + ". Use settings to switch characters.");
+        
+        startWatcher();
+    }
+    
+    /**
+     * Watch the set folders so edits are picked up without a restart.
+     * Disable with -Dpet.watchCharacterSets=false.
+     */
+    private void startWatcher() {
+        if ("false".equalsIgnoreCase(System.getProperty("pet.watchCharacterSets"))) {
+            return;
+        }
+        try {
+            watcher = new CharacterSetWatcher(new File(characterSetsPath + "Pets/"),
+                new File(characterSetsPath + "Enemies/"), this::reloadChangedSet);
+            watcher.start();
+        } catch (Exception e) {
+            System.out.println("Character set hot reload unavailable: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Be told (on the EDT) when a set's frames were replaced by a hot reload,
+     * or when the current set changed because the old one was deleted
+     */
+    public void addReloadListener(java.util.function.BiConsumer<CharacterSet, Boolean> listener) {
+        reloadListeners.add(listener);
+    }
+    
+    /**
+     * Decode the edited frames of a set off the EDT, then swap them in on it
+     */
+    void reloadChangedSet(CharacterSetWatcher.SetChange change) {
+        String name = change.setDir.getName();
+        if (change.isRemoved()) {
+            SwingUtilities.invokeLater(() -> removeDeletedSet(name, change.isPet));
+            return;
+        }
+        Map<String, List<File>> listing = new HashMap<>();
+        for (String animation : new String[] {"idle", "walking", "special", "pain"}) {
+            listing.put(animation, java.util.Arrays.asList(
+                CharacterFileManager.listImageFiles(new File(change.setDir, animation))));
+        }
+        Map<String, AnimationFrame> decoded = CharacterSetLoader.decodeFrames(change.changedFiles);
+        CharacterSet stub = CharacterSetLoader.loadStub(change.setDir, name);
+        ThumbnailIndex.save();
+        SwingUtilities.invokeLater(() -> applyReload(change, stub, listing, decoded));
+    }
+    
+    private void applyReload(CharacterSetWatcher.SetChange change, CharacterSet stub,
+                             Map<String, List<File>> listing, Map<String, AnimationFrame> decoded) {
+        Map<String, CharacterSet> target = change.isPet ? petCharacterSets : enemyCharacterSets;
+        CharacterSet existing = target.get(stub.getName());
+        if (existing == null) {
+            target.put(stub.getName(), stub);
+            System.out.println("Found new " + (change.isPet ? "pet" : "enemy") + " character set: " + stub.getName());
+            return;
+        }
+        existing.updateFromStub(stub);
+        if (!existing.isLoaded() || existing.isLoading()) {
+            return; // Frames are decoded from disk when first used
+        }
+        
+        List<File> unresolved = new ArrayList<>();
+        existing.adoptFrames(rebuildFrames(existing, listing, decoded, unresolved));
+        memoryBudget.loaded(existing);
+        System.out.println("Reloaded character set " + existing.getName() + " (" + decoded.size() + " frames decoded)");
+        notifyReloaded(existing, change.isPet);
+        
+        CharacterSetWatcher.SetChange missing = change.followUp(unresolved);
+        if (!missing.changedFiles.isEmpty()) {
+            // Frames that appeared without their own event; decode them in a follow-up pass
+            CharacterSetLoader.runInBackground(() -> reloadChangedSet(missing));
+        }
+    }
+    
+    /**
+     * A set's frames in current file order: the re-decoded ones, and the
+     * existing AnimationFrame for every other file, so unchanged frames keep
+     * their compressed originals and scaled images. Files with neither are
+     * added to unresolved.
+     */
+    static CharacterSet rebuildFrames(CharacterSet existing, Map<String, List<File>> listing,
+                                      Map<String, AnimationFrame> decoded, List<File> unresolved) {
+        Map<String, AnimationFrame> previous = new HashMap<>();
+        for (String animation : listing.keySet()) {
+            for (AnimationFrame frame : existing.getAnimationByName(animation).getFrames()) {
+                previous.put(new File(frame.getImagePath()).getAbsolutePath(), frame);
+            }
+        }
+        CharacterSet rebuilt = new CharacterSet(existing.getName(), existing.getSetPath());
+        for (Map.Entry<String, List<File>> entry : listing.entrySet()) {
+            List<AnimationFrame> frames = new ArrayList<>();
+            for (File imageFile : entry.getValue()) {
+                String path = imageFile.getAbsolutePath();
+                AnimationFrame frame = decoded.getOrDefault(path, previous.get(path));
+                if (frame != null) {
+                    frames.add(frame);
+                } else {
+                    unresolved.add(imageFile);
+                }
+            }
+            rebuilt.setFrames(entry.getKey(), frames);
+        }
+        return rebuilt;
+    }
+    
+    private void removeDeletedSet(String name, boolean isPet) {
+        CharacterSet removed = isPet ? petCharacterSets.get(name) : enemyCharacterSets.get(name);
+        boolean wasCurrent = name.equals(isPet ? currentPetSet : currentEnemySet);
+        if (removed == null || !(isPet ? removePetCharacterSet(name) : removeEnemyCharacterSet(name))) {
+            return;
+        }
+        System.out.println("Character set removed from disk: " + name);
+        if (wasCurrent) {
+            notifyReloaded(isPet ? getCurrentPetCharacterSet() : getCurrentEnemyCharacterSet(), isPet);
+        }
+    }
+    
+    /**
+     * Be told (on the EDT) when a set requested through the accessors below
+     * has finished decoding in the background
+     */
+    public void addLoadListener(java.util.function.BiConsumer<CharacterSet, Boolean> listener) {
+        loadListeners.add(listener);
+    }
+    
+    private void notifyLoaded(CharacterSet set, boolean isPet) {
+        for (java.util.function.BiConsumer<CharacterSet, Boolean> listener : new ArrayList<>(loadListeners)) {
+            try {
+                listener.accept(set, isPet);
+            } catch (Exception e) {
+                System.out.println("Error applying loaded character set: " + e.getMessage());
+            }
+        }
+    }
+    
+    private void notifyReloaded(CharacterSet set, boolean isPet) {
+        for (java.util.function.BiConsumer<CharacterSet, Boolean> listener : new ArrayList<>(reloadListeners)) {
+            try {
+                listener.accept(set, isPet);
+            } catch (Exception e) {
+                System.out.println("Error applying character set reload: " + e.getMessage());
+            }
+        }
     }
     
     // Pet character set management
     public void addPetCharacterSet(CharacterSet characterSet) {
         petCharacterSets.put(characterSet.getName(), characterSet);
+        memoryBudget.loaded(characterSet);
     }
     
     public CharacterSet getCurrentPetCharacterSet() {
-        return petCharacterSets.get(currentPetSet);
+        return requestLoad(petCharacterSets.get(currentPetSet), true);
     }
     
+    public String getCurrentPetSetName() { return currentPetSet; }
+    public String getCurrentEnemySetName() { return currentEnemySet; }
+    
     public void setCurrentPetCharacterSet(String setName) {
         if (petCharacterSets.containsKey(setName)) {
             currentPetSet = setName;
             System.out.println("Switched to pet character set: " + setName);
+            memoryBudget.enforceLater(); // The previous set may now be released
         }
     }
     
     // Enemy character set management
     public void addEnemyCharacterSet(CharacterSet characterSet) {
         enemyCharacterSets.put(characterSet.getName(), characterSet);
+        memoryBudget.loaded(characterSet);
     }
     
     public CharacterSet getCurrentEnemyCharacterSet() {
-        return enemyCharacterSets.get(currentEnemySet);
+        return requestLoad(enemyCharacterSets.get(currentEnemySet), false);
     }
     
     public void setCurrentEnemyCharacterSet(String setName) {
         if (enemyCharacterSets.containsKey(setName)) {
             currentEnemySet = setName;
             System.out.println("Switched to enemy character set: " + setName);
+            memoryBudget.enforceLater();
         }
     }
     
@@ -5139,11 +5843,33 @@ class CharacterSetManager {
     }
     
     public CharacterSet getPetCharacterSet(String name) {
-        return petCharacterSets.get(name);
+        return requestLoad(petCharacterSets.get(name), true);
+    }
+    
+    /**
+     * Look up a set without decoding its frames (for previews and loading state)
+     */
+    public CharacterSet peekCharacterSet(String name, boolean isPet) {
+        return isPet ? petCharacterSets.get(name) : enemyCharacterSets.get(name);
+    }
+    
+    /**
+     * Rebuild all loaded frames for a new display configuration
+     */
+    public void convertFramesForDisplay() {
+        // Scaled and mirrored copies were made in the old format
+        ScaledImageCache.clear();
+        SpriteFlipCache.clear();
+        for (CharacterSet set : petCharacterSets.values()) {
+            set.convertFramesForDisplay();
+        }
+        for (CharacterSet set : enemyCharacterSets.values()) {
+            set.convertFramesForDisplay();
+        }
     }
     
     public CharacterSet getEnemyCharacterSet(String name) {
-        return enemyCharacterSets.get(name);
+        return requestLoad(enemyCharacterSets.get(name), false);
     }
     
     /**
@@ -5154,6 +5880,7 @@ class CharacterSetManager {
             return false; // Cannot remove default or non-existent sets
         }
         CharacterSet removed = petCharacterSets.remove(name);
+        memoryBudget.forget(removed);
         
         // If this was the current set, switch to default
         if (name.equals(currentPetSet)) {
@@ -5171,6 +5898,7 @@ class CharacterSetManager {
             return false; // Cannot remove default or non-existent sets
         }
         CharacterSet removed = enemyCharacterSets.remove(name);
+        memoryBudget.forget(removed);
         
         // If this was the current set, switch to default
         if (name.equals(currentEnemySet)) {
@@ -5233,6 +5961,22 @@ class CharacterSetManager {
         }
     }
     
+    /**
+     * Read character_defaults.properties, or empty properties if it is missing
+     */
+    private static java.util.Properties readCharacterDefaults() {
+        java.util.Properties props = new java.util.Properties();
+        File configFile = new File("character_defaults.properties");
+        if (configFile.exists()) {
+            try (java.io.FileInputStream in = new java.io.FileInputStream(configFile)) {
+                props.load(in);
+            } catch (Exception e) {
+                System.out.println("Error reading character defaults: " + e.getMessage());
+            }
+        }
+        return props;
+    }
+    
     /**
      * Load default character sets from config file
      */
@@ -5241,8 +5985,7 @@ class CharacterSetManager {
             File configFile = new File("character_defaults.properties");
             if (configFile.exists()) {
                 System.out.println("Loading default character sets from: " + configFile.getAbsolutePath());
-                java.util.Properties props = new java.util.Properties();
-                props.load(new java.io.FileInputStream(configFile));
+                java.util.Properties props = readCharacterDefaults();
                 
                 String defaultPet = props.getProperty("default_pet_character_set");
                 String defaultEnemy = props.getProperty("default_enemy_character_set");
@@ -5272,111 +6015,142 @@ class CharacterSetManager {
     }
     
     /**
-     * Load character sets from disk
+     * Read every character set on disk as a stub. Frames are not decoded
+     * until a set is used (see requestLoad and loadInBackground), so startup
+     * cost no longer grows with the size of the library.
      */
     public void loadCharacterSetsFromDisk() {
-        loadPetCharacterSets();
-        loadEnemyCharacterSets();
-    }
-    
-    private void loadPetCharacterSets() {
-        try {
-            File petsDir = new File(characterSetsPath + "Pets/");
-            if (petsDir.exists() && petsDir.isDirectory()) {
-                File[] setDirs = petsDir.listFiles(File::isDirectory);
-                if (setDirs != null) {
-                    System.out.println("Loading pet character sets from: " + petsDir.getAbsolutePath());
-                    for (File setDir : setDirs) {
-                        String setName = setDir.getName();
-                        if (!petCharacterSets.containsKey(setName)) {
-                            CharacterSet characterSet = loadCharacterSetFromDirectory(setDir, setName);
-                            if (characterSet != null) {
-                                petCharacterSets.put(setName, characterSet);
-                                System.out.println("Loaded pet character set: " + setName);
-                            }
-                        }
-                    }
+        for (CharacterSet stub : CharacterSetLoader.loadStubs(listNewSetDirectories("Pets/", petCharacterSets))) {
+            petCharacterSets.put(stub.getName(), stub);
+            System.out.println("Found pet character set: " + stub.getName());
+        }
+        for (CharacterSet stub : CharacterSetLoader.loadStubs(listNewSetDirectories("Enemies/", enemyCharacterSets))) {
+            enemyCharacterSets.put(stub.getName(), stub);
+            System.out.println("Found enemy character set: " + stub.getName());
+        }
+        ThumbnailIndex.save();
+    }
+    
+    private List<File> listNewSetDirectories(String subdirectory, Map<String, CharacterSet> loaded) {
+        List<File> result = new ArrayList<>();
+        File dir = new File(characterSetsPath + subdirectory);
+        if (!dir.exists() || !dir.isDirectory()) {
+            System.out.println("Character sets directory does not exist: " + dir.getAbsolutePath());
+            return result;
+        }
+        File[] setDirs = dir.listFiles(File::isDirectory);
+        if (setDirs != null) {
+            System.out.println("Loading character sets from: " + dir.getAbsolutePath());
+            for (File setDir : setDirs) {
+                if (!loaded.containsKey(setDir.getName())) {
+                    result.add(setDir);
                 }
-            } else {
-                System.out.println("Pet character sets directory does not exist: " + petsDir.getAbsolutePath());
             }
-        } catch (Exception e) {
-            System.out.println("Error loading pet character sets: " + e.getMessage());
         }
+        return result;
     }
     
-    private void loadEnemyCharacterSets() {
-        try {
-            File enemiesDir = new File(characterSetsPath + "Enemies/");
-            if (enemiesDir.exists() && enemiesDir.isDirectory()) {
-                File[] setDirs = enemiesDir.listFiles(File::isDirectory);
-                if (setDirs != null) {
-                    for (File setDir : setDirs) {
-                        String setName = setDir.getName();
-                        if (!enemyCharacterSets.containsKey(setName)) {
-                            CharacterSet characterSet = loadCharacterSetFromDirectory(setDir, setName);
-                            if (characterSet != null) {
-                                enemyCharacterSets.put(setName, characterSet);
-                                System.out.println("Successfully loaded enemy character set: " + setName);
-                            }
-                        }
-                    }
-                }
-            }
-            
-            // Debug: Show loaded enemy character sets
-            System.out.println("Total enemy character sets loaded: " + enemyCharacterSets.size());
-            for (String setName : enemyCharacterSets.keySet()) {
-                System.out.println("  - " + setName);
-            }
-        } catch (Exception e) {
-            System.out.println("Error loading enemy character sets: " + e.getMessage());
+    /**
+     * Return a set without waiting for its frames. A stub starts decoding in
+     * the background and is returned in its loading state (no frames yet);
+     * load listeners are told once the frames are in.
+     */
+    private CharacterSet requestLoad(CharacterSet set, boolean isPet) {
+        if (set == null || set.isLoaded()) {
+            memoryBudget.touched(set);
+        } else if (!set.isLoading()) {
+            loadInBackground(set, () -> notifyLoaded(set, isPet));
         }
+        return set;
     }
     
-    private CharacterSet loadCharacterSetFromDirectory(File setDir, String setName) {
-        try {
-            CharacterSet characterSet = new CharacterSet(setName, setDir.getAbsolutePath() + "/");
-            
-            // Load metadata
-            Map<String, String> metadata = CharacterFileManager.loadCharacterSetMetadata(setDir);
-            if (metadata.containsKey("description")) {
-                characterSet.setDescription(metadata.get("description"));
-            }
-            if (metadata.containsKey("author")) {
-                characterSet.setAuthorName(metadata.get("author"));
+    /**
+     * Decode a stub set's frames in the background and run onLoaded on the
+     * EDT once they are in. Runs onLoaded immediately for loaded sets.
+     */
+    public void loadInBackground(CharacterSet set, Runnable onLoaded) {
+        if (set.isLoaded()) {
+            onLoaded.run();
+            return;
+        }
+        System.out.println("Loading character set in background: " + set.getName());
+        startLoad(set).whenComplete((decoded, error) -> SwingUtilities.invokeLater(() -> {
+            finishLoad(set);
+            if (error != null) {
+                System.out.println("Error loading character set " + set.getName() + ": " + error.getMessage());
+                set.adoptFrames(new CharacterSet(set.getName(), set.getSetPath())); // Don't retry on every frame
+                return;
             }
-            
-            // Load animation sequences
-            File idleDir = new File(setDir, "idle");
-            File walkingDir = new File(setDir, "walking");
-            File specialDir = new File(setDir, "special");
-            File painDir = new File(setDir, "pain");
-            
-            if (idleDir.exists()) {
-                AnimationSequence idleSeq = CharacterFileManager.loadAnimationFromDirectory(idleDir, "idle", true);
-                characterSet.getIdleAnimation().getFrames().clear();
-                characterSet.getIdleAnimation().getFrames().addAll(idleSeq.getFrames());
+            if (!set.isLoaded()) {
+                set.adoptFrames(decoded);
+                memoryBudget.loaded(set);
+                System.out.println("Loaded character set: " + set.getName());
             }
-            
-            if (walkingDir.exists()) {
-                AnimationSequence walkingSeq = CharacterFileManager.loadAnimationFromDirectory(walkingDir, "walking", true);
-                characterSet.getWalkingAnimation().getFrames().clear();
-                characterSet.getWalkingAnimation().getFrames().addAll(walkingSeq.getFrames());
+            onLoaded.run();
+        }));
+    }
+    
+    /**
+     * Start decoding a set, or join the decode already running for it
+     */
+    private synchronized java.util.concurrent.CompletableFuture<CharacterSet> startLoad(CharacterSet set) {
+        java.util.concurrent.CompletableFuture<CharacterSet> pending = pendingLoads.get(set);
+        if (pending == null) {
+            set.setLoading(true);
+            pending = CharacterSetLoader.loadAsync(new File(set.getSetPath()), set.getName());
+            pendingLoads.put(set, pending);
+        }
+        return pending;
+    }
+    
+    private synchronized void finishLoad(CharacterSet set) {
+        pendingLoads.remove(set);
+        set.setLoading(false);
+    }
+    
+    /**
+     * Keep a set's frames resident while a window (the editor, a preview) shows
+     * them. Every pin needs a matching unpin.
+     */
+    public void pin(CharacterSet set) {
+        if (set != null) {
+            synchronized (pinned) {
+                pinned.merge(set, 1, Integer::sum);
             }
-            
-            if (specialDir.exists()) {
-                AnimationSequence specialSeq = CharacterFileManager.loadAnimationFromDirectory(specialDir, "special", false);
-                characterSet.getSpecialAnimation().getFrames().clear();
-                characterSet.getSpecialAnimation().getFrames().addAll(specialSeq.getFrames());
+        }
+    }
+    
+    public void unpin(CharacterSet set) {
+        if (set != null) {
+            synchronized (pinned) {
+                pinned.computeIfPresent(set, (key, count) -> count > 1 ? count - 1 : null);
             }
-            
-            if (painDir.exists()) {
-                AnimationSequence painSeq = CharacterFileManager.loadAnimationFromDirectory(painDir, "pain", false);
-                characterSet.getPainAnimation().getFrames().clear();
-                characterSet.getPainAnimation().getFrames().addAll(painSeq.getFrames());
+            memoryBudget.enforceLater();
+        }
+    }
+    
+    /**
+     * Whether pets, enemies or an open window are drawing this set's frames
+     */
+    private boolean isDisplayed(CharacterSet set) {
+        synchronized (pinned) {
+            if (pinned.containsKey(set)) {
+                return true;
             }
-            
+        }
+        return set == petCharacterSets.get(currentPetSet) || set == enemyCharacterSets.get(currentEnemySet);
+    }
+    
+    /**
+     * Resident frame memory per loaded set, for debug output
+     */
+    public String getMemoryStats() {
+        return memoryBudget.getStats();
+    }
+    
+    static CharacterSet loadCharacterSetFromDirectory(File setDir, String setName) {
+        try {
+            CharacterSet characterSet = CharacterSetLoader.load(setDir, setName);
             System.out.println("Loaded character set: " + setName + " from " + setDir.getAbsolutePath());
             return characterSet;
             
@@ -5435,11 +6209,12 @@ class CharacterSetComboRenderer extends DefaultListCellRenderer {
             CharacterSetItem item = (CharacterSetItem) value;
             setText(item.getName());
             
-            if (item.getThumbnail() != null) {
+            ImageIcon thumbnail = item.getThumbnail();
+            if (thumbnail != null && thumbnail.getIconWidth() <= THUMBNAIL_SIZE && thumbnail.getIconHeight() <= THUMBNAIL_SIZE) {
+                setIcon(thumbnail); // Index icons are already rendered at this size
+            } else if (thumbnail != null) {
                 // Scale thumbnail to fit
-                Image img = item.getThumbnail().getImage();
-                Image scaledImg = img.getScaledInstance(THUMBNAIL_SIZE, THUMBNAIL_SIZE, Image.SCALE_SMOOTH);
-                setIcon(new ImageIcon(scaledImg));
+                setIcon(ScaledImageCache.getScaled(thumbnail, THUMBNAIL_SIZE, THUMBNAIL_SIZE));
             } else {
                 setIcon(null);
             }
@@ -5459,6 +6234,7 @@ class CharacterImportWindow extends JFrame {
     
     private CharacterSetManager characterSetManager;
     private CharacterSet currentWorkingSet;
+    private String requestedSetName; // Set picked in the combo box, possibly still decoding
     private String currentSetType; // "pet" or "enemy"
     private AdvancedDesktopPet parentPet; // Reference to parent for translation access
     
@@ -5486,9 +6262,11 @@ class CharacterImportWindow extends JFrame {
     private JButton exportButton;
     private JButton saveButton;
     private JButton deleteButton;
+    private JButton importArchiveButton;
     private JButton testButton;
     private JButton editButton;
     private JButton setDefaultButton;
+    private JLabel dedupLabel;
     
     public CharacterImportWindow(AdvancedDesktopPet parent) {
         super("Character Set Import Manager");
@@ -5532,6 +6310,19 @@ class CharacterImportWindow extends JFrame {
                 petActivityTimer.stop();
             }
         });
+        
+        // Keep the set being edited resident while the window shows it
+        addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentShown(ComponentEvent e) {
+                characterSetManager.pin(currentWorkingSet);
+            }
+            
+            @Override
+            public void componentHidden(ComponentEvent e) {
+                characterSetManager.unpin(currentWorkingSet);
+            }
+        });
     }
     
     /**
@@ -5755,21 +6546,25 @@ class CharacterImportWindow extends JFrame {
         
         importButton = new JButton(getText("import_images"));
         exportButton = new JButton(getText("export_set"));
+        importArchiveButton = new JButton(getText("import_archive"));
         saveButton = new JButton(getText("save_set"));
         deleteButton = new JButton(getText("delete_set"));
         testButton = new JButton(getText("test_in_pet"));
         editButton = new JButton(getText("edit_properties"));
         setDefaultButton = new JButton(getText("set_as_default"));
         JButton closeButton = new JButton(getText("close"));
+        dedupLabel = new JLabel();
         
         panel.add(importButton);
         panel.add(exportButton);
+        panel.add(importArchiveButton);
         panel.add(saveButton);
         panel.add(deleteButton);
         panel.add(testButton);
         panel.add(editButton);
         panel.add(setDefaultButton);
         panel.add(closeButton);
+        panel.add(dedupLabel);
         
         closeButton.addActionListener(e -> setVisible(false));
         
@@ -5806,6 +6601,9 @@ class CharacterImportWindow extends JFrame {
         // Export button
         exportButton.addActionListener(e -> exportCharacterSet());
         
+        // Import archive button
+        importArchiveButton.addActionListener(e -> importCharacterSetArchive());
+        
         // Edit button
         editButton.addActionListener(e -> openCharacterEditDialog());
         
@@ -5864,46 +6662,24 @@ class CharacterImportWindow extends JFrame {
             ImageIcon thumbnail = getCharacterSetThumbnail(setName, currentSetType.equals("pet"));
             existingSetCombo.addItem(new CharacterSetItem(setName, thumbnail));
         }
+        updateDedupLabel();
+    }
+    
+    /**
+     * Show how much identical frames shared through the FrameStore have saved
+     */
+    private void updateDedupLabel() {
+        long savedBytes = FrameStore.getSharedBytes() + FrameStore.getPackBytesSaved();
+        dedupLabel.setText(String.format(getText("frame_dedup_stats"), 
+            FrameStore.getUniqueCount(), FrameStore.getSharedCount(), savedBytes / 1024));
     }
     
     /**
      * Get thumbnail image for a character set
      */
     private ImageIcon getCharacterSetThumbnail(String setName, boolean isPet) {
-        try {
-            CharacterSet characterSet = isPet ? 
-                characterSetManager.getPetCharacterSet(setName) : 
-                characterSetManager.getEnemyCharacterSet(setName);
-            
-            if (characterSet != null) {
-                // Try to get thumbnail from idle animation first
-                AnimationSequence idleSeq = characterSet.getIdleAnimation();
-                if (idleSeq != null && idleSeq.getFrameCount() > 0) {
-                    return idleSeq.getFrames().get(0).getImage();
-                }
-                
-                // If no idle animation, try walking animation
-                AnimationSequence walkSeq = characterSet.getWalkingAnimation();
-                if (walkSeq != null && walkSeq.getFrameCount() > 0) {
-                    return walkSeq.getFrames().get(0).getImage();
-                }
-                
-                // If no walking animation, try any other animation
-                AnimationSequence specialSeq = characterSet.getSpecialAnimation();
-                if (specialSeq != null && specialSeq.getFrameCount() > 0) {
-                    return specialSeq.getFrames().get(0).getImage();
-                }
-                
-                AnimationSequence painSeq = characterSet.getPainAnimation();
-                if (painSeq != null && painSeq.getFrameCount() > 0) {
-                    return painSeq.getFrames().get(0).getImage();
-                }
-            }
-        } catch (Exception e) {
-            System.out.println("Error getting thumbnail for " + setName + ": " + e.getMessage());
-        }
-        
-        return null; // No thumbnail available
+        CharacterSet characterSet = characterSetManager.peekCharacterSet(setName, isPet);
+        return characterSet != null ? characterSet.getIcon() : null; // No thumbnail available
     }
     
     private void createNewCharacterSet() {
@@ -5911,7 +6687,7 @@ class CharacterImportWindow extends JFrame {
         String setPath = "resources/CharacterSets/" + 
                          (currentSetType.equals("pet") ? "Pets" : "Enemies") + "/" + setName + "/";
         
-        currentWorkingSet = new CharacterSet(setName, setPath);
+        setWorkingSet(new CharacterSet(setName, setPath));
         
         // Update UI
         setNameField.setText(setName);
@@ -5928,11 +6704,34 @@ class CharacterImportWindow extends JFrame {
     }
     
     private void loadExistingCharacterSet(String setName) {
+        // Load the SPECIFIC character set that was selected, not the current one
+        CharacterSet selected = characterSetManager.peekCharacterSet(setName, currentSetType.equals("pet"));
+        if (selected == null) {
+            return;
+        }
+        // Decode off the EDT; the editor fills in once the frames are in, unless another set was picked meanwhile
+        requestedSetName = setName;
+        characterSetManager.loadInBackground(selected, () -> {
+            if (setName.equals(requestedSetName)) {
+                showExistingCharacterSet(selected, setName);
+            }
+        });
+    }
+    
+    /**
+     * Switch the set being edited, moving the memory pin with it
+     */
+    private void setWorkingSet(CharacterSet set) {
+        if (isVisible()) {
+            characterSetManager.unpin(currentWorkingSet);
+            characterSetManager.pin(set);
+        }
+        currentWorkingSet = set;
+    }
+    
+    private void showExistingCharacterSet(CharacterSet selected, String setName) {
         try {
-            // Load the SPECIFIC character set that was selected, not the current one
-            currentWorkingSet = currentSetType.equals("pet") ? 
-                characterSetManager.getPetCharacterSet(setName) : 
-                characterSetManager.getEnemyCharacterSet(setName);
+            setWorkingSet(selected);
             
             if (currentWorkingSet != null) {
                 System.out.println("Loading character set: " + setName + " (Type: " + currentSetType + ")");
@@ -5947,6 +6746,7 @@ class CharacterImportWindow extends JFrame {
                 loadAnimationFramesIntoPanel(currentWorkingSet.getWalkingAnimation(), walkingPanel);
                 loadAnimationFramesIntoPanel(currentWorkingSet.getSpecialAnimation(), specialPanel);
                 loadAnimationFramesIntoPanel(currentWorkingSet.getPainAnimation(), painPanel);
+                updateDedupLabel();
                 
                 // Automatically switch the pet to use this character set
                 if (currentSetType.equals("pet")) {
@@ -5982,7 +6782,7 @@ class CharacterImportWindow extends JFrame {
         panel.clearImages();
         
         for (AnimationFrame frame : sequence.getFrames()) {
-            panel.addImage(frame.getImage());
+            panel.addImage(new ImageIcon(frame.getImage()));
         }
     }
     
@@ -6018,34 +6818,42 @@ class CharacterImportWindow extends JFrame {
                 throw new Exception("Failed to create directory structure");
             }
             
-            // Save animation frames
-            saveAnimationFrames(currentWorkingSet.getIdleAnimation(), idlePanel, "idle");
-            saveAnimationFrames(currentWorkingSet.getWalkingAnimation(), walkingPanel, "walking");
-            saveAnimationFrames(currentWorkingSet.getSpecialAnimation(), specialPanel, "special");
-            saveAnimationFrames(currentWorkingSet.getPainAnimation(), painPanel, "pain");
+            // Encode changed frames and write metadata off the EDT, then update the manager here
+            Map<String, List<ImageIcon>> animations = new LinkedHashMap<>();
+            animations.put("idle", idlePanel.getImages());
+            animations.put("walking", walkingPanel.getImages());
+            animations.put("special", specialPanel.getImages());
+            animations.put("pain", painPanel.getImages());
+            CharacterSet savingSet = currentWorkingSet;
+            boolean isPet = currentSetType.equals("pet");
             
-            // Save metadata
-            boolean metadataSaved = CharacterFileManager.saveCharacterSetMetadata(currentWorkingSet);
-            if (!metadataSaved) {
-                throw new Exception("Failed to save metadata");
-            }
-            
-            // Add to manager
-            if (currentSetType.equals("pet")) {
-                characterSetManager.addPetCharacterSet(currentWorkingSet);
-                System.out.println("Added pet character set to manager: " + newName);
-            } else {
-                characterSetManager.addEnemyCharacterSet(currentWorkingSet);
-                System.out.println("Added enemy character set to manager: " + newName);
-            }
-            
-            // Force the manager to reload from disk to ensure persistence
-            characterSetManager.loadCharacterSetsFromDisk();
-            
-            JOptionPane.showMessageDialog(this, "Character set '" + newName + "' saved successfully!", 
-                                        "Success", JOptionPane.INFORMATION_MESSAGE);
-            
-            refreshExistingSetsList();
+            saveButton.setEnabled(false);
+            ProgressMonitor monitor = new ProgressMonitor(this, getText("saving_character_set"), null, 0, 100);
+            Thread worker = new Thread(() -> {
+                try {
+                    FrameSavePipeline.Result saved = FrameSavePipeline.save(new File(newPath), animations, progressTo(monitor));
+                    System.out.println("Saved " + newName + ": " + saved.encoded + " frames encoded, "
+                        + saved.unchanged + " unchanged");
+                    if (!CharacterFileManager.saveCharacterSetMetadata(savingSet)) {
+                        throw new Exception("Failed to save metadata");
+                    }
+                    ThumbnailIndex.Entry thumbnails = ThumbnailIndex.update(new File(newPath));
+                    SwingUtilities.invokeLater(() -> {
+                        monitor.close();
+                        finishSavingCharacterSet(savingSet, isPet, saved, thumbnails);
+                    });
+                } catch (Exception e) {
+                    System.out.println("Error saving character set: " + e.getMessage());
+                    SwingUtilities.invokeLater(() -> {
+                        monitor.close();
+                        saveButton.setEnabled(true);
+                        JOptionPane.showMessageDialog(this, "Error saving character set: " + e.getMessage(), 
+                                                    "Error", JOptionPane.ERROR_MESSAGE);
+                    });
+                }
+            }, "character-set-save");
+            worker.setDaemon(true);
+            worker.start();
             
         } catch (Exception e) {
             System.out.println("Error saving character set: " + e.getMessage());
@@ -6055,60 +6863,33 @@ class CharacterImportWindow extends JFrame {
         }
     }
     
-    private void saveAnimationFrames(AnimationSequence sequence, AnimationImportPanel panel, String animationType) {
-        // Clear existing frames
-        sequence.getFrames().clear();
-        
-        // Add new frames from panel
-        List<ImageIcon> images = panel.getImages();
-        for (int i = 0; i < images.size(); i++) {
-            ImageIcon image = images.get(i);
-            String framePath = currentWorkingSet.getSetPath() + animationType + "/" + 
-                              animationType + "_frame_" + String.format("%03d", i) + ".png";
-            
-            // Actually save the image to disk
-            boolean saved = saveImageIconToFile(image, framePath);
-            if (saved) {
-                AnimationFrame frame = new AnimationFrame(image, framePath, 150); // Default duration
-                sequence.addFrame(frame);
-                System.out.println("Saved frame: " + framePath);
-            } else {
-                System.out.println("Failed to save frame: " + framePath);
-            }
-        }
-    }
-    
     /**
-     * Save an ImageIcon to a file on disk
+     * Runs on the EDT once a set's files are on disk
      */
-    private boolean saveImageIconToFile(ImageIcon imageIcon, String filePath) {
-        try {
-            // Create parent directories if they don't exist
-            File file = new File(filePath);
-            File parentDir = file.getParentFile();
-            if (parentDir != null && !parentDir.exists()) {
-                parentDir.mkdirs();
-            }
-            
-            // Convert ImageIcon to BufferedImage
-            Image image = imageIcon.getImage();
-            BufferedImage bufferedImage = new BufferedImage(
-                image.getWidth(null), 
-                image.getHeight(null), 
-                BufferedImage.TYPE_INT_ARGB
-            );
-            
-            Graphics2D g2d = bufferedImage.createGraphics();
-            g2d.drawImage(image, 0, 0, null);
-            g2d.dispose();
-            
-            // Save as PNG file
-            return ImageIO.write(bufferedImage, "png", file);
-            
-        } catch (Exception e) {
-            System.out.println("Error saving image to file: " + e.getMessage());
-            return false;
+    private void finishSavingCharacterSet(CharacterSet savedSet, boolean isPet, FrameSavePipeline.Result saved,
+                                          ThumbnailIndex.Entry thumbnails) {
+        saveButton.setEnabled(true);
+        for (String animation : new String[] {"idle", "walking", "special", "pain"}) {
+            savedSet.setFrames(animation, saved.frames.get(animation));
+        }
+        savedSet.setThumbnails(thumbnails);
+        
+        // Add to manager
+        if (isPet) {
+            characterSetManager.addPetCharacterSet(savedSet);
+            System.out.println("Added pet character set to manager: " + savedSet.getName());
+        } else {
+            characterSetManager.addEnemyCharacterSet(savedSet);
+            System.out.println("Added enemy character set to manager: " + savedSet.getName());
         }
+        
+        // Force the manager to reload from disk to ensure persistence
+        characterSetManager.loadCharacterSetsFromDisk();
+        
+        JOptionPane.showMessageDialog(this, "Character set '" + savedSet.getName() + "' saved successfully!", 
+                                    "Success", JOptionPane.INFORMATION_MESSAGE);
+        
+        refreshExistingSetsList();
     }
     
     private void deleteCurrentCharacterSet() {
@@ -6125,6 +6906,8 @@ class CharacterImportWindow extends JFrame {
                 
                 // Delete from disk
                 CharacterFileManager.deleteCharacterSet(setPath);
+                ThumbnailIndex.remove(new File(setPath));
+                ThumbnailIndex.save();
                 
                 // Remove from manager
                 boolean removed = false;
@@ -6234,17 +7017,12 @@ class CharacterImportWindow extends JFrame {
             }
             
             if (targetPanel != null) {
-                for (File file : files) {
-                    if (CharacterFileManager.isValidImageFile(file)) {
-                        ImageIcon image = CharacterFileManager.loadAndScaleImagePreserveAspect(file, 256);
-                        if (image != null) {
-                            targetPanel.addImage(image);
-                        }
-                    }
-                }
-                
-                JOptionPane.showMessageDialog(this, "Images imported successfully!", 
-                                            "Success", JOptionPane.INFORMATION_MESSAGE);
+                // Frames stream into the panel as they decode; confirm once all are in
+                targetPanel.importImages(files, () -> {
+                    updateDedupLabel();
+                    JOptionPane.showMessageDialog(this, "Images imported successfully!", 
+                                                "Success", JOptionPane.INFORMATION_MESSAGE);
+                });
             }
             
         } catch (Exception e) {
@@ -6257,24 +7035,107 @@ class CharacterImportWindow extends JFrame {
     private void exportCharacterSet() {
         if (currentWorkingSet == null) return;
         
+        File setDir = new File(currentWorkingSet.getSetPath());
+        if (!setDir.isDirectory()) {
+            JOptionPane.showMessageDialog(this, getText("save_set_before_export"), 
+                                        getText("info"), JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+        
         JFileChooser fileChooser = new JFileChooser();
-        fileChooser.setFileSelectionMode(JFileChooser.DIRECTORIES_ONLY);
+        fileChooser.setFileFilter(new javax.swing.filechooser.FileNameExtensionFilter("ZIP", "zip"));
+        fileChooser.setSelectedFile(new File(setDir.getName() + ".zip"));
         
         int result = fileChooser.showSaveDialog(this);
         if (result == JFileChooser.APPROVE_OPTION) {
-            File selectedDir = fileChooser.getSelectedFile();
+            File selectedFile = fileChooser.getSelectedFile();
+            File zipFile = selectedFile.getName().toLowerCase().endsWith(".zip") ? selectedFile :
+                new File(selectedFile.getParentFile(), selectedFile.getName() + ".zip");
             
+            // Compress and write off the EDT, reporting progress as entries are written
+            ProgressMonitor monitor = new ProgressMonitor(this, getText("exporting_character_set"), null, 0, 100);
+            Thread worker = new Thread(() -> {
+                try {
+                    int count = CharacterSetArchive.exportSet(setDir, zipFile, progressTo(monitor));
+                    System.out.println("Exported " + count + " files to " + zipFile.getAbsolutePath());
+                    SwingUtilities.invokeLater(() -> {
+                        monitor.close();
+                        JOptionPane.showMessageDialog(this, getText("export_complete") + zipFile.getAbsolutePath(), 
+                                                    getText("info"), JOptionPane.INFORMATION_MESSAGE);
+                    });
+                } catch (java.io.InterruptedIOException e) {
+                    System.out.println(e.getMessage());
+                    SwingUtilities.invokeLater(monitor::close);
+                } catch (Exception e) {
+                    System.out.println("Error exporting character set: " + e.getMessage());
+                    SwingUtilities.invokeLater(() -> {
+                        monitor.close();
+                        JOptionPane.showMessageDialog(this, getText("error_exporting_character_set") + e.getMessage(), 
+                                                    getText("error"), JOptionPane.ERROR_MESSAGE);
+                    });
+                }
+            }, "character-set-export");
+            worker.setDaemon(true);
+            worker.start();
+        }
+    }
+    
+    private void importCharacterSetArchive() {
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setFileFilter(new javax.swing.filechooser.FileNameExtensionFilter("ZIP", "zip"));
+        if (fileChooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        File zipFile = fileChooser.getSelectedFile();
+        boolean isPet = currentSetType.equals("pet");
+        File baseDir = new File("resources/CharacterSets/" + (isPet ? "Pets" : "Enemies"));
+        
+        // Unpack and validate off the EDT
+        ProgressMonitor monitor = new ProgressMonitor(this, getText("importing_character_set"), null, 0, 100);
+        Thread worker = new Thread(() -> {
             try {
-                // Export functionality would be implemented here
-                JOptionPane.showMessageDialog(this, getText("export_functionality_coming_soon"), 
-                                            getText("info"), JOptionPane.INFORMATION_MESSAGE);
-                
+                CharacterSetArchive.ImportResult imported = CharacterSetArchive.importSet(zipFile, baseDir, progressTo(monitor));
+                System.out.println("Imported " + imported.importedFiles + " files into " + imported.setDir.getAbsolutePath()
+                    + (imported.skippedEntries.isEmpty() ? "" : ", skipped " + imported.skippedEntries));
+                SwingUtilities.invokeLater(() -> {
+                    monitor.close();
+                    characterSetManager.loadCharacterSetsFromDisk(); // Adds the new set as a stub
+                    refreshExistingSetsList();
+                    JOptionPane.showMessageDialog(this, getText("import_complete") + imported.setDir.getName(), 
+                                                getText("info"), JOptionPane.INFORMATION_MESSAGE);
+                });
+            } catch (java.io.InterruptedIOException e) {
+                System.out.println(e.getMessage());
+                SwingUtilities.invokeLater(monitor::close);
             } catch (Exception e) {
-                System.out.println("Error exporting character set: " + e.getMessage());
-                JOptionPane.showMessageDialog(this, getText("error_exporting_character_set") + e.getMessage(), 
-                                            getText("error"), JOptionPane.ERROR_MESSAGE);
+                System.out.println("Error importing character set: " + e.getMessage());
+                SwingUtilities.invokeLater(() -> {
+                    monitor.close();
+                    JOptionPane.showMessageDialog(this, getText("error_importing_character_set") + e.getMessage(), 
+                                                getText("error"), JOptionPane.ERROR_MESSAGE);
+                });
             }
-        }
+        }, "character-set-import");
+        worker.setDaemon(true);
+        worker.start();
+    }
+    
+    /**
+     * Forward archive progress to a ProgressMonitor on the EDT, and its Cancel button back
+     */
+    private static CharacterSetArchive.ProgressListener progressTo(ProgressMonitor monitor) {
+        return new CharacterSetArchive.ProgressListener() {
+            @Override
+            public void progress(long done, long total) {
+                int percent = total > 0 ? (int) (done * 100 / total) : 0;
+                SwingUtilities.invokeLater(() -> monitor.setProgress(percent));
+            }
+
+            @Override
+            public boolean isCanceled() {
+                return monitor.isCanceled();
+            }
+        };
     }
     
     /**
@@ -6328,10 +7189,14 @@ class CharacterImportWindow extends JFrame {
         previewTimer.stop();
         currentPreviewType = animationType;
         
+        if (!currentWorkingSet.isLoaded()) {
+            // Frames were released while idle: decode them off the EDT, then start
+            characterSetManager.loadInBackground(currentWorkingSet, () -> startPreview(animationType));
+            return;
+        }
         AnimationSequence sequence = currentWorkingSet.getAnimationByName(animationType);
         if (sequence != null && sequence.getFrameCount() > 0) {
             previewFrameIndex = 0;
-            sequence.reset();
             previewTimer.start();
             System.out.println("Started preview for: " + animationType + " with " + sequence.getFrameCount() + " frames");
         } else {
@@ -6367,9 +7232,7 @@ class CharacterImportWindow extends JFrame {
                 AnimationFrame frame = sequence.getFrames().get(previewFrameIndex);
                 if (frame != null && frame.getImage() != null) {
                     // Scale image to fit preview panel
-                    Image img = frame.getImage().getImage();
-                    Image scaledImg = img.getScaledInstance(PREVIEW_SIZE, PREVIEW_SIZE, Image.SCALE_SMOOTH);
-                    previewLabel.setIcon(new ImageIcon(scaledImg));
+                    previewLabel.setIcon(ScaledImageCache.getScaled(frame.getImage(), PREVIEW_SIZE, PREVIEW_SIZE));
                     
                     // Move to next frame
                     previewFrameIndex++;
@@ -6391,9 +7254,7 @@ class CharacterImportWindow extends JFrame {
                     ImageIcon frameImage = images.get(previewFrameIndex);
                     if (frameImage != null) {
                         // Scale image to fit preview panel
-                        Image img = frameImage.getImage();
-                        Image scaledImg = img.getScaledInstance(PREVIEW_SIZE, PREVIEW_SIZE, Image.SCALE_SMOOTH);
-                        previewLabel.setIcon(new ImageIcon(scaledImg));
+                        previewLabel.setIcon(ScaledImageCache.getScaled(frameImage, PREVIEW_SIZE, PREVIEW_SIZE));
                         
                         // Move to next frame
                         previewFrameIndex++;
@@ -6599,8 +7460,7 @@ class CharacterEditDialog extends JDialog {
         
         // Flip all images in the sequence
         for (AnimationFrame frame : sequence.getFrames()) {
-            ImageIcon flippedImage = flipImageHorizontally(frame.getImage());
-            frame.setImage(flippedImage);
+            frame.setImage(flipImageHorizontally(frame.getImage()));
         }
         
         JOptionPane.showMessageDialog(this, "Flipped " + sequence.getFrameCount() + " " + animationType + " images.", 
@@ -6616,60 +7476,38 @@ class CharacterEditDialog extends JDialog {
         if (result == JFileChooser.APPROVE_OPTION) {
             File[] selectedFiles = fileChooser.getSelectedFiles();
             if (selectedFiles.length > 0) {
-                // Replace animation sequence
-                AnimationSequence sequence = characterSet.getAnimationByName(animationType);
-                if (sequence == null) {
-                    // Create new sequence if it doesn't exist
-                    sequence = new AnimationSequence(animationType, animationType.equals("idle") || animationType.equals("walking"));
-                    
-                    // Add to character set
-                    if (animationType.equals("idle")) {
-                        characterSet.setIdleAnimation(sequence);
-                    } else if (animationType.equals("walking")) {
-                        characterSet.setWalkingAnimation(sequence);
-                    } else if (animationType.equals("special")) {
-                        characterSet.setSpecialAnimation(sequence);
-                    } else if (animationType.equals("pain")) {
-                        characterSet.setPainAnimation(sequence);
-                    }
-                }
-                
-                // Clear existing frames
-                sequence.getFrames().clear();
-                
-                // Add new frames
+                // Load the new frames
+                List<AnimationFrame> frames = new ArrayList<>();
                 for (File file : selectedFiles) {
                     try {
-                        ImageIcon imageIcon = new ImageIcon(file.getPath());
-                        AnimationFrame frame = new AnimationFrame(imageIcon, file.getPath(), 200); // Default 200ms duration
-                        sequence.addFrame(frame);
+                        BufferedImage image = CharacterFileManager.readImage(file);
+                        if (image != null) {
+                            frames.add(new AnimationFrame(image, file.getPath(), 200)); // Default 200ms duration
+                        }
                     } catch (Exception e) {
                         System.out.println("Error loading image: " + file.getName() + " - " + e.getMessage());
                     }
                 }
                 
+                // Replace animation sequence
+                characterSet.setFrames(animationType, frames);
+                
                 JOptionPane.showMessageDialog(this, "Replaced " + animationType + " animation with " + 
-                                            sequence.getFrameCount() + " new images.", 
+                                            frames.size() + " new images.", 
                                             "Success", JOptionPane.INFORMATION_MESSAGE);
             }
         }
     }
     
-    private ImageIcon flipImageHorizontally(ImageIcon original) {
-        BufferedImage originalImage = new BufferedImage(
-            original.getIconWidth(), original.getIconHeight(), BufferedImage.TYPE_INT_ARGB);
-        Graphics2D g2d = originalImage.createGraphics();
-        g2d.drawImage(original.getImage(), 0, 0, null);
-        g2d.dispose();
-        
+    private BufferedImage flipImageHorizontally(BufferedImage original) {
         BufferedImage flippedImage = new BufferedImage(
-            originalImage.getWidth(), originalImage.getHeight(), BufferedImage.TYPE_INT_ARGB);
+            original.getWidth(), original.getHeight(), BufferedImage.TYPE_INT_ARGB);
         Graphics2D g2dFlipped = flippedImage.createGraphics();
-        g2dFlipped.drawImage(originalImage, originalImage.getWidth(), 0, -originalImage.getWidth(), 
-                           originalImage.getHeight(), null);
+        g2dFlipped.drawImage(original, original.getWidth(), 0, -original.getWidth(), 
+                           original.getHeight(), null);
         g2dFlipped.dispose();
         
-        return new ImageIcon(flippedImage);
+        return flippedImage;
     }
     
     public boolean isConfirmed() {
@@ -6690,6 +7528,8 @@ class AnimationImportPanel extends JPanel {
     private List<ImageIcon> images;
     private JPanel imagePanel;
     private JScrollPane scrollPane;
+    private final List<java.util.concurrent.Future<?>> pendingImports = new ArrayList<>();
+    private int importGeneration = 0;
     
     public AnimationImportPanel(String animationName, boolean isLooping) {
         this.animationName = animationName;
@@ -6738,24 +7578,52 @@ class AnimationImportPanel extends JPanel {
         
         int result = fileChooser.showOpenDialog(this);
         if (result == JFileChooser.APPROVE_OPTION) {
-            File[] selectedFiles = fileChooser.getSelectedFiles();
+            importImages(fileChooser.getSelectedFiles(), null);
+        }
+    }
+    
+    /**
+     * Decode files on the import pipeline and add them as they complete, in
+     * order. onFinished runs on the EDT once every file has been handled.
+     */
+    public void importImages(File[] files, Runnable onFinished) {
+        int generation = importGeneration;
+        pendingImports.add(ImageImportPipeline.importImages(files, new ImageImportPipeline.Listener() {
+            @Override
+            public void imported(File file, ImageIcon image, ImageIcon thumbnail) {
+                SwingUtilities.invokeLater(() -> {
+                    if (generation == importGeneration) {
+                        addImage(image, thumbnail);
+                    }
+                });
+            }
             
-            for (File file : selectedFiles) {
-                if (CharacterFileManager.isValidImageFile(file)) {
-                    ImageIcon image = CharacterFileManager.loadAndScaleImagePreserveAspect(file, 256);
-                    if (image != null) {
-                        addImage(image);
+            @Override
+            public void rejected(File file, String reason) {
+                // Already logged by the pipeline
+            }
+            
+            @Override
+            public void finished(int imported, int rejected) {
+                SwingUtilities.invokeLater(() -> {
+                    pendingImports.removeIf(java.util.concurrent.Future::isDone);
+                    if (generation == importGeneration && onFinished != null) {
+                        onFinished.run();
                     }
-                }
+                });
             }
-        }
+        }));
     }
     
     public void addImage(ImageIcon image) {
+        addImage(image, image);
+    }
+    
+    public void addImage(ImageIcon image, ImageIcon thumbnailImage) {
         images.add(image);
         
         // Create thumbnail for display
-        JLabel thumbnail = new JLabel(image);
+        JLabel thumbnail = new JLabel(thumbnailImage);
         thumbnail.setBorder(BorderFactory.createRaisedBevelBorder());
         thumbnail.setPreferredSize(new Dimension(90, 90));  // Increased from 80x80 to 90x90
         
@@ -6778,6 +7646,12 @@ class AnimationImportPanel extends JPanel {
     }
     
     public void clearImages() {
+        // Drop imports still streaming in
+        importGeneration++;
+        for (java.util.concurrent.Future<?> pendingImport : pendingImports) {
+            pendingImport.cancel(true);
+        }
+        pendingImports.clear();
         images.clear();
         imagePanel.removeAll();
         imagePanel.revalidate();
@@ -6893,15 +7767,15 @@ class AnimationImportPanel extends JPanel {
 }
 
 // Enemy class that follows the pet
-class EnemyWindow extends JWindow {
+class EnemyWindow extends SpriteWindow {
     // Constants
     private static final int DEFAULT_WIDTH = 128;
     private static final int DEFAULT_HEIGHT = 128;
     
-    private JLabel enemyLabel;
-    private Timer followTimer;
-    private Timer horrorEffectTimer;
-    private Timer animationTimer;
+    private SpriteView enemyLabel;
+    private FrameTimer followTimer;
+    private FrameTimer horrorEffectTimer;
+    private FrameTimer animationTimer;
     private AdvancedDesktopPet targetPet;
     
     private ImageIcon idleGif;
@@ -6923,13 +7797,13 @@ class EnemyWindow extends JWindow {
     private int currentBehavior = 1; // 0=idle, 1=walking, 2=special - Start in active mode
     
     // Safety timer to check if pet is lost
-    private Timer safetyTimer;
+    private FrameTimer safetyTimer;
     
     // Enemy system
     private boolean enemyEnabled = false;
     private List<EnemyWindow> enemies = new ArrayList<>();
-    private Timer enemySpawnTimer;
-    private Timer enemyCleanupTimer;
+    private FrameTimer enemySpawnTimer;
+    private FrameTimer enemyCleanupTimer;
     private List<ImageIcon> enemyImages = new ArrayList<>();
     private Random enemyRandom = new Random();
     private int maxEnemies = 5; // Increased from 3 to 5
@@ -7003,6 +7877,12 @@ class EnemyWindow extends JWindow {
     private long lastCollisionTime = 0; // Track last collision time for cooldown
     private static final long COLLISION_COOLDOWN_MS = 2000; // 2 second cooldown between collisions
     
+    // Follow movement, integrated in fixed steps so speed doesn't depend on timer lateness
+    private static final double FOLLOW_MIN_SPEED_PX_PER_SEC = 20.0;  // Was 2-4px per 100ms tick
+    private static final double FOLLOW_SPEED_STEP_PX_PER_SEC = 10.0;
+    private static final double FOLLOW_JITTER_PX_PER_SEC = 10.0;     // Was +/-1px per tick
+    private final MotionIntegrator followMotion = new MotionIntegrator(10, 50);
+    
     public EnemyWindow(AdvancedDesktopPet pet, List<ImageIcon> images) {
         this.targetPet = pet;
         this.enemyImages = images;
@@ -7026,9 +7906,8 @@ class EnemyWindow extends JWindow {
         // Apply transparency
         updateEnemyTransparency();
         
-        enemyLabel = new JLabel();
-        enemyLabel.setHorizontalAlignment(JLabel.CENTER);
-        enemyLabel.setVerticalAlignment(JLabel.CENTER);
+        enemyLabel = new SpriteView();
+        attachSpriteView(enemyLabel);
         // Set label bounds to exactly match the enemy window size
         enemyLabel.setBounds(0, 0, enemyWidth, enemyHeight);
         enemyLabel.setPreferredSize(new Dimension(enemyWidth, enemyHeight));
@@ -7100,9 +7979,7 @@ class EnemyWindow extends JWindow {
             try {
                 ImageIcon originalImage = enemyImages.get(random.nextInt(enemyImages.size()));
                 if (originalImage != null && originalImage.getImage() != null) {
-                    Image scaledImage = originalImage.getImage().getScaledInstance(
-                        enemyWidth, enemyHeight, Image.SCALE_SMOOTH);
-                    currentEnemyImage = new ImageIcon(scaledImage);
+                    currentEnemyImage = ScaledImageCache.getScaled(originalImage, enemyWidth, enemyHeight);
                     enemyLabel.setIcon(getFlippedEnemyIcon(currentEnemyImage));
                 }
             } catch (Exception e) {
@@ -7141,7 +8018,7 @@ class EnemyWindow extends JWindow {
             if (followTimer != null) {
                 followTimer.stop();
             }
-            followTimer = new Timer(100, e -> {
+            followTimer = new FrameTimer(100, e -> {
                 try {
                     followPet();
                 } catch (Exception ex) {
@@ -7152,6 +8029,7 @@ class EnemyWindow extends JWindow {
                     }
                 }
             });
+            followTimer.setRateClient(targetPet.getFrameRateClient()); // Enemies slow down and hide with their pet
             followTimer.start();
         } catch (Exception e) {
             System.out.println("Error starting follow timer: " + e.getMessage());
@@ -7166,7 +8044,7 @@ class EnemyWindow extends JWindow {
             if (horrorEffectTimer != null) {
                 horrorEffectTimer.stop();
             }
-            horrorEffectTimer = new Timer(3000 + random.nextInt(4000), e -> {
+            horrorEffectTimer = new FrameTimer(3000 + random.nextInt(4000), e -> {
                 try {
                     // Don't create horror effects if enemy is in pain mode
                     if (!isEnemyPainActive) {
@@ -7198,14 +8076,12 @@ class EnemyWindow extends JWindow {
                     animationTimer.stop();
                 }
                 // Create animation timer to cycle through enemy frames
-                animationTimer = new Timer(500 + random.nextInt(1000), e -> {
+                animationTimer = new FrameTimer(500 + random.nextInt(1000), e -> {
                     try {
                         currentAnimationFrame = (currentAnimationFrame + 1) % enemyImages.size();
                         ImageIcon originalImage = enemyImages.get(currentAnimationFrame);
                         if (originalImage != null && originalImage.getImage() != null) {
-                            Image scaledImage = originalImage.getImage().getScaledInstance(
-                                enemyWidth, enemyHeight, Image.SCALE_SMOOTH);
-                            currentEnemyImage = new ImageIcon(scaledImage);
+                            currentEnemyImage = ScaledImageCache.getScaled(originalImage, enemyWidth, enemyHeight);
                             enemyLabel.setIcon(getFlippedEnemyIcon(currentEnemyImage));
                         }
                     
@@ -7221,6 +8097,7 @@ class EnemyWindow extends JWindow {
                         }
                     }
                 });
+                animationTimer.setRateClient(targetPet.getFrameRateClient());
                 animationTimer.start();
             } catch (Exception e) {
                 System.out.println("Error starting animation timer: " + e.getMessage());
@@ -7295,32 +8172,34 @@ class EnemyWindow extends JWindow {
             
             // Follow pet but maintain some distance (don't get too close)
             if (distance > followDistance) {
-                // Move towards pet
-                int stepSize = 2 + random.nextInt(3); // Random step size for creepy movement
-                int dx = petLocation.x - currentLocation.x;
-                int dy = petLocation.y - currentLocation.y;
-                    
-                // Removed excessive follow logging to reduce spam
-                
-                // Normalize movement
-                if (Math.abs(dx) > stepSize) dx = dx > 0 ? stepSize : -stepSize;
-                if (Math.abs(dy) > stepSize) dy = dy > 0 ? stepSize : -stepSize;
+                // Move towards pet at a random speed for creepy movement
+                double speed = FOLLOW_MIN_SPEED_PX_PER_SEC + random.nextInt(3) * FOLLOW_SPEED_STEP_PX_PER_SEC;
                 
                 // Add some randomness to movement for creepy effect
-                int randomX = random.nextInt(3) - 1;
-                int randomY = random.nextInt(3) - 1;
-                dx += randomX;
-                dy += randomY;
+                double jitterX = (random.nextInt(3) - 1) * FOLLOW_JITTER_PX_PER_SEC;
+                double jitterY = (random.nextInt(3) - 1) * FOLLOW_JITTER_PX_PER_SEC;
+                
+                // Removed excessive follow logging to reduce spam
+                
+                // Simulate however much time really passed since the last tick
+                followMotion.sync(currentLocation);
+                followMotion.advance(System.nanoTime());
+                while (followMotion.nextStep()) {
+                    followMotion.moveToward(petLocation.x, petLocation.y, speed);
+                    followMotion.move(jitterX, jitterY);
+                }
+                Point newLocation = followMotion.getRenderPosition();
                 
                 // Update enemy direction based on position relative to pet
                 // If enemy is to the left of pet (dx > 0), enemy should face right
                 // If enemy is to the right of pet (dx < 0), enemy should face left
-                updateEnemyDirection(dx); // Pass the actual dx value, not inverted
+                updateEnemyDirection(petLocation.x - currentLocation.x); // Pass the actual dx value, not inverted
                 
                 // Validate new location before setting it
-                Point newLocation = new Point(currentLocation.x + dx, currentLocation.y + dy);
                 if (isValidLocation(newLocation)) {
                     setLocation(newLocation);
+                } else {
+                    followMotion.reset(currentLocation);
                 }
             } else {
                 // If too close, make pet shake and occasionally move away (stalking behavior)
@@ -7387,21 +8266,21 @@ class EnemyWindow extends JWindow {
     private void disappearAndReappear() {
         setVisible(false);
         
-        Timer reappearTimer = new Timer(1000 + random.nextInt(3000), e -> {
+        FrameTimer reappearTimer = new FrameTimer(1000 + random.nextInt(3000), e -> {
             // Reappear at a new location near the pet
             Point petLocation = targetPet.getLocation();
             int offsetX = random.nextInt(300) - 150;
             int offsetY = random.nextInt(300) - 150;
             setLocation(petLocation.x + offsetX, petLocation.y + offsetY);
             setVisible(true);
-            ((Timer) e.getSource()).stop();
+            ((FrameTimer) e.getSource()).stop();
         });
         reappearTimer.start();
     }
     
     private void startFlicker() {
         flickerCount = 0;
-        Timer flickerTimer = new Timer(200, new ActionListener() {
+        FrameTimer flickerTimer = new FrameTimer(200, new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
                 flickerCount++;
@@ -7409,7 +8288,7 @@ class EnemyWindow extends JWindow {
                 
                 if (flickerCount >= 6) {
                     setVisible(true);
-                    ((Timer) e.getSource()).stop();
+                    ((FrameTimer) e.getSource()).stop();
                 }
             }
         });
@@ -7427,9 +8306,9 @@ class EnemyWindow extends JWindow {
         Color originalBg = getBackground();
         setBackground(new Color(255, 0, 0, 100));
         
-        Timer flashTimer = new Timer(300, e -> {
+        FrameTimer flashTimer = new FrameTimer(300, e -> {
             setBackground(originalBg);
-            ((Timer) e.getSource()).stop();
+            ((FrameTimer) e.getSource()).stop();
         });
         flashTimer.start();
     }
@@ -7448,9 +8327,7 @@ class EnemyWindow extends JWindow {
             
             if (originalImage != null) {
                 try {
-                    Image scaledImage = originalImage.getImage().getScaledInstance(
-                        enemyWidth, enemyHeight, Image.SCALE_SMOOTH);
-                    currentEnemyImage = new ImageIcon(scaledImage);
+                    currentEnemyImage = ScaledImageCache.getScaled(originalImage, enemyWidth, enemyHeight);
                     enemyLabel.setIcon(getFlippedEnemyIcon(currentEnemyImage));
                 } catch (Exception e) {
                     System.out.println("Error scaling enemy image: " + e.getMessage());
@@ -7465,7 +8342,7 @@ class EnemyWindow extends JWindow {
             if (animationTimer != null) animationTimer.stop();
             
             // Create rapid animation effect
-            Timer rapidTimer = new Timer(80, new ActionListener() {
+            FrameTimer rapidTimer = new FrameTimer(80, new ActionListener() {
                 int rapidCount = 0;
                 
                 @Override
@@ -7477,9 +8354,7 @@ class EnemyWindow extends JWindow {
                     int frameIndex = rapidCount % enemyImages.size();
                         ImageIcon originalImage = enemyImages.get(frameIndex);
                         if (originalImage != null && originalImage.getImage() != null) {
-                            Image scaledImage = originalImage.getImage().getScaledInstance(
-                                enemyWidth, enemyHeight, Image.SCALE_SMOOTH);
-                            currentEnemyImage = new ImageIcon(scaledImage);
+                            currentEnemyImage = ScaledImageCache.getScaled(originalImage, enemyWidth, enemyHeight);
                             enemyLabel.setIcon(getFlippedEnemyIcon(currentEnemyImage));
                         }
                     } catch (Exception ex) {
@@ -7488,7 +8363,7 @@ class EnemyWindow extends JWindow {
                     
                     // Stop after 15 rapid cycles
                     if (rapidCount >= 15) {
-                        ((Timer) e.getSource()).stop();
+                        ((FrameTimer) e.getSource()).stop();
                         
                         // Resume normal animation after rapid effect
                         if (animationTimer != null) {
@@ -7681,9 +8556,7 @@ class EnemyWindow extends JWindow {
             // Scale the current enemy image to match the new independent size
             if (currentEnemyImage != null && currentEnemyImage.getImage() != null) {
                 try {
-                    Image scaledImage = currentEnemyImage.getImage().getScaledInstance(
-                        enemyWidth, enemyHeight, Image.SCALE_SMOOTH);
-                    currentEnemyImage = new ImageIcon(scaledImage);
+                    currentEnemyImage = ScaledImageCache.getScaled(currentEnemyImage, enemyWidth, enemyHeight);
                     enemyLabel.setIcon(getFlippedEnemyIcon(currentEnemyImage));
                 } catch (Exception e) {
                     System.out.println("Error scaling enemy image in update: " + e.getMessage());
@@ -7706,17 +8579,9 @@ class EnemyWindow extends JWindow {
             return original; // Return original if facing right or null
         }
         
-        // Flip the image horizontally for left-facing direction
+        // Left-facing sprites are mirrored once and reused from the flip cache
         try {
-            Image img = original.getImage();
-            BufferedImage flipped = new BufferedImage(img.getWidth(null), img.getHeight(null), BufferedImage.TYPE_INT_ARGB);
-            Graphics2D g2d = flipped.createGraphics();
-            
-            // Apply horizontal flip transformation
-            g2d.drawImage(img, img.getWidth(null), 0, -img.getWidth(null), img.getHeight(null), null);
-            g2d.dispose();
-            
-            return new ImageIcon(flipped);
+            return SpriteFlipCache.getFlipped(original);
         } catch (Exception e) {
             System.out.println("Error flipping enemy image: " + e.getMessage());
             return original;
@@ -7771,7 +8636,7 @@ class EnemyWindow extends JWindow {
     private boolean isEnemyPainActive = false;
     private int enemyPainCycleCount = 0;
     private static final int ENEMY_MAX_PAIN_CYCLES = 3;
-    private Timer enemyPainTimer;
+    private FrameTimer enemyPainTimer;
     
     // Enemy health system - track how many times enemy has been clicked
     private int enemyHealth = ENEMY_MAX_HEALTH; // Use current max health setting
@@ -7862,11 +8727,11 @@ class EnemyWindow extends JWindow {
             enemyPainTimer.stop();
         }
         
-        enemyPainTimer = new Timer(500, e -> { // 500ms per cycle
+        enemyPainTimer = new FrameTimer(500, e -> { // 500ms per cycle
             // Safety check - if pain is no longer active, stop the timer
             if (!isEnemyPainActive) {
                 System.out.println("ENEMY: Pain timer running but pain not active, stopping timer - ID: " + EnemyWindow.this.hashCode());
-                ((Timer) e.getSource()).stop();
+                ((FrameTimer) e.getSource()).stop();
                 return;
             }
             
@@ -7876,7 +8741,7 @@ class EnemyWindow extends JWindow {
             if (enemyPainCycleCount >= ENEMY_MAX_PAIN_CYCLES) {
                 // Pain mode ended, restart normal behavior
                 System.out.println("ENEMY: Pain completed, returning to normal - ID: " + EnemyWindow.this.hashCode());
-                ((Timer) e.getSource()).stop();
+                ((FrameTimer) e.getSource()).stop();
                 stopEnemyPainAnimation();
             }
         });
@@ -7914,7 +8779,7 @@ class EnemyWindow extends JWindow {
         ImageIcon originalImage = currentEnemyImage;
         
         // Create pain animation timer
-        Timer painAnimationTimer = new Timer(150, new ActionListener() {
+        FrameTimer painAnimationTimer = new FrameTimer(150, new ActionListener() {
             private int frameIndex = 0;
             private int cycleCount = 0;
             
@@ -7924,7 +8789,7 @@ class EnemyWindow extends JWindow {
                     // Pain ended, restore original image
                     currentEnemyImage = originalImage;
                     updateEnemySprite();
-                    ((Timer) e.getSource()).stop();
+                    ((FrameTimer) e.getSource()).stop();
                     return;
                 }
                 
@@ -7934,14 +8799,14 @@ class EnemyWindow extends JWindow {
                     AnimationFrame currentFrame = frames.get(frameIndex);
                     if (currentFrame != null) {
                         // Scale the pain frame to match current enemy size
-                        ImageIcon originalPainImage = currentFrame.getOriginalImage();
-                        if (originalPainImage != null && originalPainImage.getImage() != null) {
-                            Image scaledPainImage = originalPainImage.getImage().getScaledInstance(
-                                enemyWidth, enemyHeight, Image.SCALE_SMOOTH);
-                            currentEnemyImage = new ImageIcon(scaledPainImage);
-                        } else {
+                        // Cached per size, so the original is only decoded the first time
+                        BufferedImage painImage = currentFrame.getScaledImage(enemyWidth, enemyHeight);
+                        if (painImage == null) {
                             // Fallback to the scaled image if original is not available
-                            currentEnemyImage = currentFrame.getImage();
+                            painImage = currentFrame.getDisplayImage();
+                        }
+                        if (painImage != null) {
+                            currentEnemyImage = new ImageIcon(painImage);
                         }
                         updateEnemySprite();
                     }
@@ -7958,7 +8823,7 @@ class EnemyWindow extends JWindow {
                     if (cycleCount >= ENEMY_MAX_PAIN_CYCLES) {
                         currentEnemyImage = originalImage;
                         updateEnemySprite();
-                        ((Timer) e.getSource()).stop();
+                        ((FrameTimer) e.getSource()).stop();
                     }
                 }
             }
@@ -7976,7 +8841,7 @@ class EnemyWindow extends JWindow {
         repaint();
         
         // Create a pain effect timer that makes the enemy flicker or change appearance
-        Timer painVisualTimer = new Timer(200, new ActionListener() {
+        FrameTimer painVisualTimer = new FrameTimer(200, new ActionListener() {
             private int flickerCount = 0;
             private boolean isVisible = true;
             
@@ -7988,7 +8853,7 @@ class EnemyWindow extends JWindow {
                     enemyLabel.setOpaque(false);
                     enemyLabel.setBackground(null);
                     repaint();
-                    ((Timer) e.getSource()).stop();
+                    ((FrameTimer) e.getSource()).stop();
                     return;
                 }
                 
@@ -8004,7 +8869,7 @@ class EnemyWindow extends JWindow {
                     enemyLabel.setOpaque(false);
                     enemyLabel.setBackground(null);
                     repaint();
-                    ((Timer) e.getSource()).stop();
+                    ((FrameTimer) e.getSource()).stop();
                 }
             }
         });
@@ -8056,7 +8921,7 @@ class EnemyWindow extends JWindow {
     private void playFadeScaleDeathEffect() {
         System.out.println("ENEMY: Playing fade + scale death effect - ID: " + EnemyWindow.this.hashCode());
         
-        Timer fadeTimer = new Timer(50, new ActionListener() {
+        FrameTimer fadeTimer = new FrameTimer(50, new ActionListener() {
             private float alpha = 1.0f;
             private float scale = 1.0f;
             private int step = 0;
@@ -8083,7 +8948,7 @@ class EnemyWindow extends JWindow {
                 setLocation(centerX - newWidth / 2, centerY - newHeight / 2);
                 
                 if (step >= totalSteps) {
-                    ((Timer) e.getSource()).stop();
+                    ((FrameTimer) e.getSource()).stop();
                 }
             }
         });
@@ -8096,11 +8961,6 @@ class EnemyWindow extends JWindow {
     private void playParticleBurstDeathEffect() {
         System.out.println("ENEMY: Playing particle burst death effect - ID: " + EnemyWindow.this.hashCode());
         
-        // Create particle effect window
-        JWindow particleWindow = new JWindow();
-        particleWindow.setAlwaysOnTop(true);
-        particleWindow.setBackground(new Color(0, 0, 0, 0));
-        
         // Create particles list
         List<Particle> particles = new ArrayList<>();
         Random random = new Random();
@@ -8114,28 +8974,51 @@ class EnemyWindow extends JWindow {
             ));
         }
         
-        JPanel particlePanel = new JPanel() {
-            @Override
-            protected void paintComponent(Graphics g) {
-                super.paintComponent(g);
-                Graphics2D g2d = (Graphics2D) g;
-                g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        Rectangle burstBounds = new Rectangle(getLocation().x + enemyWidth / 2 - 50, getLocation().y + enemyHeight / 2 - 50, 100, 100);
+        Runnable repaintParticles;
+        Runnable closeParticles;
+        
+        if (isOverlayMode()) {
+            // Draw the burst into the shared overlay
+            OverlaySprite burst = new OverlaySprite() {
+                @Override
+                public Rectangle getOverlayBounds() { return burstBounds; }
                 
-                // Draw particles
-                for (Particle particle : particles) {
-                    g2d.setColor(particle.color);
-                    g2d.fillOval((int) particle.x, (int) particle.y, 4, 4);
+                @Override
+                public void paintOverlay(Graphics2D g2d) {
+                    paintParticles(g2d, particles);
                 }
-            }
-        };
-        
-        particleWindow.setContentPane(particlePanel);
-        particleWindow.setSize(100, 100);
-        particleWindow.setLocation(getLocation().x + enemyWidth / 2 - 50, getLocation().y + enemyHeight / 2 - 50);
-        particleWindow.setVisible(true);
+                
+                @Override
+                public Component getOverlayInputTarget() { return null; }
+            };
+            OverlayRenderer overlay = OverlayRenderer.getInstance();
+            overlay.add(burst);
+            repaintParticles = () -> overlay.spriteChanged(burst);
+            closeParticles = () -> overlay.remove(burst);
+        } else {
+            // Create particle effect window
+            JWindow particleWindow = new JWindow();
+            particleWindow.setAlwaysOnTop(true);
+            particleWindow.setBackground(new Color(0, 0, 0, 0));
+            
+            JPanel particlePanel = new JPanel() {
+                @Override
+                protected void paintComponent(Graphics g) {
+                    super.paintComponent(g);
+                    paintParticles((Graphics2D) g, particles);
+                }
+            };
+            
+            particleWindow.setContentPane(particlePanel);
+            particleWindow.setBounds(burstBounds);
+            particleWindow.setVisible(true);
+            repaintParticles = particlePanel::repaint;
+            closeParticles = particleWindow::dispose;
+        }
         
         // Animate particles
-        Timer particleTimer = new Timer(50, new ActionListener() {
+        FrameTimer particleTimer = new FrameTimer(50, new ActionListener() {
             private int frame = 0;
             private final int maxFrames = 30;
             
@@ -8156,11 +9039,11 @@ class EnemyWindow extends JWindow {
                     );
                 }
                 
-                particlePanel.repaint();
+                repaintParticles.run();
                 
                 if (frame >= maxFrames) {
-                    particleWindow.dispose();
-                    ((Timer) e.getSource()).stop();
+                    closeParticles.run();
+                    ((FrameTimer) e.getSource()).stop();
                 }
             }
         });
@@ -8183,6 +9066,16 @@ class EnemyWindow extends JWindow {
     /**
      * Simple particle class for burst effect
      */
+    private static void paintParticles(Graphics2D g2d, List<Particle> particles) {
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        
+        // Draw particles
+        for (Particle particle : particles) {
+            g2d.setColor(particle.color);
+            g2d.fillOval((int) particle.x, (int) particle.y, 4, 4);
+        }
+    }
+    
     private static class Particle {
         double x, y, vx, vy;
         Color color;
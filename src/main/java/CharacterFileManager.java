@@ -2,6 +2,7 @@
 // package pet;
 
 import javax.swing.*;
+import javax.imageio.ImageIO;
 import java.awt.Image;
 import java.awt.image.BufferedImage;
 import java.io.*;
@@ -25,19 +26,9 @@ public class CharacterFileManager {
             if (!animationDir.exists()) {
                 animationDir.mkdirs();
             }
-            int frameIndex = 0;
-            for (File imageFile : imageFiles) {
-                if (isValidImageFile(imageFile)) {
-                    String extension = getFileExtension(imageFile.getName());
-                    String targetFileName = String.format("%s_frame_%03d%s", animationType, frameIndex, extension);
-                    File targetFile = new File(animationDir, targetFileName);
-                    // Copy file
-                    copyFile(imageFile, targetFile);
-                    frameIndex++;
-                    System.out.println("Imported: " + imageFile.getName() + " -> " + targetFileName);
-                }
-            }
-            return frameIndex > 0; // Return true if at least one file was imported
+            // Validate and copy on the import pool instead of one file at a time
+            int imported = ImageImportPipeline.copyImages(imageFiles, animationDir, animationType);
+            return imported > 0; // Return true if at least one file was imported
         } catch (Exception e) {
             System.out.println("Error importing image files: " + e.getMessage());
             return false;
@@ -47,36 +38,33 @@ public class CharacterFileManager {
      * Load animation sequence from directory
      */
     public static AnimationSequence loadAnimationFromDirectory(File animationDir, String animationType, boolean loop) {
-        AnimationSequence sequence = new AnimationSequence(animationType, loop);
+        List<AnimationFrame> frames = new ArrayList<>();
         try {
             if (!animationDir.exists() || !animationDir.isDirectory()) {
-                return sequence;
+                return new AnimationSequence(animationType, loop);
             }
-            // Get all image files and sort them
-            File[] imageFiles = animationDir.listFiles((dir, name) -> {
-                String lowercaseName = name.toLowerCase();
-                for (String format : SUPPORTED_FORMATS) {
-                    if (lowercaseName.endsWith(format)) {
-                        return true;
-                    }
-                }
-                return false;
-            });
-            if (imageFiles != null) {
-                // Sort files by name to ensure correct frame order
-                java.util.Arrays.sort(imageFiles);
-                for (File imageFile : imageFiles) {
-                    ImageIcon image = loadAndScaleImagePreserveAspect(imageFile, 256); // Use larger max size
-                    if (image != null) {
-                        AnimationFrame frame = new AnimationFrame(image, imageFile.getAbsolutePath(), 150); // Default duration
-                        sequence.addFrame(frame);
-                    }
+            for (File imageFile : listImageFiles(animationDir)) {
+                BufferedImage image = loadAndScaleImagePreserveAspect(imageFile, 256); // Use larger max size
+                if (image != null) {
+                    AnimationFrame frame = new AnimationFrame(image, imageFile.getAbsolutePath(), 150); // Default duration
+                    frames.add(frame);
                 }
             }
         } catch (Exception e) {
             System.out.println("Error loading animation from directory: " + e.getMessage());
         }
-        return sequence;
+        return new AnimationSequence(animationType, loop, frames);
+    }
+    /**
+     * List the supported image files in a directory, sorted by name (frame order)
+     */
+    public static File[] listImageFiles(File directory) {
+        File[] imageFiles = directory.listFiles((dir, name) -> isSupportedFormat(name));
+        if (imageFiles == null) {
+            return new File[0];
+        }
+        java.util.Arrays.sort(imageFiles);
+        return imageFiles;
     }
     /**
      * Save character set metadata to file
@@ -139,9 +127,57 @@ public class CharacterFileManager {
             return false;
         }
         // Check file extension
-        String fileName = file.getName().toLowerCase();
+        return isSupportedFormat(file.getName());
+    }
+    /**
+     * Check the image header without decoding the pixels
+     */
+    public static boolean hasReadableImageHeader(File file) {
+        try (javax.imageio.stream.ImageInputStream input = ImageIO.createImageInputStream(file)) {
+            Iterator<javax.imageio.ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+            if (readers == null || !readers.hasNext()) {
+                return false;
+            }
+            javax.imageio.ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                return reader.getWidth(0) > 0 && reader.getHeight(0) > 0;
+            } finally {
+                reader.dispose();
+            }
+        } catch (Exception e) {
+            return false;
+        }
+    }
+    /**
+     * Decode an image file with ImageIO, bypassing the Toolkit's by-name image cache
+     */
+    public static BufferedImage readImage(File file) {
+        try {
+            return file.isFile() ? ImageIO.read(file) : null;
+        } catch (Exception e) {
+            System.out.println("Error reading image " + file.getName() + ": " + e.getMessage());
+            return null;
+        }
+    }
+    /**
+     * Decode an image resource with ImageIO
+     */
+    public static BufferedImage readImage(java.net.URL resource) {
+        try {
+            return ImageIO.read(resource);
+        } catch (Exception e) {
+            System.out.println("Error reading image " + resource + ": " + e.getMessage());
+            return null;
+        }
+    }
+    /**
+     * Check whether a file name has a supported image extension
+     */
+    public static boolean isSupportedFormat(String fileName) {
+        String lowercaseName = fileName.toLowerCase();
         for (String format : SUPPORTED_FORMATS) {
-            if (fileName.endsWith(format)) {
+            if (lowercaseName.endsWith(format)) {
                 return true;
             }
         }
@@ -167,12 +203,23 @@ public class CharacterFileManager {
     /**
      * Load and scale image to specified dimensions
      */
-    public static ImageIcon loadAndScaleImage(File imageFile, int width, int height) {
+    public static BufferedImage loadAndScaleImage(File imageFile, int width, int height) {
         try {
-            ImageIcon originalIcon = new ImageIcon(imageFile.getAbsolutePath());
-            if (originalIcon.getImage() != null) {
-                Image scaledImage = originalIcon.getImage().getScaledInstance(width, height, Image.SCALE_SMOOTH);
-                return new ImageIcon(scaledImage);
+            byte[] sourceBytes = java.nio.file.Files.readAllBytes(imageFile.toPath());
+            String cacheKey = DecodedFrameCache.keyFor(sourceBytes, "exact", width, height);
+            BufferedImage stored = FrameStore.lookup(cacheKey);
+            if (stored != null) {
+                return stored;
+            }
+            BufferedImage cached = DecodedFrameCache.get(cacheKey);
+            if (cached != null) {
+                return FrameStore.intern(CompatibleImages.toCompatible(cached), cacheKey);
+            }
+            BufferedImage original = ImageIO.read(new ByteArrayInputStream(sourceBytes));
+            if (original != null) {
+                BufferedImage scaled = ScaledImageCache.scale(original, width, height);
+                DecodedFrameCache.put(cacheKey, scaled);
+                return FrameStore.intern(scaled, cacheKey);
             }
         } catch (Exception e) {
             System.out.println("Error loading image: " + imageFile.getName() + " - " + e.getMessage());
@@ -182,16 +229,32 @@ public class CharacterFileManager {
     /**
      * Load image with preserved aspect ratio, targeting a specific maximum size
      */
-    public static ImageIcon loadAndScaleImagePreserveAspect(File imageFile, int maxSize) {
+    public static BufferedImage loadAndScaleImagePreserveAspect(File imageFile, int maxSize) {
         try {
-            ImageIcon originalIcon = new ImageIcon(imageFile.getAbsolutePath());
-            if (originalIcon.getImage() != null) {
-                int originalWidth = originalIcon.getIconWidth();
-                int originalHeight = originalIcon.getIconHeight();
+            // Warm starts take the decoded, scaled pixels from the disk cache
+            byte[] sourceBytes = java.nio.file.Files.readAllBytes(imageFile.toPath());
+            String cacheKey = DecodedFrameCache.keyFor(sourceBytes, "aspect", maxSize);
+            // Identical frames already decoded elsewhere are shared, not decoded again
+            BufferedImage stored = FrameStore.lookup(cacheKey);
+            if (stored != null) {
+                return stored;
+            }
+            BufferedImage cached = DecodedFrameCache.get(cacheKey);
+            if (cached != null) {
+                return FrameStore.intern(CompatibleImages.toCompatible(cached), cacheKey);
+            }
+            // ImageIO decodes on the calling thread, so loader threads can run in parallel
+            BufferedImage original = ImageIO.read(new ByteArrayInputStream(sourceBytes));
+            if (original != null) {
+                int originalWidth = original.getWidth();
+                int originalHeight = original.getHeight();
                 // If original image is reasonable size, use it directly (more generous range)
                 if (originalWidth <= maxSize && originalHeight <= maxSize && 
                     originalWidth >= maxSize/4 && originalHeight >= maxSize/4) {
-                    return originalIcon;
+                    // Copy into the display's native format once so draws don't convert
+                    BufferedImage compatible = CompatibleImages.toCompatible(original);
+                    DecodedFrameCache.put(cacheKey, compatible);
+                    return FrameStore.intern(compatible, cacheKey);
                 }
                 // Calculate new dimensions preserving aspect ratio
                 double aspectRatio = (double) originalWidth / originalHeight;
@@ -203,8 +266,9 @@ public class CharacterFileManager {
                     newHeight = maxSize;
                     newWidth = (int) (maxSize * aspectRatio);
                 }
-                Image scaledImage = originalIcon.getImage().getScaledInstance(newWidth, newHeight, Image.SCALE_SMOOTH);
-                return new ImageIcon(scaledImage);
+                BufferedImage scaled = ScaledImageCache.scale(original, newWidth, newHeight);
+                DecodedFrameCache.put(cacheKey, scaled);
+                return FrameStore.intern(scaled, cacheKey);
             }
         } catch (Exception e) {
             System.out.println("Error loading image: " + imageFile.getName() + " - " + e.getMessage());
@@ -0,0 +1,289 @@
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Pre-decoded frames of one character set, stored next to its animation folders.
+ *
+ * PNG decoding dominates load time, so after a set has been decoded once its
+ * display-ready pixels are written to frames.pack: a header, then for every
+ * frame its source file name, size, duration and pixel hash, then the raw
+ * premultiplied ARGB pixels. Identical frames share one pixel run. Later
+ * loads stream the header and read each distinct run with positional
+ * FileChannel reads straight into an image raster, interned in the
+ * FrameStore, so the whole file is never held in memory. Packs are not
+ * memory-mapped: a mapping keeps the file open until it is garbage
+ * collected, and on Windows that blocks replacing a stale pack.
+ *
+ * A pack is only used while it is fresh: it must list exactly the image files
+ * currently in the animation folders and be newer than all of them. Any
+ * added, removed or edited frame makes it stale and it is rewritten on the
+ * next load. Packs can be turned off with -Dpet.characterPacks=false.
+ */
+public class CharacterPack {
+    public static final String FILE_NAME = "frames.pack";
+    private static final int MAGIC = 0x50455450; // "PETP"
+    private static final int VERSION = 2;
+    private static final String[] ANIMATIONS = {"idle", "walking", "special", "pain"};
+    private static final int READ_CHUNK_BYTES = 64 * 1024;
+
+    public static boolean isEnabled() {
+        return !"false".equalsIgnoreCase(System.getProperty("pet.characterPacks"));
+    }
+
+    public static File getPackFile(File setDir) {
+        return new File(setDir, FILE_NAME);
+    }
+
+    /**
+     * Check whether the pack matches the current source frames
+     */
+    public static boolean isFresh(File setDir) {
+        File packFile = getPackFile(setDir);
+        if (!packFile.isFile()) {
+            return false;
+        }
+        long packTime = packFile.lastModified();
+        List<String> sourceNames = new ArrayList<>();
+        for (String animation : ANIMATIONS) {
+            for (File imageFile : CharacterFileManager.listImageFiles(new File(setDir, animation))) {
+                if (imageFile.lastModified() > packTime) {
+                    return false;
+                }
+                sourceNames.add(animation + "/" + imageFile.getName());
+            }
+        }
+        try {
+            return sourceNames.equals(readSourceNames(packFile));
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Read a fresh pack into a character set, or null if it can't be used
+     */
+    public static CharacterSet read(File setDir, String name) {
+        File packFile = getPackFile(setDir);
+        try (FileInputStream file = new FileInputStream(packFile);
+             FileChannel channel = file.getChannel();
+             DataInputStream in = new DataInputStream(new BufferedInputStream(file))) {
+            readHeader(in);
+            ByteBuffer chunk = ByteBuffer.allocate(READ_CHUNK_BYTES);
+
+            CharacterSet characterSet = new CharacterSet(name, setDir.getAbsolutePath() + "/");
+            int animationCount = in.readInt();
+            for (int a = 0; a < animationCount; a++) {
+                String animation = readString(in);
+                int frameCount = in.readInt();
+                List<AnimationFrame> sequenceFrames = new ArrayList<>();
+                for (int f = 0; f < frameCount; f++) {
+                    String sourceName = readString(in);
+                    int width = in.readInt();
+                    int height = in.readInt();
+                    int duration = in.readInt();
+                    String hash = readString(in);
+                    long offset = in.readLong();
+
+                    // Runs already in memory (from this set or another) are not read again
+                    BufferedImage frameImage = FrameStore.intern(hash, () -> {
+                        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+                        try {
+                            readRun(channel, offset, ((DataBufferInt) image.getRaster().getDataBuffer()).getData(), chunk);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        return CompatibleImages.toCompatible(image);
+                    });
+
+                    String imagePath = new File(setDir, sourceName).getAbsolutePath();
+                    sequenceFrames.add(new AnimationFrame(frameImage, imagePath, duration));
+                }
+                characterSet.setFrames(animation, sequenceFrames); // Unknown animations are ignored
+            }
+            return characterSet;
+        } catch (Exception e) {
+            System.out.println("Error reading character pack " + packFile.getAbsolutePath() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Write the decoded frames of a set to its pack. Sets without frames get no pack.
+     */
+    public static boolean write(File setDir, CharacterSet characterSet) {
+        List<String> names = new ArrayList<>();
+        List<AnimationFrame> frames = new ArrayList<>();
+        List<int[]> counts = new ArrayList<>();
+        for (String animation : ANIMATIONS) {
+            List<AnimationFrame> sequence = characterSet.getAnimationByName(animation).getFrames();
+            counts.add(new int[] {sequence.size()});
+            for (AnimationFrame frame : sequence) {
+                names.add(animation + "/" + new File(frame.getImagePath()).getName());
+                frames.add(frame);
+            }
+        }
+        if (frames.isEmpty()) {
+            return false;
+        }
+
+        File packFile = getPackFile(setDir);
+        File tempFile = new File(setDir, FILE_NAME + ".tmp");
+        try {
+            // Header first, so pixel offsets can be computed from its size
+            List<int[]> pixelRuns = new ArrayList<>();
+            List<int[]> sizes = new ArrayList<>();
+            List<String> hashes = new ArrayList<>();
+            Set<String> written = new HashSet<>();
+            for (AnimationFrame frame : frames) {
+                BufferedImage pixels = CompatibleImages.toPremultiplied(frame.getImage());
+                String hash = FrameStore.pixelHash(pixels);
+                sizes.add(new int[] {pixels.getWidth(), pixels.getHeight()});
+                hashes.add(hash);
+                if (written.add(hash)) {
+                    pixelRuns.add(((DataBufferInt) pixels.getRaster().getDataBuffer()).getData());
+                } else {
+                    FrameStore.recordPackBytesSaved((long) pixels.getWidth() * pixels.getHeight() * 4);
+                }
+            }
+            byte[] header = buildHeader(names, frames, counts, sizes, hashes, 0);
+            header = buildHeader(names, frames, counts, sizes, hashes, header.length);
+
+            try (RandomAccessFile file = new RandomAccessFile(tempFile, "rw");
+                 FileChannel channel = file.getChannel()) {
+                channel.truncate(0);
+                channel.write(ByteBuffer.wrap(header));
+                for (int[] run : pixelRuns) {
+                    ByteBuffer bytes = ByteBuffer.allocate(run.length * 4);
+                    bytes.asIntBuffer().put(run);
+                    while (bytes.hasRemaining()) {
+                        channel.write(bytes);
+                    }
+                }
+            }
+            Files.move(tempFile.toPath(), packFile.toPath(),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (Exception e) {
+            System.out.println("Error writing character pack for " + characterSet.getName() + ": " + e.getMessage());
+            tempFile.delete();
+            return false;
+        }
+    }
+
+    private static byte[] buildHeader(List<String> names, List<AnimationFrame> frames, List<int[]> counts,
+                                      List<int[]> sizes, List<String> hashes, int headerLength) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(names.size());
+        for (String sourceName : names) {
+            writeString(out, sourceName);
+        }
+
+        out.writeInt(ANIMATIONS.length);
+        long offset = headerLength;
+        Map<String, Long> offsets = new HashMap<>();
+        int index = 0;
+        for (int a = 0; a < ANIMATIONS.length; a++) {
+            writeString(out, ANIMATIONS[a]);
+            out.writeInt(counts.get(a)[0]);
+            for (int f = 0; f < counts.get(a)[0]; f++, index++) {
+                int[] size = sizes.get(index);
+                writeString(out, names.get(index));
+                out.writeInt(size[0]);
+                out.writeInt(size[1]);
+                out.writeInt(frames.get(index).getDuration());
+                writeString(out, hashes.get(index));
+                Long shared = offsets.get(hashes.get(index));
+                if (shared != null) {
+                    out.writeLong(shared); // Same pixels as an earlier frame
+                } else {
+                    offsets.put(hashes.get(index), offset);
+                    out.writeLong(offset);
+                    offset += (long) size[0] * size[1] * 4;
+                }
+            }
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Source file list stored in the header, used for the freshness check
+     */
+    private static List<String> readSourceNames(File packFile) throws IOException {
+        // Only the header is needed, so the pixel runs are never read
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(packFile)))) {
+            return readHeader(in);
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupt character pack", e);
+        }
+    }
+
+    private static List<String> readHeader(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+            throw new IOException("Not a character pack");
+        }
+        int count = in.readInt();
+        List<String> names = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            names.add(readString(in));
+        }
+        return names;
+    }
+
+    /**
+     * Fill a raster's pixels from the run at offset, a chunk at a time
+     */
+    private static void readRun(FileChannel channel, long offset, int[] pixels, ByteBuffer chunk) throws IOException {
+        long position = offset;
+        int filled = 0;
+        while (filled < pixels.length) {
+            chunk.clear().limit((int) Math.min(chunk.capacity(), (long) (pixels.length - filled) * 4));
+            while (chunk.hasRemaining()) {
+                int read = channel.read(chunk, position);
+                if (read < 0) {
+                    throw new IOException("Character pack was truncated while reading");
+                }
+                position += read;
+            }
+            chunk.flip();
+            int count = chunk.remaining() / 4;
+            chunk.asIntBuffer().get(pixels, filled, count);
+            filled += count;
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readUnsignedShort()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,471 @@
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Exports a character set to a ZIP archive and imports one back.
+ *
+ * Export reads and deflates the frame files on a small pool while the
+ * archive is written in order, with only a bounded window of entries in
+ * memory at once. Entries that don't shrink (most PNGs) are stored instead
+ * of deflated. ZipOutputStream can't take pre-compressed data, so the
+ * archive is written directly: local headers, data, then the central
+ * directory.
+ *
+ * Import streams each entry into a staging directory next to the set
+ * folders, checks names, sizes and image headers as it goes, and moves the
+ * finished set into place in one rename so the folder watcher only ever
+ * sees a complete set. An archive with more than MAX_ENTRIES entries, or
+ * whose files unpack to more than MAX_ARCHIVE_BYTES, is rejected.
+ *
+ * Both directions stop between entries once the listener reports the user
+ * canceled, throwing InterruptedIOException and leaving nothing behind.
+ */
+public class CharacterSetArchive {
+    private static final String[] ANIMATIONS = {"idle", "walking", "special", "pain"};
+    private static final String METADATA_FILE = "metadata.properties";
+    private static final long MAX_ENTRY_BYTES = 10L * 1024 * 1024; // Same limit as CharacterFileManager
+    static final int MAX_ENTRIES = 4096;
+    static final long MAX_ARCHIVE_BYTES = 512L * 1024 * 1024;
+    private static final int WORKERS = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+    private static final int WINDOW = WORKERS * 2;
+
+    /**
+     * Receives progress from the worker thread (not the EDT)
+     */
+    public interface ProgressListener {
+        void progress(long done, long total);
+
+        /**
+         * Checked between entries; true stops the export or import
+         */
+        default boolean isCanceled() {
+            return false;
+        }
+    }
+
+    /**
+     * Outcome of an import
+     */
+    public static final class ImportResult {
+        public final File setDir;
+        public final int importedFiles;
+        public final List<String> skippedEntries;
+
+        ImportResult(File setDir, int importedFiles, List<String> skippedEntries) {
+            this.setDir = setDir;
+            this.importedFiles = importedFiles;
+            this.skippedEntries = skippedEntries;
+        }
+    }
+
+    /**
+     * One entry after compression, waiting to be written
+     */
+    private static final class PreparedEntry {
+        String name;
+        byte[] data;
+        int method;
+        long crc;
+        long size;
+        int dosTime;
+    }
+
+    /**
+     * Write a set's metadata and frames to a ZIP file. Entries are stored
+     * under the set's name so the archive unpacks into its own folder.
+     */
+    public static int exportSet(File setDir, File zipFile, ProgressListener listener) throws IOException {
+        String setName = setDir.getName();
+        List<File> files = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        File metadata = new File(setDir, METADATA_FILE);
+        if (metadata.isFile()) {
+            files.add(metadata);
+            names.add(setName + "/" + METADATA_FILE);
+        }
+        for (String animation : ANIMATIONS) {
+            for (File imageFile : CharacterFileManager.listImageFiles(new File(setDir, animation))) {
+                files.add(imageFile);
+                names.add(setName + "/" + animation + "/" + imageFile.getName());
+            }
+        }
+        if (files.size() > 0xFFFF) {
+            throw new IOException("Too many files for a ZIP archive: " + files.size());
+        }
+
+        ExecutorService workers = Executors.newFixedThreadPool(WORKERS, runnable -> {
+            Thread thread = new Thread(runnable, "character-export");
+            thread.setDaemon(true);
+            return thread;
+        });
+        File tempFile = new File(zipFile.getAbsoluteFile().getParentFile(), zipFile.getName() + ".tmp");
+        try (CountingOutputStream out = new CountingOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(tempFile.toPath()), 64 * 1024))) {
+            ByteArrayOutputStream central = new ByteArrayOutputStream();
+            Deque<Future<PreparedEntry>> window = new ArrayDeque<>();
+            int next = 0;
+            int written = 0;
+            while (written < files.size()) {
+                // Keep a bounded number of entries compressing ahead of the writer
+                while (next < files.size() && window.size() < WINDOW) {
+                    File file = files.get(next);
+                    String name = names.get(next);
+                    window.add(workers.submit(() -> prepare(file, name)));
+                    next++;
+                }
+                checkCanceled(listener, "Export canceled");
+                PreparedEntry entry = await(window.poll());
+                long offset = out.count;
+                writeLocalHeader(out, entry);
+                out.write(entry.data);
+                writeCentralHeader(central, entry, offset);
+                written++;
+                if (listener != null) {
+                    listener.progress(written, files.size());
+                }
+            }
+            long centralOffset = out.count;
+            central.writeTo(out);
+            writeEndOfCentralDirectory(out, files.size(), central.size(), centralOffset);
+        } catch (IOException e) {
+            tempFile.delete();
+            throw e;
+        } finally {
+            workers.shutdownNow();
+        }
+        Files.move(tempFile.toPath(), zipFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        return files.size();
+    }
+
+    private static void checkCanceled(ProgressListener listener, String message) throws InterruptedIOException {
+        if (listener != null && listener.isCanceled()) {
+            throw new InterruptedIOException(message);
+        }
+    }
+
+    private static PreparedEntry await(Future<PreparedEntry> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Export interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+        }
+    }
+
+    /**
+     * Read and compress one file; keep it stored if deflating doesn't help
+     */
+    private static PreparedEntry prepare(File file, String name) throws IOException {
+        byte[] raw = Files.readAllBytes(file.toPath());
+        PreparedEntry entry = new PreparedEntry();
+        entry.name = name;
+        entry.size = raw.length;
+        entry.dosTime = toDosTime(file.lastModified());
+        CRC32 crc = new CRC32();
+        crc.update(raw);
+        entry.crc = crc.getValue();
+
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(raw.length / 2 + 64);
+            byte[] buffer = new byte[16 * 1024];
+            while (!deflater.finished() && compressed.size() < raw.length) {
+                int length = deflater.deflate(buffer);
+                compressed.write(buffer, 0, length);
+            }
+            if (deflater.finished() && compressed.size() < raw.length) {
+                entry.data = compressed.toByteArray();
+                entry.method = ZipEntry.DEFLATED;
+            } else {
+                entry.data = raw;
+                entry.method = ZipEntry.STORED;
+            }
+        } finally {
+            deflater.end();
+        }
+        return entry;
+    }
+
+    /**
+     * Unpack an archive into a new set folder under baseDir. The set takes the
+     * archive's top-level folder name, with a numeric suffix if that name is taken.
+     */
+    public static ImportResult importSet(File zipFile, File baseDir, ProgressListener listener) throws IOException {
+        return importSet(zipFile, baseDir, listener, MAX_ENTRIES, MAX_ARCHIVE_BYTES);
+    }
+
+    static ImportResult importSet(File zipFile, File baseDir, ProgressListener listener,
+                                  int maxEntries, long maxTotalBytes) throws IOException {
+        Files.createDirectories(baseDir.toPath());
+        // Stage next to the watched folder (same file system, so the final move is a rename)
+        File stagingParent = baseDir.getAbsoluteFile().getParentFile();
+        Path staging = Files.createTempDirectory(stagingParent.toPath(), ".import-");
+        List<String> skipped = new ArrayList<>();
+        String setName = null;
+        int imported = 0;
+        int entries = 0;
+        long unpackedBytes = 0;
+        long total = zipFile.length();
+
+        try (CountingInputStream counted = new CountingInputStream(new FileInputStream(zipFile));
+             ZipInputStream zip = new ZipInputStream(counted, StandardCharsets.UTF_8)) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                checkCanceled(listener, "Import canceled");
+                if (++entries > maxEntries) {
+                    throw new IOException("Archive has more than " + maxEntries + " entries");
+                }
+                if (entry.isDirectory()) {
+                    continue;
+                }
+                String[] parts = entry.getName().replace('\\', '/').split("/");
+                String relative = validateEntryName(parts);
+                if (relative == null || (setName != null && !setName.equals(parts[0]))) {
+                    skipped.add(entry.getName());
+                    continue;
+                }
+                setName = parts[0];
+
+                File target = new File(staging.toFile(), relative);
+                Files.createDirectories(target.getParentFile().toPath());
+                long remaining = maxTotalBytes - unpackedBytes;
+                long copied = copyLimited(zip, target, Math.min(MAX_ENTRY_BYTES, remaining));
+                if (copied < 0 && remaining <= MAX_ENTRY_BYTES) {
+                    throw new IOException("Archive unpacks to more than " + maxTotalBytes + " bytes");
+                }
+                unpackedBytes += Math.max(0, copied);
+                if (copied < 0 || (!relative.equals(METADATA_FILE) && !CharacterFileManager.hasReadableImageHeader(target))) {
+                    target.delete();
+                    skipped.add(entry.getName());
+                } else {
+                    imported++;
+                }
+                if (listener != null) {
+                    listener.progress(Math.min(counted.count, total), total);
+                }
+            }
+
+            if (setName == null || imported == 0) {
+                throw new IOException("Archive contains no character set files");
+            }
+            for (String animation : ANIMATIONS) {
+                Files.createDirectories(staging.resolve(animation)); // Same layout as a saved set
+            }
+            File setDir = uniqueSetDir(baseDir, setName);
+            Files.move(staging, setDir.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            return new ImportResult(setDir, imported, skipped);
+        } finally {
+            if (Files.exists(staging)) {
+                deleteRecursively(staging);
+            }
+        }
+    }
+
+    /**
+     * Accept only "set/metadata.properties" and "set/animation/frame.ext"
+     */
+    private static String validateEntryName(String[] parts) {
+        for (String part : parts) {
+            if (part.isEmpty() || part.equals(".") || part.equals("..")) {
+                return null;
+            }
+        }
+        if (parts.length == 2 && parts[1].equals(METADATA_FILE)) {
+            return METADATA_FILE;
+        }
+        if (parts.length == 3 && CharacterFileManager.isSupportedFormat(parts[2])) {
+            for (String animation : ANIMATIONS) {
+                if (animation.equals(parts[1])) {
+                    return animation + "/" + parts[2];
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Stream an entry to disk; the bytes copied, or -1 once it passes the limit
+     */
+    private static long copyLimited(InputStream in, File target, long limit) throws IOException {
+        long copied = 0;
+        byte[] buffer = new byte[16 * 1024];
+        try (OutputStream out = Files.newOutputStream(target.toPath())) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                copied += read;
+                if (copied > limit) {
+                    return -1;
+                }
+                out.write(buffer, 0, read);
+            }
+        }
+        return copied;
+    }
+
+    private static File uniqueSetDir(File baseDir, String setName) {
+        File candidate = new File(baseDir, setName);
+        for (int suffix = 2; candidate.exists(); suffix++) {
+            candidate = new File(baseDir, setName + "_" + suffix);
+        }
+        return candidate;
+    }
+
+    private static void deleteRecursively(Path root) throws IOException {
+        try (var paths = Files.walk(root)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    private static void writeLocalHeader(OutputStream out, PreparedEntry entry) throws IOException {
+        byte[] name = entry.name.getBytes(StandardCharsets.UTF_8);
+        writeInt(out, 0x04034b50);
+        writeShort(out, 20);             // Version needed
+        writeShort(out, 0x0800);         // UTF-8 names
+        writeShort(out, entry.method);
+        writeInt(out, entry.dosTime);
+        writeInt(out, (int) entry.crc);
+        writeInt(out, entry.data.length);
+        writeInt(out, (int) entry.size);
+        writeShort(out, name.length);
+        writeShort(out, 0);              // Extra field length
+        out.write(name);
+    }
+
+    private static void writeCentralHeader(OutputStream out, PreparedEntry entry, long offset) throws IOException {
+        byte[] name = entry.name.getBytes(StandardCharsets.UTF_8);
+        writeInt(out, 0x02014b50);
+        writeShort(out, 20);             // Version made by
+        writeShort(out, 20);             // Version needed
+        writeShort(out, 0x0800);
+        writeShort(out, entry.method);
+        writeInt(out, entry.dosTime);
+        writeInt(out, (int) entry.crc);
+        writeInt(out, entry.data.length);
+        writeInt(out, (int) entry.size);
+        writeShort(out, name.length);
+        writeShort(out, 0);              // Extra
+        writeShort(out, 0);              // Comment
+        writeShort(out, 0);              // Disk number
+        writeShort(out, 0);              // Internal attributes
+        writeInt(out, 0);                // External attributes
+        writeInt(out, (int) offset);
+        out.write(name);
+    }
+
+    private static void writeEndOfCentralDirectory(OutputStream out, int count, long size, long offset) throws IOException {
+        if (offset > 0xFFFFFFFFL) {
+            throw new IOException("Archive larger than 4 GB");
+        }
+        writeInt(out, 0x06054b50);
+        writeShort(out, 0);
+        writeShort(out, 0);
+        writeShort(out, count);
+        writeShort(out, count);
+        writeInt(out, (int) size);
+        writeInt(out, (int) offset);
+        writeShort(out, 0);
+    }
+
+    private static int toDosTime(long millis) {
+        LocalDateTime time = LocalDateTime.ofInstant(java.time.Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+        if (time.getYear() < 1980) {
+            time = LocalDateTime.of(1980, 1, 1, 0, 0);
+        }
+        return (time.getYear() - 1980) << 25 | time.getMonthValue() << 21 | time.getDayOfMonth() << 16
+            | time.getHour() << 11 | time.getMinute() << 5 | time.getSecond() >> 1;
+    }
+
+    private static void writeShort(OutputStream out, int value) throws IOException {
+        out.write(value & 0xFF);
+        out.write((value >>> 8) & 0xFF);
+    }
+
+    private static void writeInt(OutputStream out, int value) throws IOException {
+        writeShort(out, value & 0xFFFF);
+        writeShort(out, (value >>> 16) & 0xFFFF);
+    }
+
+    private static final class CountingOutputStream extends java.io.FilterOutputStream {
+        long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+        long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b != -1) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = in.read(b, off, len);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = in.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
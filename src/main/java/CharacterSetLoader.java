@@ -0,0 +1,227 @@
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loads character set directories on a small shared thread pool.
+ *
+ * At startup only stubs are read (metadata, frame counts and previews from
+ * the ThumbnailIndex). When a set is actually needed, every frame file
+ * becomes its own decode task (ImageIO, then conversion to the display
+ * format), so the set decodes on all cores instead of one frame at a time.
+ * The CharacterSet objects themselves are assembled by whoever waits on the
+ * result, never by pool threads.
+ */
+class CharacterSetLoader {
+    private static final String[] ANIMATIONS = {"idle", "walking", "special", "pain"};
+    private static final int POOL_SIZE = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+    private static final AtomicInteger threadCount = new AtomicInteger();
+
+    private static final ExecutorService pool = Executors.newFixedThreadPool(POOL_SIZE, runnable -> {
+        Thread thread = new Thread(runnable, "character-loader-" + threadCount.incrementAndGet());
+        thread.setDaemon(true);
+        thread.setPriority(Thread.NORM_PRIORITY - 1); // Stay behind the EDT
+        return thread;
+    });
+
+    // Waits on frame decodes for background loads, so pool threads never block on each other
+    private static final ExecutorService completer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "character-loader-complete");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * A set whose frames are queued or being decoded
+     */
+    static final class PendingSet {
+        final File setDir;
+        final String name;
+        final Map<String, List<Future<AnimationFrame>>> frames = new LinkedHashMap<>();
+
+        PendingSet(File setDir, String name) {
+            this.setDir = setDir;
+            this.name = name;
+        }
+
+        /**
+         * Wait for every frame and build the set. Frames that failed to decode are skipped.
+         */
+        CharacterSet await() {
+            CharacterSet characterSet = createWithMetadata(setDir, name);
+            for (Map.Entry<String, List<Future<AnimationFrame>>> entry : frames.entrySet()) {
+                List<AnimationFrame> decoded = new ArrayList<>();
+                for (Future<AnimationFrame> future : entry.getValue()) {
+                    try {
+                        AnimationFrame frame = future.get();
+                        if (frame != null) {
+                            decoded.add(frame);
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return characterSet;
+                    } catch (ExecutionException e) {
+                        System.out.println("Error decoding frame in " + name + ": " + e.getCause().getMessage());
+                    }
+                }
+                characterSet.setFrames(entry.getKey(), decoded);
+            }
+            return characterSet;
+        }
+    }
+
+    /**
+     * Queue all frames of one set for decoding
+     */
+    static PendingSet submit(File setDir, String name) {
+        PendingSet pending = new PendingSet(setDir, name);
+        for (String animation : ANIMATIONS) {
+            File animationDir = new File(setDir, animation);
+            if (!animationDir.isDirectory()) {
+                continue;
+            }
+            List<Future<AnimationFrame>> futures = new ArrayList<>();
+            for (File imageFile : CharacterFileManager.listImageFiles(animationDir)) {
+                futures.add(pool.submit(() -> decodeFrame(imageFile)));
+            }
+            pending.frames.put(animation, futures);
+        }
+        return pending;
+    }
+
+    /**
+     * Load one set and wait for it. A fresh frames.pack is used instead of the
+     * PNGs when there is one; otherwise the PNGs are decoded and the pack is
+     * rewritten for next time.
+     */
+    static CharacterSet load(File setDir, String name) {
+        if (CharacterPack.isEnabled() && CharacterPack.isFresh(setDir)) {
+            CharacterSet packed = CharacterPack.read(setDir, name);
+            if (packed != null) {
+                Map<String, String> metadata = CharacterFileManager.loadCharacterSetMetadata(setDir);
+                packed.setDescription(metadata.getOrDefault("description", ""));
+                packed.setAuthorName(metadata.getOrDefault("author", ""));
+                return packed;
+            }
+        }
+        CharacterSet decoded = submit(setDir, name).await();
+        if (CharacterPack.isEnabled() && !Thread.currentThread().isInterrupted()) {
+            CharacterPack.write(setDir, decoded);
+        }
+        return decoded;
+    }
+
+    /**
+     * Load one set in the background
+     */
+    static CompletableFuture<CharacterSet> loadAsync(File setDir, String name) {
+        return CompletableFuture.supplyAsync(() -> load(setDir, name), completer);
+    }
+
+    /**
+     * Read a set without decoding its frames: metadata, frame counts and its
+     * previews from the thumbnail index
+     */
+    static CharacterSet loadStub(File setDir, String name) {
+        CharacterSet characterSet = createWithMetadata(setDir, name);
+        Map<String, Integer> frameCounts = new HashMap<>();
+        for (String animation : ANIMATIONS) {
+            frameCounts.put(animation, CharacterFileManager.listImageFiles(new File(setDir, animation)).length);
+        }
+        characterSet.markUnloaded(frameCounts);
+        characterSet.setThumbnails(ThumbnailIndex.get(setDir));
+        return characterSet;
+    }
+
+    /**
+     * Read stubs for several sets, thumbnails decoded on the pool
+     */
+    static List<CharacterSet> loadStubs(List<File> setDirs) {
+        List<Future<CharacterSet>> futures = new ArrayList<>();
+        for (File setDir : setDirs) {
+            futures.add(pool.submit(() -> loadStub(setDir, setDir.getName())));
+        }
+        List<CharacterSet> stubs = new ArrayList<>();
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                stubs.add(futures.get(i).get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                System.out.println("Error reading character set " + setDirs.get(i).getName() + ": " + e.getCause().getMessage());
+            }
+        }
+        return stubs;
+    }
+
+    /**
+     * Decode individual frame files in parallel, keyed by absolute path.
+     * Files that fail to decode are left out.
+     */
+    static Map<String, AnimationFrame> decodeFrames(Collection<File> imageFiles) {
+        Map<String, Future<AnimationFrame>> futures = new LinkedHashMap<>();
+        for (File imageFile : imageFiles) {
+            if (imageFile.isFile()) {
+                futures.put(imageFile.getAbsolutePath(), pool.submit(() -> decodeFrame(imageFile)));
+            }
+        }
+        Map<String, AnimationFrame> frames = new HashMap<>();
+        for (Map.Entry<String, Future<AnimationFrame>> entry : futures.entrySet()) {
+            try {
+                AnimationFrame frame = entry.getValue().get();
+                if (frame != null) {
+                    frames.put(entry.getKey(), frame);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                System.out.println("Error decoding frame " + entry.getKey() + ": " + e.getCause().getMessage());
+            }
+        }
+        return frames;
+    }
+
+    /**
+     * Run follow-up loading work off the EDT
+     */
+    static void runInBackground(Runnable task) {
+        completer.execute(task);
+    }
+
+    private static CharacterSet createWithMetadata(File setDir, String name) {
+        CharacterSet characterSet = new CharacterSet(name, setDir.getAbsolutePath() + "/");
+        Map<String, String> metadata = CharacterFileManager.loadCharacterSetMetadata(setDir);
+        if (metadata.containsKey("description")) {
+            characterSet.setDescription(metadata.get("description"));
+        }
+        if (metadata.containsKey("author")) {
+            characterSet.setAuthorName(metadata.get("author"));
+        }
+        return characterSet;
+    }
+
+    private static AnimationFrame decodeFrame(File imageFile) {
+        BufferedImage image = CharacterFileManager.loadAndScaleImagePreserveAspect(imageFile, 256);
+        if (image == null) {
+            return null;
+        }
+        return new AnimationFrame(image, imageFile.getAbsolutePath(), 150); // Default duration
+    }
+
+    static int getPoolSize() {
+        return POOL_SIZE;
+    }
+}
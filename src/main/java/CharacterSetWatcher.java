@@ -0,0 +1,238 @@
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Watches the Pets and Enemies character set folders for edits.
+ *
+ * A WatchService is registered on each root, every set directory and every
+ * animation folder (watches are not recursive). Events are grouped per set
+ * and held until the folders have been quiet for DEBOUNCE_MS, so an editor
+ * saving twenty frames produces one change per set. Each change lists the
+ * frame files that were touched, and the handler is called with it on the
+ * watcher thread, never on the EDT.
+ */
+class CharacterSetWatcher {
+    static final long DEBOUNCE_MS = 400;
+
+    /**
+     * Edits to one set since the last flush
+     */
+    static final class SetChange {
+        final boolean isPet;
+        final File setDir;
+        final Set<File> changedFiles = new LinkedHashSet<>();
+
+        SetChange(boolean isPet, File setDir) {
+            this.isPet = isPet;
+            this.setDir = setDir;
+        }
+
+        boolean isRemoved() {
+            return !setDir.isDirectory();
+        }
+
+        /**
+         * A follow-up change for frames that could not be resolved, keeping only
+         * files this change never asked to decode. Files it did ask for failed to
+         * decode and wait for their next edit event, so a broken frame is retried
+         * at most once.
+         */
+        SetChange followUp(Collection<File> unresolved) {
+            SetChange followUp = new SetChange(isPet, setDir);
+            for (File file : unresolved) {
+                if (changedFiles.contains(file.getAbsoluteFile())) {
+                    System.out.println("Could not decode frame " + file.getName() + "; skipping it until it changes");
+                } else {
+                    followUp.changedFiles.add(file.getAbsoluteFile());
+                }
+            }
+            return followUp;
+        }
+    }
+
+    /**
+     * What a registered directory is: a root, a set or an animation folder
+     */
+    private static final class WatchedDir {
+        final Path path;
+        final boolean isPet;
+        final int depth; // 0 root, 1 set, 2 animation
+
+        WatchedDir(Path path, boolean isPet, int depth) {
+            this.path = path;
+            this.isPet = isPet;
+            this.depth = depth;
+        }
+
+        Path setDir(Path child) {
+            if (depth == 0) return child;
+            if (depth == 1) return path;
+            return path.getParent();
+        }
+    }
+
+    private final WatchService watchService;
+    private final Map<WatchKey, WatchedDir> watched = new HashMap<>();
+    private final Map<Path, SetChange> pending = new LinkedHashMap<>();
+    private final Consumer<SetChange> handler;
+    private long lastEventMs = 0;
+    private Thread thread;
+
+    CharacterSetWatcher(File petsDir, File enemiesDir, Consumer<SetChange> handler) throws IOException {
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.handler = handler;
+        registerTree(petsDir.toPath(), true, 0);
+        registerTree(enemiesDir.toPath(), false, 0);
+    }
+
+    void start() {
+        thread = new Thread(this::run, "character-set-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void stop() {
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            System.out.println("Error closing character set watcher: " + e.getMessage());
+        }
+    }
+
+    private void registerTree(Path dir, boolean isPet, int depth) throws IOException {
+        if (!Files.isDirectory(dir) || depth > 2) {
+            return;
+        }
+        WatchKey key = dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+            StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+        watched.put(key, new WatchedDir(dir, isPet, depth));
+        File[] children = dir.toFile().listFiles(File::isDirectory);
+        if (children != null) {
+            for (File child : children) {
+                registerTree(child.toPath(), isPet, depth + 1);
+            }
+        }
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                WatchKey key;
+                if (pending.isEmpty()) {
+                    key = watchService.take();
+                } else {
+                    long wait = DEBOUNCE_MS - (System.currentTimeMillis() - lastEventMs);
+                    key = wait > 0 ? watchService.poll(wait, java.util.concurrent.TimeUnit.MILLISECONDS) : null;
+                }
+
+                if (key != null) {
+                    processEvents(key);
+                    lastEventMs = System.currentTimeMillis();
+                } else if (System.currentTimeMillis() - lastEventMs >= DEBOUNCE_MS) {
+                    flush();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Watcher stopped
+        }
+    }
+
+    private void processEvents(WatchKey key) {
+        WatchedDir dir = watched.get(key);
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (dir == null) {
+                continue;
+            }
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                // Events were lost: treat every frame under this directory as changed
+                markAllFrames(dir.path, dir.isPet, dir.depth);
+                continue;
+            }
+            Path child = dir.path.resolve((Path) event.context());
+            String fileName = child.getFileName().toString();
+            if (fileName.startsWith(CharacterPack.FILE_NAME) || fileName.startsWith(FrameSavePipeline.MANIFEST_NAME)
+                    || fileName.startsWith("." + FrameSavePipeline.MANIFEST_NAME)) {
+                continue; // Written by the loader or the save pipeline itself
+            }
+
+            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(child) && dir.depth < 2) {
+                try {
+                    registerTree(child, dir.isPet, dir.depth + 1);
+                } catch (IOException e) {
+                    System.out.println("Error watching " + child + ": " + e.getMessage());
+                }
+                markAllFrames(child, dir.isPet, dir.depth + 1);
+                continue;
+            }
+
+            SetChange change = changeFor(dir.isPet, dir.setDir(child));
+            if (dir.depth == 2 && CharacterFileManager.isValidImageFile(child.toFile())) {
+                change.changedFiles.add(child.toFile().getAbsoluteFile());
+            }
+        }
+        if (!key.reset()) {
+            watched.remove(key); // Directory was deleted
+        }
+    }
+
+    private void markAllFrames(Path dir, boolean isPet, int depth) {
+        if (depth == 0) {
+            File[] sets = dir.toFile().listFiles(File::isDirectory);
+            if (sets != null) {
+                for (File set : sets) {
+                    markAllFrames(set.toPath(), isPet, 1);
+                }
+            }
+            return;
+        }
+        Path setDir = depth == 1 ? dir : dir.getParent();
+        SetChange change = changeFor(isPet, setDir);
+        List<File> animationDirs = new ArrayList<>();
+        if (depth == 1) {
+            File[] children = dir.toFile().listFiles(File::isDirectory);
+            if (children != null) {
+                animationDirs.addAll(List.of(children));
+            }
+        } else {
+            animationDirs.add(dir.toFile());
+        }
+        for (File animationDir : animationDirs) {
+            for (File imageFile : CharacterFileManager.listImageFiles(animationDir)) {
+                change.changedFiles.add(imageFile.getAbsoluteFile());
+            }
+        }
+    }
+
+    private SetChange changeFor(boolean isPet, Path setDir) {
+        return pending.computeIfAbsent(setDir, path -> new SetChange(isPet, path.toFile()));
+    }
+
+    private void flush() {
+        List<SetChange> changes = new ArrayList<>(pending.values());
+        pending.clear();
+        for (SetChange change : changes) {
+            try {
+                handler.accept(change);
+            } catch (Exception e) {
+                System.out.println("Error reloading character set " + change.setDir.getName() + ": " + e.getMessage());
+            }
+        }
+    }
+}
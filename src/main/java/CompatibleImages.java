@@ -0,0 +1,216 @@
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsDevice;
+import java.awt.GraphicsEnvironment;
+import java.awt.Graphics2D;
+import java.awt.AlphaComposite;
+import java.awt.Image;
+import java.awt.Rectangle;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferInt;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Converts sprites into the display's native translucent pixel format.
+ *
+ * PNGs decode into whatever color model the decoder picked, and Java2D then
+ * converts those pixels on every draw. Frames passed through here are copied
+ * once into a GraphicsConfiguration compatible image, so blits take the
+ * direct (and where available accelerated) path. The format follows the
+ * screen the pet windows are on rather than the default screen, and the
+ * display setup is tracked so frames can be rebuilt when a window moves to
+ * a monitor with another format or when monitors or color depth change.
+ */
+public class CompatibleImages {
+    private static String displaySignature = readDisplaySignature();
+    private static final List<Runnable> displayChangeListeners = new ArrayList<>();
+    private static volatile GraphicsConfiguration targetConfiguration; // Screen the pet windows are on
+
+    /**
+     * Create an empty translucent image in the display's native format
+     */
+    public static BufferedImage createTranslucent(int width, int height) {
+        GraphicsConfiguration config = getTargetConfiguration();
+        if (config != null) {
+            try {
+                return config.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+            } catch (Exception e) {
+                System.out.println("Falling back to ARGB image: " + e.getMessage());
+            }
+        }
+        return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+    }
+
+    /**
+     * Return the image in the display's native format, copying it only if needed
+     */
+    public static BufferedImage toCompatible(Image source) {
+        if (source == null) {
+            return null;
+        }
+        int width = source.getWidth(null);
+        int height = source.getHeight(null);
+        if (width <= 0 || height <= 0) {
+            return null;
+        }
+        if (source instanceof BufferedImage && isCompatible((BufferedImage) source)) {
+            return (BufferedImage) source;
+        }
+
+        BufferedImage converted = createTranslucent(width, height);
+        Graphics2D g2d = converted.createGraphics();
+        g2d.setComposite(AlphaComposite.Src);
+        g2d.drawImage(source, 0, 0, null);
+        g2d.dispose();
+        return converted;
+    }
+
+    /**
+     * Return the image as premultiplied ARGB ints, the layout frames are
+     * hashed, cached and packed in, copying it only if needed. The result's
+     * int[] holds exactly width * height pixels, so sub-images are copied.
+     */
+    public static BufferedImage toPremultiplied(Image source) {
+        if (source instanceof BufferedImage && isPackedPremultiplied((BufferedImage) source)) {
+            return (BufferedImage) source;
+        }
+        BufferedImage copy = new BufferedImage(
+            source.getWidth(null), source.getHeight(null), BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g2d = copy.createGraphics();
+        g2d.setComposite(AlphaComposite.Src);
+        g2d.drawImage(source, 0, 0, null);
+        g2d.dispose();
+        return copy;
+    }
+
+    private static boolean isPackedPremultiplied(BufferedImage image) {
+        DataBuffer buffer = image.getRaster().getDataBuffer();
+        return image.getType() == BufferedImage.TYPE_INT_ARGB_PRE && buffer instanceof DataBufferInt
+            && buffer.getSize() == image.getWidth() * image.getHeight();
+    }
+
+    /**
+     * Check whether an image already uses the display's translucent color model
+     */
+    public static boolean isCompatible(BufferedImage image) {
+        GraphicsConfiguration config = getTargetConfiguration();
+        if (config == null) {
+            return image.getType() == BufferedImage.TYPE_INT_ARGB_PRE;
+        }
+        ColorModel expected = config.getColorModel(Transparency.TRANSLUCENT);
+        return expected.equals(image.getColorModel());
+    }
+
+    /**
+     * Make frames compatible with the screen a window is now on. Listeners
+     * are notified only if that screen's translucent format differs from the
+     * previous one, so moving between alike monitors converts nothing.
+     */
+    public static void setTargetConfiguration(GraphicsConfiguration config) {
+        if (config == null) {
+            return;
+        }
+        GraphicsConfiguration previous;
+        synchronized (CompatibleImages.class) {
+            previous = getTargetConfiguration();
+            if (previous == config) {
+                return;
+            }
+            targetConfiguration = config;
+        }
+        if (previous != null && !previous.getColorModel(Transparency.TRANSLUCENT)
+                .equals(config.getColorModel(Transparency.TRANSLUCENT))) {
+            System.out.println("Pet moved to a screen with another pixel format, rebuilding sprites");
+            notifyDisplayChange();
+        }
+    }
+
+    /**
+     * Register a callback for display configuration changes
+     */
+    public static void addDisplayChangeListener(Runnable listener) {
+        synchronized (displayChangeListeners) {
+            displayChangeListeners.add(listener);
+        }
+    }
+
+    public static void removeDisplayChangeListener(Runnable listener) {
+        synchronized (displayChangeListeners) {
+            displayChangeListeners.remove(listener);
+        }
+    }
+
+    /**
+     * Compare the current displays with the last known setup and notify
+     * listeners once if anything changed. Cheap enough to call from timers.
+     */
+    public static boolean checkDisplayChange() {
+        String current = readDisplaySignature();
+        synchronized (CompatibleImages.class) {
+            if (current.equals(displaySignature)) {
+                return false;
+            }
+            displaySignature = current;
+        }
+        System.out.println("Display configuration changed, rebuilding sprites");
+        notifyDisplayChange();
+        return true;
+    }
+
+    private static void notifyDisplayChange() {
+        List<Runnable> toNotify;
+        synchronized (displayChangeListeners) {
+            toNotify = new ArrayList<>(displayChangeListeners);
+        }
+        for (Runnable listener : toNotify) {
+            try {
+                listener.run();
+            } catch (Exception e) {
+                System.out.println("Error handling display change: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Describe every screen's bounds and pixel format in one string
+     */
+    private static String readDisplaySignature() {
+        if (GraphicsEnvironment.isHeadless()) {
+            return "headless";
+        }
+        StringBuilder signature = new StringBuilder();
+        try {
+            for (GraphicsDevice device : GraphicsEnvironment.getLocalGraphicsEnvironment().getScreenDevices()) {
+                GraphicsConfiguration config = device.getDefaultConfiguration();
+                Rectangle bounds = config.getBounds();
+                signature.append(device.getIDstring()).append(':')
+                    .append(bounds.x).append(',').append(bounds.y).append(',')
+                    .append(bounds.width).append('x').append(bounds.height).append(':')
+                    .append(config.getColorModel(Transparency.TRANSLUCENT)).append(';');
+            }
+        } catch (Exception e) {
+            System.out.println("Error reading display configuration: " + e.getMessage());
+        }
+        return signature.toString();
+    }
+
+    private static GraphicsConfiguration getTargetConfiguration() {
+        GraphicsConfiguration config = targetConfiguration;
+        return config != null ? config : getDefaultConfiguration();
+    }
+
+    private static GraphicsConfiguration getDefaultConfiguration() {
+        if (GraphicsEnvironment.isHeadless()) {
+            return null;
+        }
+        try {
+            return GraphicsEnvironment.getLocalGraphicsEnvironment()
+                .getDefaultScreenDevice().getDefaultConfiguration();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
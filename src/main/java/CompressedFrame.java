@@ -0,0 +1,119 @@
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Full-quality frame pixels kept deflated between rescales.
+ *
+ * A frame only needs its original pixels to scale to a new size (on zoom or
+ * resize), so once it has been scaled, AnimationFrame drops the decoded
+ * original and keeps it in this form instead. Sprites are mostly
+ * transparent and flat-colored, so the deflated pixels are usually a small
+ * fraction of the decoded size. Frames sharing one original (see FrameStore)
+ * share one compressed copy as well.
+ */
+public class CompressedFrame {
+    private static final Map<BufferedImage, CompressedFrame> byImage = new WeakHashMap<>();
+    private static final AtomicLong decodes = new AtomicLong();
+
+    private final byte[] data;
+    private final int width;
+    private final int height;
+
+    private CompressedFrame(byte[] data, int width, int height) {
+        this.data = data;
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Compress an image, reusing the copy already made for the same image
+     */
+    public static CompressedFrame of(BufferedImage image) {
+        synchronized (byImage) {
+            CompressedFrame existing = byImage.get(image);
+            if (existing != null) {
+                return existing;
+            }
+        }
+        CompressedFrame compressed = compress(image);
+        synchronized (byImage) {
+            CompressedFrame existing = byImage.putIfAbsent(image, compressed);
+            return existing != null ? existing : compressed;
+        }
+    }
+
+    private static CompressedFrame compress(BufferedImage image) {
+        BufferedImage pixels = CompatibleImages.toPremultiplied(image);
+        int width = pixels.getWidth();
+        int height = pixels.getHeight();
+        ByteBuffer bytes = ByteBuffer.allocate(width * height * 4);
+        bytes.asIntBuffer().put(((DataBufferInt) pixels.getRaster().getDataBuffer()).getData(), 0, width * height);
+
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(bytes.array());
+            deflater.finish();
+            byte[] buffer = new byte[Math.max(64, bytes.capacity() / 4)];
+            int length = 0;
+            while (!deflater.finished()) {
+                if (length == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+                length += deflater.deflate(buffer, length, buffer.length - length);
+            }
+            return new CompressedFrame(Arrays.copyOf(buffer, length), width, height);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Inflate the pixels into a new display-compatible image
+     */
+    public BufferedImage decode() {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+        byte[] bytes = new byte[width * height * 4];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            int length = 0;
+            while (length < bytes.length && !inflater.finished()) {
+                int inflated = inflater.inflate(bytes, length, bytes.length - length);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new DataFormatException("truncated data");
+                }
+                length += inflated;
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt compressed frame", e);
+        } finally {
+            inflater.end();
+        }
+        ByteBuffer.wrap(bytes).asIntBuffer().get(((DataBufferInt) image.getRaster().getDataBuffer()).getData());
+        decodes.incrementAndGet();
+        return CompatibleImages.toCompatible(image);
+    }
+
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+    public int getCompressedBytes() { return data.length; }
+
+    public static long getDecodeCount() { return decodes.get(); }
+
+    /**
+     * One-line summary for debug output
+     */
+    public static String getStats() {
+        synchronized (byImage) {
+            return "Compressed originals: " + byImage.size() + " live, " + getDecodeCount() + " decodes to rescale";
+        }
+    }
+}
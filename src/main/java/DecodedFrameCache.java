@@ -0,0 +1,267 @@
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Persistent cache of decoded, already scaled frames.
+ *
+ * Entries are keyed by a SHA-256 of the source file's bytes plus the scaling
+ * mode and target size, so renamed or copied frames still hit and edited ones
+ * miss. Each entry is one file holding the raw premultiplied ARGB pixels,
+ * read with a FileChannel. Hits refresh the entry's modification
+ * time, and once the directory grows past its bound the least recently used
+ * entries are deleted.
+ *
+ * Several launches may share the directory: entries are written to a unique
+ * temp file and atomically moved into place, and readers treat a missing,
+ * short or corrupt entry as a miss. The directory is cache/frames by default
+ * (-Dpet.frameCacheDir) and holds up to -Dpet.frameCacheMB megabytes
+ * (default 128, 0 disables the cache).
+ */
+public class DecodedFrameCache {
+    private static final int MAGIC = 0x50455446; // "PETF"
+    private static final int HEADER_BYTES = 12;
+    private static final String ENTRY_SUFFIX = ".frame";
+    private static final long DEFAULT_MAX_BYTES = 128L * 1024 * 1024;
+    private static final long STALE_TEMP_MS = 10 * 60 * 1000;
+
+    private static File directory = new File(System.getProperty("pet.frameCacheDir", "cache/frames"));
+    private static long maxBytes = readMaxBytes();
+    private static long currentBytes = -1; // Scanned from disk on first use
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+    private static final AtomicLong evictions = new AtomicLong();
+
+    private static long readMaxBytes() {
+        try {
+            String value = System.getProperty("pet.frameCacheMB");
+            if (value != null) {
+                return Math.max(0, Long.parseLong(value.trim())) * 1024 * 1024;
+            }
+        } catch (NumberFormatException e) {
+            System.out.println("Invalid pet.frameCacheMB, using default: " + e.getMessage());
+        }
+        return DEFAULT_MAX_BYTES;
+    }
+
+    public static boolean isEnabled() {
+        return maxBytes > 0;
+    }
+
+    /**
+     * Build the cache key for a source file's bytes scaled in the given way
+     */
+    public static String keyFor(byte[] sourceBytes, String mode, int... size) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(sourceBytes);
+            digest.update((":" + mode + ":" + Arrays.toString(size)).getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest.digest()) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (Exception e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Get a cached frame, or null on a miss
+     */
+    public static BufferedImage get(String key) {
+        if (!isEnabled()) {
+            return null;
+        }
+        File entry = entryFile(key);
+        try (FileChannel channel = FileChannel.open(entry.toPath(), StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length >= HEADER_BYTES && length <= maxBytes) {
+                // Copied to the heap, not mapped: a mapping holds the file open until
+                // it is collected, which on Windows blocks trimming or replacing it
+                ByteBuffer buffer = ByteBuffer.allocate((int) length);
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer) < 0) {
+                        throw new IOException("Entry truncated while reading");
+                    }
+                }
+                buffer.flip();
+                int magic = buffer.getInt();
+                int width = buffer.getInt();
+                int height = buffer.getInt();
+                if (magic == MAGIC && width > 0 && height > 0
+                        && length == HEADER_BYTES + (long) width * height * 4) {
+                    BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+                    int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+                    buffer.asIntBuffer().get(pixels);
+                    entry.setLastModified(System.currentTimeMillis()); // LRU touch
+                    hits.incrementAndGet();
+                    return image;
+                }
+            }
+        } catch (IOException e) {
+            // Missing or being replaced by another launch: treat as a miss
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Store a decoded frame, then trim the directory if it is over its bound
+     */
+    public static void put(String key, BufferedImage image) {
+        if (!isEnabled() || image == null) {
+            return;
+        }
+        BufferedImage pixels = CompatibleImages.toPremultiplied(image);
+        int width = pixels.getWidth();
+        int height = pixels.getHeight();
+        long entryBytes = HEADER_BYTES + (long) width * height * 4;
+        if (entryBytes > maxBytes) {
+            return;
+        }
+
+        Path temp = null;
+        try {
+            Files.createDirectories(directory.toPath());
+            temp = Files.createTempFile(directory.toPath(), key, ".tmp");
+            ByteBuffer buffer = ByteBuffer.allocate((int) entryBytes);
+            buffer.putInt(MAGIC).putInt(width).putInt(height);
+            buffer.asIntBuffer().put(((DataBufferInt) pixels.getRaster().getDataBuffer()).getData());
+            buffer.rewind();
+            try (RandomAccessFile file = new RandomAccessFile(temp.toFile(), "rw");
+                 FileChannel channel = file.getChannel()) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            Path target = entryFile(key).toPath();
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            System.out.println("Error writing frame cache entry: " + e.getMessage());
+            if (temp != null) {
+                temp.toFile().delete();
+            }
+            return;
+        }
+
+        boolean overBound;
+        synchronized (DecodedFrameCache.class) {
+            if (currentBytes < 0) {
+                currentBytes = scanBytes();
+            } else {
+                currentBytes += entryBytes;
+            }
+            overBound = currentBytes > maxBytes;
+        }
+        if (overBound) {
+            trim();
+        }
+    }
+
+    /**
+     * Delete least recently used entries until the directory is back under
+     * 90% of its bound. Sizes are re-read from disk since other launches may
+     * have added or removed entries.
+     */
+    public static synchronized void trim() {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            currentBytes = 0;
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long total = 0;
+        java.util.List<File> entries = new java.util.ArrayList<>();
+        for (File file : files) {
+            if (file.getName().endsWith(ENTRY_SUFFIX)) {
+                entries.add(file);
+                total += file.length();
+            } else if (file.getName().endsWith(".tmp") && now - file.lastModified() > STALE_TEMP_MS) {
+                file.delete(); // Left behind by a launch that died mid-write
+            }
+        }
+        entries.sort(Comparator.comparingLong(File::lastModified));
+        long target = maxBytes * 9 / 10;
+        for (File entry : entries) {
+            if (total <= target) {
+                break;
+            }
+            long length = entry.length();
+            if (entry.delete()) {
+                total -= length;
+                evictions.incrementAndGet();
+            }
+        }
+        currentBytes = total;
+    }
+
+    private static long scanBytes() {
+        long total = 0;
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(ENTRY_SUFFIX));
+        if (files != null) {
+            for (File file : files) {
+                total += file.length();
+            }
+        }
+        return total;
+    }
+
+    private static File entryFile(String key) {
+        return new File(directory, key + ENTRY_SUFFIX);
+    }
+
+    public static synchronized void setDirectory(File newDirectory) {
+        directory = newDirectory;
+        currentBytes = -1;
+    }
+
+    public static synchronized void setMaxBytes(long bytes) {
+        maxBytes = Math.max(0, bytes);
+    }
+
+    public static File getDirectory() { return directory; }
+    public static long getMaxBytes() { return maxBytes; }
+    public static long getHitCount() { return hits.get(); }
+    public static long getMissCount() { return misses.get(); }
+    public static long getEvictionCount() { return evictions.get(); }
+
+    public static synchronized long getCurrentBytes() {
+        if (currentBytes < 0) {
+            currentBytes = scanBytes();
+        }
+        return currentBytes;
+    }
+
+    public static void resetCounters() {
+        hits.set(0);
+        misses.set(0);
+        evictions.set(0);
+    }
+
+    /**
+     * One-line summary for debug output
+     */
+    public static String getStats() {
+        return "Frame disk cache: " + (getCurrentBytes() / 1024) + " KB in " + directory.getPath() + ", "
+            + getHitCount() + " hits, " + getMissCount() + " misses, " + getEvictionCount() + " evictions";
+    }
+}
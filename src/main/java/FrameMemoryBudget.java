@@ -0,0 +1,212 @@
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.function.Predicate;
+
+/**
+ * Caps how much decoded frame memory loaded character sets may hold.
+ *
+ * Every set whose frames are decoded is tracked with the bytes its frames
+ * keep resident and when it was last used. When the total goes over the
+ * budget, sets that nothing currently displays are released, choosing the
+ * one with the largest idle time multiplied by its size first, so a big set
+ * that has been idle a while goes before a small one used a moment ago.
+ * Released sets become stubs again and are decoded (usually from their
+ * frames.pack) the next time they are asked for.
+ *
+ * Eviction runs on one thread, handed in as an Executor (the EDT in the
+ * app), because releasing a set swaps out the sequences the UI draws from.
+ *
+ * The budget is -Dpet.frameMemoryMB, by default a quarter of the maximum
+ * heap; 0 disables eviction.
+ */
+class FrameMemoryBudget {
+    private static final String[] ANIMATIONS = {"idle", "walking", "special", "pain"};
+
+    /**
+     * A loaded set's footprint and last use
+     */
+    private static final class Resident {
+        long bytes;
+        long lastUsedNanos;
+
+        Resident(long bytes) {
+            this.bytes = bytes;
+            this.lastUsedNanos = System.nanoTime();
+        }
+    }
+
+    private final Map<CharacterSet, Resident> resident = new LinkedHashMap<>();
+    private final Predicate<CharacterSet> inUse;
+    private final Executor evictionThread;
+    private long budgetBytes;
+    private long evictions = 0;
+
+    FrameMemoryBudget(long budgetBytes, Predicate<CharacterSet> inUse) {
+        this(budgetBytes, inUse, Runnable::run);
+    }
+
+    FrameMemoryBudget(long budgetBytes, Predicate<CharacterSet> inUse, Executor evictionThread) {
+        this.budgetBytes = budgetBytes;
+        this.inUse = inUse;
+        this.evictionThread = evictionThread;
+    }
+
+    static long readBudgetBytes() {
+        try {
+            String value = System.getProperty("pet.frameMemoryMB");
+            if (value != null) {
+                return Math.max(0, Long.parseLong(value.trim())) * 1024 * 1024;
+            }
+        } catch (NumberFormatException e) {
+            System.out.println("Invalid pet.frameMemoryMB, using default: " + e.getMessage());
+        }
+        return Runtime.getRuntime().maxMemory() / 4;
+    }
+
+    /**
+     * A set's frames were decoded or replaced: measure it, then evict if over budget
+     */
+    synchronized void loaded(CharacterSet set) {
+        if (set == null || !set.isLoaded()) {
+            return;
+        }
+        resident.put(set, new Resident(residentBytes(set)));
+        evictionThread.execute(() -> enforce(set));
+    }
+
+    /**
+     * A loaded set was used; keeps it from looking idle
+     */
+    synchronized void touched(CharacterSet set) {
+        Resident entry = resident.get(set);
+        if (entry != null) {
+            entry.lastUsedNanos = System.nanoTime();
+        }
+    }
+
+    synchronized void forget(CharacterSet set) {
+        resident.remove(set);
+    }
+
+    /**
+     * Release idle sets until the total is back under the budget. Returns the
+     * released sets. Call on the eviction thread, or use enforceLater.
+     */
+    synchronized List<CharacterSet> enforce() {
+        return enforce(null);
+    }
+
+    /**
+     * Enforce the budget on the eviction thread
+     */
+    void enforceLater() {
+        evictionThread.execute(this::enforce);
+    }
+
+    /**
+     * Same, never releasing keep (a set its caller is about to hand out)
+     */
+    private synchronized List<CharacterSet> enforce(CharacterSet keep) {
+        List<CharacterSet> released = new ArrayList<>();
+        if (budgetBytes <= 0) {
+            return released;
+        }
+        // Re-measure: pets add scaled copies to their frames after loading
+        long total = 0;
+        for (Map.Entry<CharacterSet, Resident> entry : resident.entrySet()) {
+            entry.getValue().bytes = residentBytes(entry.getKey());
+            total += entry.getValue().bytes;
+        }
+        long now = System.nanoTime();
+        while (total > budgetBytes) {
+            CharacterSet victim = null;
+            double victimScore = -1;
+            for (Map.Entry<CharacterSet, Resident> entry : resident.entrySet()) {
+                if (entry.getKey() == keep || entry.getValue().bytes == 0
+                        || inUse.test(entry.getKey()) || entry.getKey().isLoading()) {
+                    continue;
+                }
+                double score = (double) (now - entry.getValue().lastUsedNanos + 1) * entry.getValue().bytes;
+                if (score > victimScore) {
+                    victim = entry.getKey();
+                    victimScore = score;
+                }
+            }
+            if (victim == null) {
+                break; // Everything left is on screen
+            }
+            total -= resident.remove(victim).bytes;
+            victim.releaseFrames();
+            released.add(victim);
+            evictions++;
+            System.out.println("Released frames of idle character set " + victim.getName() + " to stay within memory budget");
+        }
+        return released;
+    }
+
+    /**
+     * Pixel bytes held by a set's frames, counting each distinct image once
+     * (scaled copies and originals separately, shared frames once, and
+     * originals moved to the compressed tier at their compressed size)
+     */
+    static long residentBytes(CharacterSet set) {
+        Set<Object> counted = Collections.newSetFromMap(new IdentityHashMap<>());
+        long bytes = 0;
+        for (String animation : ANIMATIONS) {
+            for (AnimationFrame frame : set.getAnimationByName(animation).getFrames()) {
+                for (BufferedImage image : new BufferedImage[] {frame.getImage(), frame.getRetainedOriginal()}) {
+                    if (image != null && counted.add(image)) {
+                        bytes += (long) image.getWidth() * image.getHeight() * 4;
+                    }
+                }
+                CompressedFrame compressed = frame.getCompressedOriginal();
+                if (compressed != null && counted.add(compressed)) {
+                    bytes += compressed.getCompressedBytes();
+                }
+            }
+        }
+        return bytes;
+    }
+
+    synchronized long getResidentBytes() {
+        long total = 0;
+        for (Resident entry : resident.values()) {
+            total += entry.bytes;
+        }
+        return total;
+    }
+
+    synchronized long getResidentBytes(CharacterSet set) {
+        Resident entry = resident.get(set);
+        return entry != null ? entry.bytes : 0;
+    }
+
+    synchronized void setBudgetBytes(long bytes) {
+        budgetBytes = Math.max(0, bytes);
+        enforceLater();
+    }
+
+    long getBudgetBytes() { return budgetBytes; }
+    synchronized long getEvictionCount() { return evictions; }
+
+    /**
+     * Summary plus one line per resident set, for debug output
+     */
+    synchronized String getStats() {
+        StringBuilder stats = new StringBuilder("Frame memory: " + (getResidentBytes() / 1024) + " KB of "
+            + (budgetBytes / 1024) + " KB budget in " + resident.size() + " sets, " + evictions + " evictions");
+        for (Map.Entry<CharacterSet, Resident> entry : resident.entrySet()) {
+            stats.append("\n  ").append(entry.getKey().getName()).append(": ")
+                .append(entry.getValue().bytes / 1024).append(" KB")
+                .append(inUse.test(entry.getKey()) ? " (in use)" : "");
+        }
+        return stats.toString();
+    }
+}
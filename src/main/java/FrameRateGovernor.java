@@ -0,0 +1,212 @@
+import java.awt.GraphicsEnvironment;
+import java.awt.MouseInfo;
+import java.awt.Point;
+import java.awt.PointerInfo;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Slows down or suspends pet and enemy timers when nobody is watching.
+ *
+ * Every pet registers a Client and attaches it to its animation timers and
+ * the per-step walk, escape and follow timers that move sprites on screen.
+ * The timers that decide when to walk or play a special animation are not
+ * governed, so slowing down changes the frame rate but not how often
+ * behaviors happen. When the FrameScheduler re-arms a governed timer it asks
+ * the governor how much to stretch the delay:
+ * <ul>
+ *   <li>hidden pets (invisible or transparency at or below 0.1) are suspended
+ *       until they are shown again</li>
+ *   <li>idle pets (not walking, dragged or in pain) run at half rate</li>
+ *   <li>pets that are off every screen run at half rate</li>
+ *   <li>when the user has not moved the mouse for a while
+ *       (-Dpet.userIdleMinutes, default 10) everything runs at half rate</li>
+ *   <li>when timer callbacks use more CPU than the budget
+ *       (-Dpet.cpuBudgetPercent of one core, default 5) all rates are
+ *       lowered step by step until they fit, and raised again once
+ *       well under budget</li>
+ * </ul>
+ * The combined slowdown is capped at MAX_SLOWDOWN so movement (which is
+ * time-based) still catches up smoothly.
+ */
+public class FrameRateGovernor {
+    public static final double MAX_SLOWDOWN = 4.0;
+    private static final long MAINTAIN_INTERVAL_NANOS = 1_000_000_000L;
+
+    private static FrameRateGovernor instance;
+
+    private final double cpuBudget;     // Fraction of one core
+    private final long userIdleNanos;
+    private final List<Client> clients = new ArrayList<>();
+
+    private double cpuSlowdown = 1.0;
+    private double lastLoad = 0;
+    private long busyNanos = 0;
+    private long windowStartNanos = System.nanoTime();
+
+    private Point lastPointer;
+    private long lastInputNanos = System.nanoTime();
+    private boolean userIdle = false;
+
+    /**
+     * Governed state of one pet (shared by its enemies)
+     */
+    public static class Client {
+        private final String name;
+        private volatile boolean idle = false;
+        private volatile boolean hidden = false;
+        private volatile boolean offscreen = false;
+
+        private Client(String name) {
+            this.name = name;
+        }
+
+        public void setIdle(boolean idle) {
+            this.idle = idle;
+        }
+
+        public void setOffscreen(boolean offscreen) {
+            this.offscreen = offscreen;
+        }
+
+        /**
+         * Suspend or resume every timer attached to this client
+         */
+        public void setHidden(boolean hidden) {
+            boolean wasHidden = this.hidden;
+            this.hidden = hidden;
+            if (wasHidden && !hidden) {
+                FrameScheduler.getInstance().resumeParked(this);
+            }
+        }
+
+        public boolean isSuspended() { return hidden; }
+        public boolean isIdle() { return idle; }
+        public boolean isOffscreen() { return offscreen; }
+
+        /**
+         * Current state for debug output
+         */
+        public String describe() {
+            if (hidden) {
+                return name + ": suspended (hidden)";
+            }
+            double slowdown = getInstance().getSlowdown(this);
+            return name + ": " + (idle ? "idle" : "active") + (offscreen ? ", off-screen" : "")
+                + ", timers at " + Math.round(100 / slowdown) + "% rate";
+        }
+    }
+
+    private FrameRateGovernor() {
+        cpuBudget = readDouble("pet.cpuBudgetPercent", 5.0) / 100.0;
+        userIdleNanos = (long) (readDouble("pet.userIdleMinutes", 10.0) * 60_000_000_000L);
+    }
+
+    public static synchronized FrameRateGovernor getInstance() {
+        if (instance == null) {
+            instance = new FrameRateGovernor();
+        }
+        return instance;
+    }
+
+    public synchronized Client register(String name) {
+        Client client = new Client(name);
+        clients.add(client);
+        return client;
+    }
+
+    public synchronized void unregister(Client client) {
+        clients.remove(client);
+    }
+
+    /**
+     * How much to stretch a governed timer's delay right now
+     */
+    public synchronized double getSlowdown(Client client) {
+        double slowdown = cpuSlowdown;
+        if (client.idle) slowdown *= 2;
+        if (client.offscreen) slowdown *= 2;
+        if (userIdle) slowdown *= 2;
+        return Math.min(MAX_SLOWDOWN, slowdown);
+    }
+
+    int scaleDelay(int delay, Client client) {
+        return (int) Math.round(delay * getSlowdown(client));
+    }
+
+    /**
+     * Called by the scheduler with the time spent in each timer callback
+     */
+    synchronized void recordTickCost(long nanos) {
+        busyNanos += nanos;
+    }
+
+    /**
+     * Re-evaluate CPU load and user activity, at most once per second
+     */
+    synchronized void maintain(long nowNanos) {
+        long elapsed = nowNanos - windowStartNanos;
+        if (elapsed < MAINTAIN_INTERVAL_NANOS) {
+            return;
+        }
+
+        lastLoad = (double) busyNanos / elapsed;
+        if (lastLoad > cpuBudget) {
+            cpuSlowdown = Math.min(MAX_SLOWDOWN, cpuSlowdown * 1.5);
+        } else if (lastLoad < cpuBudget / 2) {
+            cpuSlowdown = Math.max(1.0, cpuSlowdown / 1.5);
+        }
+        busyNanos = 0;
+        windowStartNanos = nowNanos;
+
+        pollUserActivity(nowNanos);
+    }
+
+    private void pollUserActivity(long nowNanos) {
+        if (GraphicsEnvironment.isHeadless()) {
+            return;
+        }
+        try {
+            PointerInfo pointer = MouseInfo.getPointerInfo();
+            Point location = pointer != null ? pointer.getLocation() : null;
+            if (location != null && !location.equals(lastPointer)) {
+                lastPointer = location;
+                lastInputNanos = nowNanos;
+            }
+        } catch (Exception e) {
+            // Pointer not available (e.g. locked session) - treat as no input
+        }
+        userIdle = nowNanos - lastInputNanos > userIdleNanos;
+    }
+
+    private static double readDouble(String property, double defaultValue) {
+        String value = System.getProperty(property);
+        if (value != null) {
+            try {
+                return Double.parseDouble(value.trim());
+            } catch (NumberFormatException e) {
+                System.out.println("Invalid " + property + " value: " + value);
+            }
+        }
+        return defaultValue;
+    }
+
+    public synchronized double getCpuSlowdown() { return cpuSlowdown; }
+    public synchronized double getLastLoad() { return lastLoad; }
+    public synchronized boolean isUserIdle() { return userIdle; }
+
+    /**
+     * One-line summary for debug output
+     */
+    public synchronized String getStats() {
+        int suspended = 0;
+        int idle = 0;
+        for (Client client : clients) {
+            if (client.hidden) suspended++;
+            else if (client.idle) idle++;
+        }
+        return String.format("Frame rate governor: timer CPU %.1f%% (budget %.1f%%), CPU slowdown x%.2f, user %s, %d clients (%d suspended, %d idle)",
+            lastLoad * 100, cpuBudget * 100, cpuSlowdown, userIdle ? "idle" : "active",
+            clients.size(), suspended, idle);
+    }
+}
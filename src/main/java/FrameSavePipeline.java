@@ -0,0 +1,282 @@
+import javax.imageio.ImageIO;
+import javax.swing.ImageIcon;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.WeakHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Saves the frames of a character set, writing only what changed.
+ *
+ * Each frame's pixels are hashed (once per image, then remembered) and
+ * compared with frames.hashes, a manifest of what was last written together
+ * with the file's size and modification time. Frames that still match are
+ * left alone; the rest are PNG-encoded in parallel into temp files. Only
+ * when every encode has succeeded are the temp files renamed into place,
+ * leftover frames from a longer previous save removed and the manifest
+ * rewritten, so a failed save leaves the set as it was.
+ */
+public class FrameSavePipeline {
+    public static final String MANIFEST_NAME = "frames.hashes";
+    private static final String[] ANIMATIONS = {"idle", "walking", "special", "pain"};
+    private static final int POOL_SIZE = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+    private static final AtomicInteger threadCount = new AtomicInteger();
+
+    private static final ExecutorService pool = Executors.newFixedThreadPool(POOL_SIZE, runnable -> {
+        Thread thread = new Thread(runnable, "frame-save-" + threadCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Pixel hashes of images already seen; panel images don't change once created
+    private static final Map<Image, String> pixelHashes = new WeakHashMap<>();
+
+    /**
+     * Frames written (or kept) by a save
+     */
+    public static final class Result {
+        public final Map<String, List<AnimationFrame>> frames = new LinkedHashMap<>();
+        public int encoded;
+        public int unchanged;
+    }
+
+    /**
+     * One frame to write, and where
+     */
+    private static final class Job {
+        final String animation;
+        final ImageIcon image;
+        final File target;
+        final String relativePath;
+        String hash;
+        File temp;
+
+        Job(String animation, ImageIcon image, File target, String relativePath) {
+            this.animation = animation;
+            this.image = image;
+            this.target = target;
+            this.relativePath = relativePath;
+        }
+    }
+
+    /**
+     * Frame file name used for the index-th frame of an animation
+     */
+    public static String frameFileName(String animation, int index) {
+        return animation + "_frame_" + String.format("%03d", index) + ".png";
+    }
+
+    /**
+     * Save every animation of a set. Blocks until done, so call it off the
+     * EDT; progress is reported from the calling thread.
+     */
+    public static Result save(File setDir, Map<String, List<ImageIcon>> animations,
+                              CharacterSetArchive.ProgressListener listener)
+            throws IOException {
+        Properties manifest = loadManifest(setDir);
+        List<Job> jobs = new ArrayList<>();
+        for (String animation : ANIMATIONS) {
+            List<ImageIcon> images = animations.getOrDefault(animation, new ArrayList<>());
+            for (int i = 0; i < images.size(); i++) {
+                String fileName = frameFileName(animation, i);
+                jobs.add(new Job(animation, images.get(i), new File(setDir, animation + "/" + fileName),
+                    animation + "/" + fileName));
+            }
+        }
+
+        int total = jobs.size();
+        int done = 0;
+        Result result = new Result();
+        List<Job> changed = new ArrayList<>();
+        List<Future<?>> encodes = new ArrayList<>();
+        for (Job job : jobs) {
+            job.hash = hashPixels(job.image.getImage());
+            if (matchesDisk(manifest, job)) {
+                result.unchanged++;
+                if (listener != null) {
+                    listener.progress(++done, total);
+                }
+            } else {
+                changed.add(job);
+                encodes.add(pool.submit(() -> {
+                    encode(job);
+                    return null;
+                }));
+            }
+        }
+
+        // Wait for every encode, even after a failure, so no temp file is left behind
+        IOException failure = null;
+        for (Future<?> encode : encodes) {
+            try {
+                await(encode);
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+            if (listener != null) {
+                listener.progress(++done, total);
+            }
+        }
+        if (failure != null) {
+            for (Job job : changed) {
+                if (job.temp != null) {
+                    job.temp.delete();
+                }
+            }
+            throw failure;
+        }
+
+        // Commit: everything is encoded, so move it all into place together
+        for (Job job : changed) {
+            moveIntoPlace(job.temp, job.target);
+        }
+        result.encoded = changed.size();
+        Properties updated = new Properties();
+        for (Job job : jobs) {
+            updated.setProperty(job.relativePath, job.hash + ":" + job.target.length() + ":" + job.target.lastModified());
+            result.frames.computeIfAbsent(job.animation, key -> new ArrayList<>())
+                .add(new AnimationFrame(CompatibleImages.toCompatible(job.image.getImage()), job.target.getPath(), 150)); // Default duration
+        }
+        deleteLeftoverFrames(setDir, animations);
+        saveManifest(setDir, updated);
+        return result;
+    }
+
+    private static boolean matchesDisk(Properties manifest, Job job) {
+        String recorded = manifest.getProperty(job.relativePath);
+        return recorded != null && job.target.isFile()
+            && recorded.equals(job.hash + ":" + job.target.length() + ":" + job.target.lastModified());
+    }
+
+    private static void encode(Job job) throws IOException {
+        File parent = job.target.getParentFile();
+        Files.createDirectories(parent.toPath());
+        job.temp = File.createTempFile("." + job.target.getName(), ".tmp", parent);
+        if (!ImageIO.write(toArgb(job.image.getImage()), "png", job.temp)) {
+            throw new IOException("No PNG encoder available");
+        }
+    }
+
+    private static void await(Future<?> future) throws IOException {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(false);
+            throw new IOException("Save interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+        }
+    }
+
+    private static void moveIntoPlace(File temp, File target) throws IOException {
+        try {
+            Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Remove numbered frames past the new end of each animation
+     */
+    private static void deleteLeftoverFrames(File setDir, Map<String, List<ImageIcon>> animations) {
+        for (String animation : ANIMATIONS) {
+            int count = animations.getOrDefault(animation, new ArrayList<>()).size();
+            Pattern numbered = Pattern.compile(Pattern.quote(animation) + "_frame_(\\d{3,})\\.png");
+            for (File imageFile : CharacterFileManager.listImageFiles(new File(setDir, animation))) {
+                Matcher matcher = numbered.matcher(imageFile.getName());
+                if (matcher.matches() && Integer.parseInt(matcher.group(1)) >= count) {
+                    imageFile.delete();
+                }
+            }
+        }
+    }
+
+    /**
+     * SHA-256 of a frame's ARGB pixels, exactly as they would be encoded
+     */
+    static String hashPixels(Image image) {
+        synchronized (pixelHashes) {
+            String cached = pixelHashes.get(image);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        BufferedImage argb = toArgb(image);
+        int[] pixels = argb.getRGB(0, 0, argb.getWidth(), argb.getHeight(), null, 0, argb.getWidth());
+        ByteBuffer bytes = ByteBuffer.allocate(8 + pixels.length * 4);
+        bytes.putInt(argb.getWidth()).putInt(argb.getHeight());
+        bytes.asIntBuffer().put(pixels);
+        String hash;
+        try {
+            StringBuilder hex = new StringBuilder();
+            for (byte b : MessageDigest.getInstance("SHA-256").digest(bytes.array())) {
+                hex.append(String.format("%02x", b));
+            }
+            hash = hex.toString();
+        } catch (Exception e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        synchronized (pixelHashes) {
+            pixelHashes.put(image, hash);
+        }
+        return hash;
+    }
+
+    private static BufferedImage toArgb(Image image) {
+        if (image instanceof BufferedImage && ((BufferedImage) image).getType() == BufferedImage.TYPE_INT_ARGB) {
+            return (BufferedImage) image;
+        }
+        BufferedImage argb = new BufferedImage(image.getWidth(null), image.getHeight(null), BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = argb.createGraphics();
+        g2d.drawImage(image, 0, 0, null);
+        g2d.dispose();
+        return argb;
+    }
+
+    private static Properties loadManifest(File setDir) {
+        Properties manifest = new Properties();
+        File file = new File(setDir, MANIFEST_NAME);
+        if (file.isFile()) {
+            try (FileInputStream in = new FileInputStream(file)) {
+                manifest.load(in);
+            } catch (IOException e) {
+                System.out.println("Ignoring unreadable frame manifest: " + e.getMessage());
+            }
+        }
+        return manifest;
+    }
+
+    private static void saveManifest(File setDir, Properties manifest) throws IOException {
+        File temp = File.createTempFile("." + MANIFEST_NAME, ".tmp", setDir);
+        try (FileOutputStream out = new FileOutputStream(temp)) {
+            manifest.store(out, "Pixel hashes of saved frames");
+        }
+        moveIntoPlace(temp, new File(setDir, MANIFEST_NAME));
+    }
+}
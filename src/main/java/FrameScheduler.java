@@ -0,0 +1,213 @@
+import javax.swing.Timer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Single clock that drives every pet and enemy timer.
+ *
+ * FrameTimers register here instead of owning a Swing Timer each. Pending
+ * callbacks sit in one queue ordered by deadline, and one Swing Timer wakes
+ * up for the earliest deadline, runs everything that is due on the EDT and
+ * re-arms itself for the next one. 50 pets therefore cost one timer queue
+ * instead of hundreds of independent Swing timers.
+ *
+ * Timers attached to a FrameRateGovernor client have their delays stretched
+ * by the governor, and are parked instead of queued while it is suspended.
+ */
+public class FrameScheduler {
+    private static FrameScheduler instance;
+
+    private final PriorityQueue<FrameTimer> queue = new PriorityQueue<>((a, b) -> {
+        if (a.deadline != b.deadline) {
+            return Long.compare(a.deadline, b.deadline);
+        }
+        return Long.compare(a.sequence, b.sequence); // FIFO for equal deadlines
+    });
+    private final Set<FrameTimer> parked = new LinkedHashSet<>();
+    private final FrameRateGovernor governor = FrameRateGovernor.getInstance();
+    private final Timer clock;
+    private long nextSequence = 0;
+    private long armedDeadline = Long.MAX_VALUE;
+    private long dispatchCount = 0;
+
+    private FrameScheduler() {
+        clock = new Timer(0, e -> dispatchDueTimers());
+        clock.setRepeats(false);
+        clock.setCoalesce(true);
+    }
+
+    public static synchronized FrameScheduler getInstance() {
+        if (instance == null) {
+            instance = new FrameScheduler();
+        }
+        return instance;
+    }
+
+    static long now() {
+        return System.nanoTime() / 1_000_000L;
+    }
+
+    /**
+     * Queue a timer to fire after the given delay
+     */
+    synchronized void schedule(FrameTimer timer, int delayMs) {
+        if (timer.queued) {
+            queue.remove(timer);
+            timer.queued = false;
+        }
+        if (park(timer)) {
+            return;
+        }
+        timer.deadline = now() + Math.max(0, governedDelay(timer, delayMs));
+        timer.sequence = nextSequence++;
+        timer.queued = true;
+        queue.add(timer);
+        rearm();
+    }
+
+    /**
+     * Remove a timer from the queue
+     */
+    synchronized void cancel(FrameTimer timer) {
+        parked.remove(timer);
+        if (timer.queued) {
+            queue.remove(timer);
+            timer.queued = false;
+            rearm();
+        }
+    }
+
+    /**
+     * Run the timers that were due when this dispatch started, in deadline
+     * order. Timers re-queued or scheduled by those callbacks wait for the
+     * next dispatch, so paints and input get the EDT in between.
+     */
+    private void dispatchDueTimers() {
+        long current = now();
+        long batchEnd;
+        synchronized (this) {
+            batchEnd = nextSequence;
+        }
+        while (true) {
+            FrameTimer due;
+            synchronized (this) {
+                armedDeadline = Long.MAX_VALUE;
+                FrameTimer head = queue.peek();
+                if (head == null || head.deadline > current || head.sequence >= batchEnd) {
+                    rearm();
+                    return;
+                }
+                due = queue.poll();
+                due.queued = false;
+                dispatchCount++;
+            }
+
+            long firedDeadline = due.deadline;
+            long startNanos = System.nanoTime();
+            try {
+                due.fire();
+            } catch (Exception e) {
+                System.out.println("Error in scheduled timer: " + e.getMessage());
+            }
+            long endNanos = System.nanoTime();
+            governor.recordTickCost(endNanos - startNanos);
+            governor.maintain(endNanos);
+
+            // Repeating timers go back in the queue unless the callback stopped or restarted them
+            synchronized (this) {
+                if (due.isRunning() && due.isRepeats() && !due.queued && !park(due)) {
+                    int delay = Math.max(1, governedDelay(due, due.getDelay()));
+                    long next = firedDeadline + delay;
+                    if (next <= now()) {
+                        next = now() + delay; // Coalesce missed firings
+                    }
+                    due.deadline = next;
+                    due.sequence = nextSequence++;
+                    due.queued = true;
+                    queue.add(due);
+                }
+            }
+        }
+    }
+
+    /**
+     * Hold a timer back while its governor client is suspended
+     */
+    private boolean park(FrameTimer timer) {
+        FrameRateGovernor.Client client = timer.getRateClient();
+        if (client != null && client.isSuspended()) {
+            parked.add(timer);
+            return true;
+        }
+        return false;
+    }
+
+    private int governedDelay(FrameTimer timer, int delayMs) {
+        FrameRateGovernor.Client client = timer.getRateClient();
+        return client == null ? delayMs : governor.scaleDelay(delayMs, client);
+    }
+
+    /**
+     * Put a client's parked timers back in the queue after it is shown again
+     */
+    void resumeParked(FrameRateGovernor.Client client) {
+        List<FrameTimer> resumed = new ArrayList<>();
+        synchronized (this) {
+            for (FrameTimer timer : parked) {
+                if (timer.getRateClient() == client) {
+                    resumed.add(timer);
+                }
+            }
+            parked.removeAll(resumed);
+        }
+        for (FrameTimer timer : resumed) {
+            if (timer.isRunning()) {
+                schedule(timer, timer.getDelay());
+            }
+        }
+    }
+
+    public synchronized int getParkedCount() {
+        return parked.size();
+    }
+
+    /**
+     * Point the clock at the earliest pending deadline
+     */
+    private void rearm() {
+        FrameTimer head = queue.peek();
+        if (head == null) {
+            armedDeadline = Long.MAX_VALUE;
+            if (clock.isRunning()) {
+                clock.stop();
+            }
+            return;
+        }
+        if (clock.isRunning() && armedDeadline <= head.deadline) {
+            return; // Already waking up early enough
+        }
+        armedDeadline = head.deadline;
+        int wait = (int) Math.max(0, head.deadline - now());
+        clock.setInitialDelay(wait);
+        clock.restart();
+    }
+
+    public synchronized int getPendingCount() {
+        return queue.size();
+    }
+
+    public synchronized long getDispatchCount() {
+        return dispatchCount;
+    }
+
+    /**
+     * One-line summary for debug output
+     */
+    public String getStats() {
+        return "Frame scheduler: " + getPendingCount() + " pending timers, " + getParkedCount() + " parked, "
+            + getDispatchCount() + " callbacks dispatched";
+    }
+}
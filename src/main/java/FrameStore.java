@@ -0,0 +1,213 @@
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Content-addressed store of decoded frames shared by every character set.
+ *
+ * Sets often reuse frames: an idle frame repeated as a walking frame, or the
+ * same pain frames copied between a pet and an enemy. Every decoded frame is
+ * interned here under a SHA-256 of its pixels, so identical frames become one
+ * BufferedImage referenced from every sequence that uses them. Decodes also
+ * register the key of their source bytes, letting a second copy of the same
+ * file skip decoding altogether. Entries are held weakly and disappear once
+ * no sequence uses them. Frame images are never modified after decoding,
+ * which is what makes sharing them safe. Decoding and copying pixels off
+ * the heap happen outside the store's lock; the store is re-checked before
+ * a new frame is inserted, so a racing decode of the same frame is dropped.
+ *
+ * On disk, frames.pack stores each distinct frame once and the decoded frame
+ * cache is already keyed by content. Dedup can be turned off with
+ * -Dpet.frameDedup=false.
+ */
+public class FrameStore {
+    private static boolean enabled = !"false".equalsIgnoreCase(System.getProperty("pet.frameDedup"));
+
+    private static final Map<String, FrameRef> frames = new HashMap<>();
+    private static final Map<String, String> aliases = new HashMap<>(); // Source key -> pixel hash
+    private static final ReferenceQueue<BufferedImage> collected = new ReferenceQueue<>();
+
+    private static final AtomicLong shared = new AtomicLong();
+    private static final AtomicLong sharedBytes = new AtomicLong();
+    private static final AtomicLong packBytesSaved = new AtomicLong();
+
+    /**
+     * Weak handle on an interned frame, remembering its hash for cleanup
+     */
+    private static final class FrameRef extends WeakReference<BufferedImage> {
+        final String hash;
+        boolean counted; // Already in the shared statistics
+
+        FrameRef(String hash, BufferedImage image) {
+            super(image, collected);
+            this.hash = hash;
+        }
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Find a frame by pixel hash or by the key of the source it was decoded from
+     */
+    public static synchronized BufferedImage lookup(String key) {
+        if (!enabled) {
+            return null;
+        }
+        purge();
+        return reuse(aliases.getOrDefault(key, key));
+    }
+
+    /**
+     * Return the stored frame with the same pixels, or store this one.
+     * sourceKey, if given, lets later decodes of the same bytes find it.
+     */
+    public static BufferedImage intern(BufferedImage image, String sourceKey) {
+        if (!enabled) {
+            return OffHeapFrameStore.wrap(image);
+        }
+        String hash = pixelHash(image);
+        synchronized (FrameStore.class) {
+            if (sourceKey != null) {
+                aliases.put(sourceKey, hash);
+            }
+            purge();
+            BufferedImage stored = reuse(hash);
+            if (stored != null) {
+                return stored;
+            }
+        }
+        return store(hash, OffHeapFrameStore.wrap(image)); // Pixels may live off the heap
+    }
+
+    /**
+     * Return the stored frame for a known pixel hash, decoding it only if absent
+     */
+    public static BufferedImage intern(String hash, Supplier<BufferedImage> decode) {
+        if (!enabled) {
+            return OffHeapFrameStore.wrap(decode.get());
+        }
+        synchronized (FrameStore.class) {
+            purge();
+            BufferedImage stored = reuse(hash);
+            if (stored != null) {
+                return stored;
+            }
+        }
+        return store(hash, OffHeapFrameStore.wrap(decode.get()));
+    }
+
+    /**
+     * The stored frame for a hash, counted as shared, or null
+     */
+    private static BufferedImage reuse(String hash) {
+        FrameRef ref = frames.get(hash);
+        BufferedImage image = ref != null ? ref.get() : null;
+        if (image != null && !ref.counted) {
+            // Count each frame once, however often it is looked up again
+            ref.counted = true;
+            shared.incrementAndGet();
+            sharedBytes.addAndGet((long) image.getWidth() * image.getHeight() * 4);
+        }
+        return image;
+    }
+
+    /**
+     * Insert a freshly decoded frame, unless another thread stored one first
+     */
+    private static synchronized BufferedImage store(String hash, BufferedImage image) {
+        BufferedImage stored = reuse(hash);
+        if (stored != null) {
+            return stored;
+        }
+        frames.put(hash, new FrameRef(hash, image));
+        return image;
+    }
+
+    /**
+     * SHA-256 of an image's size and pixels
+     */
+    public static String pixelHash(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] pixels = image.getRaster().getDataBuffer() instanceof DataBufferInt
+            && image.getRaster().getDataBuffer().getSize() == width * height
+            ? ((DataBufferInt) image.getRaster().getDataBuffer()).getData()
+            : image.getRGB(0, 0, width, height, null, 0, width);
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            ByteBuffer bytes = ByteBuffer.allocate(12 + pixels.length * 4);
+            bytes.putInt(image.getType()).putInt(width).putInt(height);
+            bytes.asIntBuffer().put(pixels);
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest.digest(bytes.array())) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (Exception e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Drop entries whose frames are no longer used anywhere
+     */
+    private static void purge() {
+        FrameRef ref;
+        while ((ref = (FrameRef) collected.poll()) != null) {
+            if (frames.get(ref.hash) == ref) {
+                frames.remove(ref.hash);
+            }
+        }
+        if (aliases.size() > frames.size() * 4 + 64) {
+            aliases.values().removeIf(hash -> !frames.containsKey(hash));
+        }
+    }
+
+    /**
+     * Called by CharacterPack for pixel runs it didn't have to write twice
+     */
+    static void recordPackBytesSaved(long bytes) {
+        packBytesSaved.addAndGet(bytes);
+    }
+
+    public static synchronized int getUniqueCount() {
+        purge();
+        return frames.size();
+    }
+
+    public static long getSharedCount() { return shared.get(); }
+    public static long getSharedBytes() { return sharedBytes.get(); }
+    public static long getPackBytesSaved() { return packBytesSaved.get(); }
+
+    public static synchronized void setEnabled(boolean value) {
+        enabled = value;
+    }
+
+    /**
+     * Forget every frame and reset the counters
+     */
+    public static synchronized void clear() {
+        frames.clear();
+        aliases.clear();
+        shared.set(0);
+        sharedBytes.set(0);
+        packBytesSaved.set(0);
+    }
+
+    /**
+     * One-line summary for debug output
+     */
+    public static String getStats() {
+        return "Frame store: " + getUniqueCount() + " unique frames, " + getSharedCount() + " shared, "
+            + (getSharedBytes() / 1024) + " KB memory and " + (getPackBytesSaved() / 1024) + " KB pack space saved";
+    }
+}
@@ -0,0 +1,73 @@
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+
+/**
+ * Drop-in replacement for javax.swing.Timer that runs on the shared FrameScheduler.
+ *
+ * Supports the same start/stop/restart/setDelay/setRepeats calls the pet and
+ * enemy code already uses, and fires its listener on the EDT with itself as
+ * the event source. Starting a FrameTimer only adds an entry to the shared
+ * deadline queue; it does not create another Swing timer.
+ */
+public class FrameTimer {
+    private final ActionListener listener;
+    private int delay;
+    private int initialDelay;
+    private boolean repeats = true;
+    private volatile boolean running = false;
+    private FrameRateGovernor.Client rateClient;
+
+    // Maintained by FrameScheduler while the timer is queued
+    long deadline;
+    long sequence;
+    boolean queued = false;
+
+    public FrameTimer(int delay, ActionListener listener) {
+        this.delay = delay;
+        this.initialDelay = delay;
+        this.listener = listener;
+    }
+
+    public void start() {
+        if (running) return;
+        running = true;
+        FrameScheduler.getInstance().schedule(this, initialDelay);
+    }
+
+    public void stop() {
+        running = false;
+        FrameScheduler.getInstance().cancel(this);
+    }
+
+    public void restart() {
+        stop();
+        start();
+    }
+
+    public boolean isRunning() { return running; }
+    public int getDelay() { return delay; }
+    public int getInitialDelay() { return initialDelay; }
+    public boolean isRepeats() { return repeats; }
+
+    public void setDelay(int delay) { this.delay = delay; }
+    public void setInitialDelay(int initialDelay) { this.initialDelay = initialDelay; }
+    public void setRepeats(boolean repeats) { this.repeats = repeats; }
+    
+    /**
+     * Let the frame-rate governor stretch or suspend this timer
+     */
+    public void setRateClient(FrameRateGovernor.Client client) { this.rateClient = client; }
+    public FrameRateGovernor.Client getRateClient() { return rateClient; }
+
+    /**
+     * Called by the scheduler when the deadline is reached
+     */
+    void fire() {
+        if (!running) return;
+        if (!repeats) {
+            running = false; // One-shot timers are finished once they fire
+        }
+        listener.actionPerformed(new ActionEvent(this, ActionEvent.ACTION_PERFORMED, null,
+                                                 System.currentTimeMillis(), 0));
+    }
+}
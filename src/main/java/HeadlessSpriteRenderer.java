@@ -0,0 +1,93 @@
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+/**
+ * Plays character set animations into an offscreen image.
+ *
+ * Follows the same steps as a live pet: frames are scaled to the pet size
+ * through AnimationFrame.scaleToSize, the pet's own AnimationPlayhead
+ * advances through the shared sequence, left-facing frames come from the
+ * flip cache, and the result is painted by a SpriteView (which also skips
+ * identical frames). No window is needed, so it runs with
+ * -Djava.awt.headless=true.
+ */
+public class HeadlessSpriteRenderer {
+    private final int width;
+    private final int height;
+    private final BufferedImage canvas;
+    private final SpriteView view = new SpriteView();
+    private final AnimationPlayhead playhead = new AnimationPlayhead();
+    private boolean facingRight = true;
+    private long framesRendered = 0;
+    private long framesSkipped = 0;
+
+    public HeadlessSpriteRenderer(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.canvas = CompatibleImages.createTranslucent(width, height);
+        view.setSize(width, height);
+    }
+
+    /**
+     * Scale every frame of a set to this renderer's size, as a pet does on resize
+     */
+    public void prepare(CharacterSet set) {
+        for (AnimationSequence sequence : new AnimationSequence[] {
+                set.getIdleAnimation(), set.getWalkingAnimation(),
+                set.getSpecialAnimation(), set.getPainAnimation()}) {
+            for (AnimationFrame frame : sequence.getFrames()) {
+                if (frame.hasOriginal()) {
+                    frame.scaleToSize(width, height);
+                }
+            }
+        }
+    }
+
+    public void setFacingRight(boolean facingRight) {
+        this.facingRight = facingRight;
+    }
+
+    /**
+     * Advance the sequence by one frame and draw it if it changed. A
+     * non-looping sequence starts over once its last frame was shown, so
+     * every call plays a frame instead of holding the end.
+     *
+     * @return the frame now showing, or null if the sequence is empty
+     */
+    public AnimationFrame renderNextFrame(AnimationSequence sequence) {
+        AnimationFrame frame;
+        if (!sequence.isLoop() && playhead.getSequence() == sequence
+                && playhead.getCurrentFrameIndex() >= sequence.getFrameCount() - 1) {
+            playhead.start(sequence);
+            frame = playhead.getCurrentFrame();
+        } else {
+            playhead.play(sequence);
+            frame = playhead.nextFrame();
+        }
+        if (frame == null || frame.getImage() == null) {
+            return null;
+        }
+
+        BufferedImage displayImage = facingRight ? frame.getDisplayImage() : frame.getFlippedImage();
+        long before = view.getRepaintCount();
+        view.setImage(displayImage);
+        if (view.getRepaintCount() == before) {
+            framesSkipped++; // Same frame as last time - a live pet wouldn't repaint either
+            return frame;
+        }
+
+        Graphics2D g2d = canvas.createGraphics();
+        g2d.setComposite(AlphaComposite.Clear);
+        g2d.fillRect(0, 0, width, height);
+        g2d.setComposite(AlphaComposite.SrcOver);
+        view.paintSprite(g2d, width, height);
+        g2d.dispose();
+        framesRendered++;
+        return frame;
+    }
+
+    public BufferedImage getCanvas() { return canvas; }
+    public long getFramesRendered() { return framesRendered; }
+    public long getFramesSkipped() { return framesSkipped; }
+}
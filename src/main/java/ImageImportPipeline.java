@@ -0,0 +1,213 @@
+import javax.swing.ImageIcon;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Imports image files in stages on a small thread pool.
+ *
+ * Every file is first validated (size limit, extension and a readable image
+ * header, without decoding pixels). Files that pass are decoded and scaled
+ * the same way frames are loaded, and a small thumbnail is rendered for the
+ * import panels. Each file is its own task, so a folder of hundreds of frames
+ * decodes on all cores, and a single completer thread hands results to the
+ * listener in selection order as soon as each one (and every file before it)
+ * is done. Nothing here touches Swing; listeners hop to the EDT themselves.
+ */
+public class ImageImportPipeline {
+    public static final int FRAME_SIZE = 256;
+    public static final int THUMBNAIL_SIZE = 80;
+    private static final int POOL_SIZE = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+    private static final AtomicInteger threadCount = new AtomicInteger();
+
+    private static final ExecutorService pool = Executors.newFixedThreadPool(POOL_SIZE, runnable -> {
+        Thread thread = new Thread(runnable, "image-import-" + threadCount.incrementAndGet());
+        thread.setDaemon(true);
+        thread.setPriority(Thread.NORM_PRIORITY - 1); // Stay behind the EDT
+        return thread;
+    });
+
+    // Delivers results in order, so pool threads never wait on each other
+    private static final ExecutorService completer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "image-import-complete");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Receives results on the completer thread (not the EDT), in file order
+     */
+    public interface Listener {
+        void imported(File file, ImageIcon image, ImageIcon thumbnail);
+        void rejected(File file, String reason);
+        void finished(int imported, int rejected);
+    }
+
+    /**
+     * Outcome of one file: either an image with its thumbnail, or why it was rejected
+     */
+    private static final class Imported {
+        final ImageIcon image;
+        final ImageIcon thumbnail;
+        final String rejection;
+
+        Imported(ImageIcon image, ImageIcon thumbnail, String rejection) {
+            this.image = image;
+            this.thumbnail = thumbnail;
+            this.rejection = rejection;
+        }
+    }
+
+    /**
+     * Start importing files for an import panel. Cancelling the returned
+     * future stops delivery and drops the files not yet decoded.
+     */
+    public static Future<?> importImages(File[] files, Listener listener) {
+        List<Future<Imported>> decodes = new ArrayList<>();
+        for (File file : files) {
+            decodes.add(pool.submit(() -> decode(file)));
+        }
+        return completer.submit(() -> {
+            int imported = 0;
+            int rejected = 0;
+            for (int i = 0; i < files.length; i++) {
+                Imported result;
+                try {
+                    result = decodes.get(i).get();
+                } catch (InterruptedException e) {
+                    for (Future<Imported> decode : decodes) {
+                        decode.cancel(false);
+                    }
+                    return;
+                } catch (ExecutionException e) {
+                    result = new Imported(null, null, String.valueOf(e.getCause().getMessage()));
+                }
+                if (result.rejection == null) {
+                    listener.imported(files[i], result.image, result.thumbnail);
+                    imported++;
+                } else {
+                    System.out.println("Skipped " + files[i].getName() + ": " + result.rejection);
+                    listener.rejected(files[i], result.rejection);
+                    rejected++;
+                }
+            }
+            listener.finished(imported, rejected);
+        });
+    }
+
+    /**
+     * Validation stage: null when the file can be imported, otherwise the reason it can't
+     */
+    static String validate(File file) {
+        if (!file.isFile()) {
+            return "not a file";
+        }
+        if (!CharacterFileManager.isValidImageFile(file)) {
+            return "unsupported type or too large";
+        }
+        if (!CharacterFileManager.hasReadableImageHeader(file)) {
+            return "not a readable image";
+        }
+        return null;
+    }
+
+    private static Imported decode(File file) {
+        String rejection = validate(file);
+        if (rejection != null) {
+            return new Imported(null, null, rejection);
+        }
+        BufferedImage decoded = CharacterFileManager.loadAndScaleImagePreserveAspect(file, FRAME_SIZE);
+        if (decoded == null) {
+            return new Imported(null, null, "could not be decoded");
+        }
+        ImageIcon image = new ImageIcon(decoded); // The import panel shows it in labels
+        return new Imported(image, thumbnailOf(image), null);
+    }
+
+    /**
+     * Fit an imported frame into THUMBNAIL_SIZE for the panel's labels
+     */
+    static ImageIcon thumbnailOf(ImageIcon image) {
+        int width = image.getIconWidth();
+        int height = image.getIconHeight();
+        if (width <= THUMBNAIL_SIZE && height <= THUMBNAIL_SIZE) {
+            return image;
+        }
+        double scale = Math.min((double) THUMBNAIL_SIZE / width, (double) THUMBNAIL_SIZE / height);
+        BufferedImage thumbnail = ScaledImageCache.scale(image.getImage(),
+            Math.max(1, (int) Math.round(width * scale)), Math.max(1, (int) Math.round(height * scale)));
+        return new ImageIcon(thumbnail);
+    }
+
+    /**
+     * Copy the valid files into an animation folder as numbered frames,
+     * validating and copying in parallel. Returns how many were copied.
+     */
+    public static int copyImages(File[] files, File animationDir, String animationType) throws IOException {
+        List<Future<String>> validations = new ArrayList<>();
+        for (File file : files) {
+            validations.add(pool.submit(() -> validate(file)));
+        }
+        List<File> accepted = new ArrayList<>();
+        for (int i = 0; i < files.length; i++) {
+            String rejection = await(validations.get(i));
+            if (rejection == null) {
+                accepted.add(files[i]);
+            } else {
+                System.out.println("Skipped " + files[i].getName() + ": " + rejection);
+            }
+        }
+
+        List<Future<String>> copies = new ArrayList<>();
+        for (int i = 0; i < accepted.size(); i++) {
+            File source = accepted.get(i);
+            String targetName = String.format("%s_frame_%03d%s", animationType, i,
+                CharacterFileManager.getFileExtension(source.getName()));
+            File target = new File(animationDir, targetName);
+            copies.add(pool.submit(() -> {
+                transfer(source, target);
+                return source.getName() + " -> " + targetName;
+            }));
+        }
+        for (Future<String> copy : copies) {
+            System.out.println("Imported: " + await(copy));
+        }
+        return accepted.size();
+    }
+
+    /**
+     * Channel-to-channel copy, which the OS can do without going through Java buffers
+     */
+    static void transfer(File source, File target) throws IOException {
+        try (FileChannel in = FileChannel.open(source.toPath(), StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(target.toPath(), StandardOpenOption.CREATE,
+                 StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long size = in.size();
+            long position = 0;
+            while (position < size) {
+                position += in.transferTo(position, size - position, out);
+            }
+        }
+    }
+
+    private static <T> T await(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Import interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+import java.awt.Point;
+
+/**
+ * Fixed-timestep movement integrator for pets and enemies.
+ *
+ * Movement timers used to move a fixed number of pixels per tick, so speed
+ * depended on how late the EDT delivered each tick. Here each tick adds the
+ * real elapsed time to an accumulator and the caller simulates as many fixed
+ * steps as fit, with speeds in pixels per second. Missed ticks are caught up
+ * (up to a limit, so waking from sleep does not teleport the pet), and the
+ * rendered position is interpolated between the last two simulated steps.
+ *
+ * Typical use from a timer callback:
+ * <pre>
+ *   motion.sync(getLocation());
+ *   motion.advance(System.nanoTime());
+ *   while (motion.nextStep()) {
+ *       motion.moveToward(targetX, targetY, speed);
+ *   }
+ *   setLocation(motion.getRenderPosition());
+ * </pre>
+ */
+public class MotionIntegrator {
+    private final long stepNanos;
+    private final double stepSeconds;
+    private final int maxCatchUpSteps;
+
+    private double x, y;
+    private double previousX, previousY;
+    private long accumulatorNanos = 0;
+    private long lastNanos = -1;
+    private Point lastRendered;
+    private long stepCount = 0;
+
+    /**
+     * @param stepMillis length of one simulation step
+     * @param maxCatchUpSteps most steps simulated for a single late tick
+     */
+    public MotionIntegrator(int stepMillis, int maxCatchUpSteps) {
+        this.stepNanos = Math.max(1, stepMillis) * 1_000_000L;
+        this.stepSeconds = stepNanos / 1_000_000_000.0;
+        this.maxCatchUpSteps = Math.max(1, maxCatchUpSteps);
+    }
+
+    /**
+     * Jump to a position and forget any accumulated time
+     */
+    public void reset(Point position) {
+        x = previousX = position.x;
+        y = previousY = position.y;
+        accumulatorNanos = 0;
+        lastNanos = -1;
+        lastRendered = new Point(position);
+    }
+
+    /**
+     * Re-seed from the window position if something else moved it
+     * (dragging, screen rescue, shaking)
+     */
+    public void sync(Point actual) {
+        if (lastRendered == null || !lastRendered.equals(actual)) {
+            long keepNanos = lastNanos;
+            reset(actual);
+            lastNanos = keepNanos; // Keep timing so the next tick still moves
+        }
+    }
+
+    /**
+     * Add the real time elapsed since the previous call
+     */
+    public void advance(long nowNanos) {
+        if (lastNanos < 0) {
+            lastNanos = nowNanos;
+            accumulatorNanos += stepNanos; // First tick moves one step right away
+        } else {
+            accumulatorNanos += Math.max(0, nowNanos - lastNanos);
+            lastNanos = nowNanos;
+        }
+        long maxBacklog = stepNanos * maxCatchUpSteps;
+        if (accumulatorNanos > maxBacklog) {
+            accumulatorNanos = maxBacklog; // Drop time we can't reasonably catch up on
+        }
+    }
+
+    /**
+     * Consume one fixed step of accumulated time, if available
+     */
+    public boolean nextStep() {
+        if (accumulatorNanos < stepNanos) {
+            return false;
+        }
+        accumulatorNanos -= stepNanos;
+        previousX = x;
+        previousY = y;
+        stepCount++;
+        return true;
+    }
+
+    /**
+     * Move each axis toward a target by at most speed * step, without overshooting
+     */
+    public void moveToward(double targetX, double targetY, double pixelsPerSecond) {
+        double maxDistance = pixelsPerSecond * stepSeconds;
+        x += clamp(targetX - x, maxDistance);
+        y += clamp(targetY - y, maxDistance);
+    }
+
+    /**
+     * Move by a velocity in pixels per second for one step
+     */
+    public void move(double velocityX, double velocityY) {
+        x += velocityX * stepSeconds;
+        y += velocityY * stepSeconds;
+    }
+
+    /**
+     * Override the simulated position (e.g. after clamping to the screen)
+     */
+    public void setPosition(Point position) {
+        x = position.x;
+        y = position.y;
+    }
+
+    private static double clamp(double delta, double max) {
+        if (delta > max) return max;
+        if (delta < -max) return -max;
+        return delta;
+    }
+
+    public double getX() { return x; }
+    public double getY() { return y; }
+    public double getStepSeconds() { return stepSeconds; }
+    public long getStepCount() { return stepCount; }
+
+    /**
+     * Simulated position rounded to whole pixels
+     */
+    public Point getPosition() {
+        return new Point((int) Math.round(x), (int) Math.round(y));
+    }
+
+    /**
+     * Position to draw now, interpolated between the last two steps by the
+     * leftover fraction of a step. Remembered so sync() can spot outside moves.
+     */
+    public Point getRenderPosition() {
+        double alpha = Math.min(1.0, (double) accumulatorNanos / stepNanos);
+        lastRendered = new Point(
+            (int) Math.round(previousX + (x - previousX) * alpha),
+            (int) Math.round(previousY + (y - previousY) * alpha));
+        return new Point(lastRendered);
+    }
+
+    /**
+     * Mark a position as drawn without interpolation (e.g. on arrival)
+     */
+    public Point settle() {
+        previousX = x;
+        previousY = y;
+        lastRendered = getPosition();
+        return new Point(lastRendered);
+    }
+}
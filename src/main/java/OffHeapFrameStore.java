@@ -0,0 +1,132 @@
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.color.ColorSpace;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferInt;
+import java.awt.image.DirectColorModel;
+import java.awt.image.Raster;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.awt.image.WritableRaster;
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Optional storage of frame pixels outside the Java heap.
+ *
+ * With -Dpet.offHeapFrames=true, frames interned by the FrameStore keep their
+ * premultiplied ARGB pixels in a direct ByteBuffer instead of an int[] raster,
+ * so loading more or larger sets does not grow the heap the collector has to
+ * scan. The frames handed out are ordinary BufferedImages whose raster reads
+ * from that buffer. Drawing from such a raster is many times slower than from
+ * a heap one, which is fine because these are the full-size originals: they
+ * are only read when a frame is scaled to a display size, and the scaled copy
+ * (which is what gets drawn every tick) lives on the heap. A frame drawn at
+ * its original size draws from a heap copy made by toHeap the first time it
+ * is drawn, so frames that are only previewed or rescaled never hold both.
+ * The first rescale also moves the original into a heap CompressedFrame and
+ * lets go of it here, so the off-heap tier mainly holds frames that have
+ * been loaded but not yet shown. Direct memory is released when the image
+ * is collected.
+ */
+public class OffHeapFrameStore {
+    private static final Cleaner cleaner = Cleaner.create();
+    private static final DirectColorModel PREMULTIPLIED_ARGB = new DirectColorModel(
+        ColorSpace.getInstance(ColorSpace.CS_sRGB), 32,
+        0x00FF0000, 0x0000FF00, 0x000000FF, 0xFF000000, true, DataBuffer.TYPE_INT);
+
+    private static boolean enabled = "true".equalsIgnoreCase(System.getProperty("pet.offHeapFrames"));
+
+    private static final AtomicLong offHeapBytes = new AtomicLong();
+    private static final AtomicLong frameCount = new AtomicLong();
+
+    /**
+     * Int pixels held in direct memory
+     */
+    private static final class DirectDataBuffer extends DataBuffer {
+        private final IntBuffer pixels;
+
+        DirectDataBuffer(IntBuffer pixels, int size) {
+            super(TYPE_INT, size);
+            this.pixels = pixels;
+        }
+
+        @Override
+        public int getElem(int bank, int i) {
+            return pixels.get(i);
+        }
+
+        @Override
+        public void setElem(int bank, int i, int val) {
+            pixels.put(i, val);
+        }
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean value) {
+        enabled = value;
+    }
+
+    /**
+     * Move a decoded frame's pixels off the heap when enabled; otherwise return it as is
+     */
+    public static BufferedImage wrap(BufferedImage image) {
+        if (!enabled || image == null || isOffHeap(image)) {
+            return image;
+        }
+        BufferedImage premultiplied = CompatibleImages.toPremultiplied(image);
+        int width = premultiplied.getWidth();
+        int height = premultiplied.getHeight();
+        long bytes = (long) width * height * 4;
+        IntBuffer pixels = ByteBuffer.allocateDirect((int) bytes).order(ByteOrder.nativeOrder()).asIntBuffer();
+        pixels.put(((DataBufferInt) premultiplied.getRaster().getDataBuffer()).getData(), 0, width * height);
+
+        SinglePixelPackedSampleModel layout = new SinglePixelPackedSampleModel(DataBuffer.TYPE_INT, width, height,
+            PREMULTIPLIED_ARGB.getMasks());
+        WritableRaster raster = Raster.createWritableRaster(layout, new DirectDataBuffer(pixels, width * height), null);
+        BufferedImage offHeap = new BufferedImage(PREMULTIPLIED_ARGB, raster, true, null);
+        offHeapBytes.addAndGet(bytes);
+        frameCount.incrementAndGet();
+        cleaner.register(offHeap, () -> {
+            offHeapBytes.addAndGet(-bytes);
+            frameCount.decrementAndGet();
+        });
+        return offHeap;
+    }
+
+    /**
+     * Whether an image's pixels live in direct memory (and are slow to draw directly)
+     */
+    public static boolean isOffHeap(BufferedImage image) {
+        return image != null && image.getRaster().getDataBuffer() instanceof DirectDataBuffer;
+    }
+
+    /**
+     * Heap copy of an off-heap frame in the display's format, for drawing it at its original size
+     */
+    public static BufferedImage toHeap(BufferedImage image) {
+        BufferedImage copy = CompatibleImages.createTranslucent(image.getWidth(), image.getHeight());
+        Graphics2D g2d = copy.createGraphics();
+        g2d.setComposite(AlphaComposite.Src);
+        g2d.drawImage(image, 0, 0, null);
+        g2d.dispose();
+        return copy;
+    }
+
+    public static long getOffHeapBytes() { return offHeapBytes.get(); }
+    public static long getFrameCount() { return frameCount.get(); }
+
+    /**
+     * One-line summary for debug output
+     */
+    public static String getStats() {
+        return "Off-heap frames: " + (enabled ? "on" : "off") + ", " + getFrameCount() + " frames in "
+            + (getOffHeapBytes() / 1024) + " KB direct";
+    }
+}
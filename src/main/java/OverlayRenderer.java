@@ -0,0 +1,320 @@
+import javax.swing.JComponent;
+import javax.swing.JWindow;
+import javax.swing.SwingUtilities;
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsDevice;
+import java.awt.GraphicsEnvironment;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.geom.Area;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Optional renderer that draws every pet, enemy and effect into one
+ * transparent always-on-top window per monitor.
+ *
+ * In the default mode each character is its own JWindow, which costs a
+ * native toplevel and a native move per step. With -Dpet.renderer=overlay
+ * characters become sprites: moving one only repaints its old and new
+ * bounds inside the monitor's overlay. Each overlay is shaped to the union
+ * of its sprite bounds so clicks elsewhere reach the desktop, and mouse
+ * events are hit-tested against sprite bounds and forwarded to the
+ * sprite's own component, so existing mouse listeners keep working.
+ */
+public class OverlayRenderer {
+    private static OverlayRenderer instance;
+
+    // Insertion order is paint order: later sprites draw on top
+    private final Map<OverlaySprite, Rectangle> sprites = new LinkedHashMap<>();
+    private final List<MonitorOverlay> monitors = new ArrayList<>();
+    private final boolean shapingSupported;
+    private boolean shapeUpdatePending = false;
+    private OverlaySprite captured; // Sprite that received the current press/drag
+
+    private OverlayRenderer() {
+        GraphicsDevice device = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice();
+        shapingSupported = device.isWindowTranslucencySupported(GraphicsDevice.WindowTranslucency.PERPIXEL_TRANSPARENT);
+        createMonitorOverlays();
+        CompatibleImages.addDisplayChangeListener(() -> SwingUtilities.invokeLater(this::rebuildMonitorOverlays));
+    }
+
+    /**
+     * Check whether overlay rendering was requested and can work here
+     */
+    public static boolean isEnabled() {
+        if (!"overlay".equalsIgnoreCase(System.getProperty("pet.renderer", "window"))) {
+            return false;
+        }
+        if (GraphicsEnvironment.isHeadless()) {
+            return false;
+        }
+        try {
+            return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+                .isWindowTranslucencySupported(GraphicsDevice.WindowTranslucency.PERPIXEL_TRANSLUCENT);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    public static synchronized OverlayRenderer getInstance() {
+        if (instance == null) {
+            instance = new OverlayRenderer();
+        }
+        return instance;
+    }
+
+    /**
+     * Start drawing a sprite on top of the existing ones
+     */
+    public void add(OverlaySprite sprite) {
+        Rectangle bounds = new Rectangle(sprite.getOverlayBounds());
+        synchronized (sprites) {
+            if (sprites.containsKey(sprite)) {
+                return;
+            }
+            sprites.put(sprite, bounds);
+        }
+        repaintArea(bounds);
+        scheduleShapeUpdate();
+    }
+
+    /**
+     * Stop drawing a sprite
+     */
+    public void remove(OverlaySprite sprite) {
+        Rectangle bounds;
+        synchronized (sprites) {
+            bounds = sprites.remove(sprite);
+        }
+        if (captured == sprite) {
+            captured = null;
+        }
+        if (bounds != null) {
+            repaintArea(bounds);
+            scheduleShapeUpdate();
+        }
+    }
+
+    /**
+     * Repaint a sprite after its frame, opacity or position changed
+     */
+    public void spriteChanged(OverlaySprite sprite) {
+        Rectangle newBounds = new Rectangle(sprite.getOverlayBounds());
+        Rectangle oldBounds;
+        synchronized (sprites) {
+            oldBounds = sprites.get(sprite);
+            if (oldBounds == null) {
+                return; // Not currently shown
+            }
+            sprites.put(sprite, newBounds);
+        }
+        if (oldBounds.equals(newBounds)) {
+            repaintArea(newBounds);
+        } else {
+            repaintArea(oldBounds.union(newBounds));
+            scheduleShapeUpdate();
+        }
+    }
+
+    private List<Map.Entry<OverlaySprite, Rectangle>> snapshot() {
+        synchronized (sprites) {
+            return new ArrayList<>(sprites.entrySet());
+        }
+    }
+
+    private void repaintArea(Rectangle screenArea) {
+        for (MonitorOverlay monitor : monitors) {
+            Rectangle hit = monitor.bounds.intersection(screenArea);
+            if (!hit.isEmpty()) {
+                monitor.canvas.repaint(hit.x - monitor.bounds.x, hit.y - monitor.bounds.y, hit.width, hit.height);
+            }
+        }
+    }
+
+    /**
+     * Reshape the overlays once per event-queue pass, however many sprites moved
+     */
+    private void scheduleShapeUpdate() {
+        if (shapeUpdatePending) {
+            return;
+        }
+        shapeUpdatePending = true;
+        SwingUtilities.invokeLater(() -> {
+            shapeUpdatePending = false;
+            updateShapes();
+        });
+    }
+
+    private void updateShapes() {
+        List<Map.Entry<OverlaySprite, Rectangle>> current = snapshot();
+        for (MonitorOverlay monitor : monitors) {
+            Area shape = new Area();
+            for (Map.Entry<OverlaySprite, Rectangle> entry : current) {
+                Rectangle hit = monitor.bounds.intersection(entry.getValue());
+                if (!hit.isEmpty()) {
+                    hit.translate(-monitor.bounds.x, -monitor.bounds.y);
+                    shape.add(new Area(hit));
+                }
+            }
+
+            if (shape.isEmpty()) {
+                if (monitor.window.isVisible()) {
+                    monitor.window.setVisible(false);
+                }
+                continue;
+            }
+            if (shapingSupported) {
+                monitor.window.setShape(shape);
+            }
+            if (!monitor.window.isVisible()) {
+                monitor.window.setVisible(true);
+            }
+        }
+    }
+
+    /**
+     * Topmost input-accepting sprite under a screen point
+     */
+    private OverlaySprite findSpriteAt(Point screenPoint) {
+        List<Map.Entry<OverlaySprite, Rectangle>> current = snapshot();
+        for (int i = current.size() - 1; i >= 0; i--) {
+            Map.Entry<OverlaySprite, Rectangle> entry = current.get(i);
+            if (entry.getKey().getOverlayInputTarget() != null && entry.getValue().contains(screenPoint)) {
+                return entry.getKey();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Re-send an overlay mouse event to the sprite's own component
+     */
+    private void forward(MouseEvent e, MonitorOverlay monitor) {
+        Point screenPoint = new Point(e.getX() + monitor.bounds.x, e.getY() + monitor.bounds.y);
+
+        OverlaySprite target;
+        if (e.getID() == MouseEvent.MOUSE_PRESSED) {
+            captured = findSpriteAt(screenPoint);
+            target = captured;
+        } else if (captured != null && (e.getID() == MouseEvent.MOUSE_DRAGGED || e.getID() == MouseEvent.MOUSE_RELEASED)) {
+            target = captured; // Drags stay with the sprite that was pressed
+        } else {
+            target = findSpriteAt(screenPoint);
+        }
+        if (e.getID() == MouseEvent.MOUSE_RELEASED) {
+            captured = null;
+        }
+        if (target == null) {
+            return;
+        }
+
+        Component component = target.getOverlayInputTarget();
+        Rectangle bounds = target.getOverlayBounds();
+        component.dispatchEvent(new MouseEvent(component, e.getID(), e.getWhen(), e.getModifiersEx(),
+            screenPoint.x - bounds.x, screenPoint.y - bounds.y, screenPoint.x, screenPoint.y,
+            e.getClickCount(), e.isPopupTrigger(), e.getButton()));
+    }
+
+    private void createMonitorOverlays() {
+        for (GraphicsDevice device : GraphicsEnvironment.getLocalGraphicsEnvironment().getScreenDevices()) {
+            monitors.add(new MonitorOverlay(device.getDefaultConfiguration().getBounds()));
+        }
+    }
+
+    /**
+     * Recreate the overlays after monitors were added, removed or moved
+     */
+    private void rebuildMonitorOverlays() {
+        for (MonitorOverlay monitor : monitors) {
+            monitor.window.dispose();
+        }
+        monitors.clear();
+        createMonitorOverlays();
+        updateShapes();
+    }
+
+    public int getSpriteCount() {
+        synchronized (sprites) {
+            return sprites.size();
+        }
+    }
+
+    /**
+     * One-line summary for debug output
+     */
+    public String getStats() {
+        int visibleMonitors = 0;
+        for (MonitorOverlay monitor : monitors) {
+            if (monitor.window.isVisible()) {
+                visibleMonitors++;
+            }
+        }
+        return "Overlay renderer: " + getSpriteCount() + " sprites on " + visibleMonitors + "/" + monitors.size() + " monitor overlays";
+    }
+
+    /**
+     * One transparent window covering a single monitor
+     */
+    private class MonitorOverlay {
+        final Rectangle bounds;
+        final JWindow window;
+        final JComponent canvas;
+
+        MonitorOverlay(Rectangle bounds) {
+            this.bounds = new Rectangle(bounds);
+
+            canvas = new JComponent() {
+                @Override
+                protected void paintComponent(Graphics g) {
+                    paintSprites((Graphics2D) g, MonitorOverlay.this);
+                }
+            };
+            canvas.setOpaque(false);
+
+            MouseAdapter forwarder = new MouseAdapter() {
+                @Override public void mousePressed(MouseEvent e) { forward(e, MonitorOverlay.this); }
+                @Override public void mouseReleased(MouseEvent e) { forward(e, MonitorOverlay.this); }
+                @Override public void mouseClicked(MouseEvent e) { forward(e, MonitorOverlay.this); }
+                @Override public void mouseDragged(MouseEvent e) { forward(e, MonitorOverlay.this); }
+                @Override public void mouseMoved(MouseEvent e) { forward(e, MonitorOverlay.this); }
+            };
+            canvas.addMouseListener(forwarder);
+            canvas.addMouseMotionListener(forwarder);
+
+            window = new JWindow();
+            window.setAlwaysOnTop(true);
+            window.setFocusableWindowState(false);
+            window.setBackground(new Color(0, 0, 0, 0));
+            window.setContentPane(canvas);
+            window.setBounds(this.bounds);
+        }
+    }
+
+    private void paintSprites(Graphics2D g, MonitorOverlay monitor) {
+        Rectangle clip = g.getClipBounds();
+        for (Map.Entry<OverlaySprite, Rectangle> entry : snapshot()) {
+            Rectangle local = new Rectangle(entry.getValue());
+            local.translate(-monitor.bounds.x, -monitor.bounds.y);
+            if (clip != null && !clip.intersects(local)) {
+                continue;
+            }
+            Graphics2D spriteGraphics = (Graphics2D) g.create(local.x, local.y, local.width, local.height);
+            try {
+                entry.getKey().paintOverlay(spriteGraphics);
+            } catch (Exception e) {
+                System.out.println("Error painting overlay sprite: " + e.getMessage());
+            } finally {
+                spriteGraphics.dispose();
+            }
+        }
+    }
+}
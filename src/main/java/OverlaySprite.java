@@ -0,0 +1,26 @@
+import java.awt.Component;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+
+/**
+ * Something drawn into the shared monitor overlays by OverlayRenderer.
+ */
+public interface OverlaySprite {
+
+    /**
+     * Screen-space bounds of the sprite
+     */
+    Rectangle getOverlayBounds();
+
+    /**
+     * Paint the sprite. The graphics origin is the sprite's top-left corner
+     * and the clip is its bounds.
+     */
+    void paintOverlay(Graphics2D g);
+
+    /**
+     * Component that should receive mouse events hitting this sprite, or
+     * null if the sprite ignores input (effects)
+     */
+    Component getOverlayInputTarget();
+}
@@ -0,0 +1,187 @@
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Downscales sprites by repeated halving plus one final bilinear step.
+ *
+ * A single bilinear or bicubic draw from a large source to a small target
+ * only samples a few source pixels per output pixel, so detail aliases;
+ * area averaging (getScaledInstance with SCALE_SMOOTH) looks right but is
+ * slow. Here each axis is halved with a two-pixel average while it is still
+ * at least twice the target size, then the image is resampled bilinearly to
+ * the exact size, which is close to area averaging at a fraction of the
+ * cost. Work is done
+ * on premultiplied ARGB ints so transparent edges don't darken. Images
+ * larger than TILE_PIXELS are split into bands of rows that are scaled in
+ * parallel on the "image-scale-N" threads.
+ */
+public class ProgressiveScaler {
+    static final int TILE_PIXELS = 256 * 256;
+    private static final int POOL_SIZE = Math.max(1, Runtime.getRuntime().availableProcessors());
+    private static final AtomicInteger threadCount = new AtomicInteger();
+    private static final ExecutorService pool = Executors.newFixedThreadPool(POOL_SIZE, runnable -> {
+        Thread thread = new Thread(runnable, "image-scale-" + threadCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Scale rows from (inclusive) to (exclusive) of the output
+     */
+    private interface RowTask {
+        void rows(int from, int to);
+    }
+
+    /**
+     * Scale an image into a new compatible BufferedImage
+     */
+    public static BufferedImage scale(Image source, int width, int height) {
+        return scale(source, width, height, true);
+    }
+
+    static BufferedImage scale(Image source, int width, int height, boolean parallel) {
+        BufferedImage premultiplied = CompatibleImages.toPremultiplied(source);
+        int w = premultiplied.getWidth();
+        int h = premultiplied.getHeight();
+        int[] pixels = ((DataBufferInt) premultiplied.getRaster().getDataBuffer()).getData();
+
+        // Halve each direction while it is at least twice the target
+        while (w / 2 >= width || h / 2 >= height) {
+            boolean halveX = w / 2 >= width;
+            boolean halveY = h / 2 >= height;
+            pixels = halve(pixels, w, h, halveX, halveY, parallel);
+            w = halveX ? (w + 1) / 2 : w;
+            h = halveY ? (h + 1) / 2 : h;
+        }
+        if (w != width || h != height) {
+            pixels = resample(pixels, w, h, width, height, parallel);
+        }
+
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+        System.arraycopy(pixels, 0, ((DataBufferInt) target.getRaster().getDataBuffer()).getData(), 0, width * height);
+        return CompatibleImages.toCompatible(target);
+    }
+
+    /**
+     * Average pairs of pixels along the chosen axes (2x2, 2x1 or 1x2 blocks).
+     * An odd last row or column is averaged with itself rather than dropped.
+     */
+    static int[] halve(int[] source, int width, int height, boolean halveX, boolean halveY, boolean parallel) {
+        int halfWidth = halveX ? (width + 1) / 2 : width;
+        int halfHeight = halveY ? (height + 1) / 2 : height;
+        int[] target = new int[halfWidth * halfHeight];
+        forEachBand(halfHeight, (long) width * height, parallel, (from, to) -> {
+            for (int y = from; y < to; y++) {
+                int sy = halveY ? y * 2 : y;
+                int top = sy * width;
+                int bottom = halveY ? Math.min(sy + 1, height - 1) * width : top;
+                int out = y * halfWidth;
+                for (int x = 0; x < halfWidth; x++) {
+                    int left = halveX ? x * 2 : x;
+                    int right = halveX ? Math.min(left + 1, width - 1) : left;
+                    target[out + x] = average(source[top + left], source[top + right],
+                        source[bottom + left], source[bottom + right]);
+                }
+            }
+        });
+        return target;
+    }
+
+    private static int average(int a, int b, int c, int d) {
+        // Per channel: (a + b + c + d + 2) / 4, alpha through blue
+        int alpha = (((a >>> 24) + (b >>> 24) + (c >>> 24) + (d >>> 24) + 2) >> 2) << 24;
+        int red = ((((a >> 16) & 0xFF) + ((b >> 16) & 0xFF) + ((c >> 16) & 0xFF) + ((d >> 16) & 0xFF) + 2) >> 2) << 16;
+        int green = ((((a >> 8) & 0xFF) + ((b >> 8) & 0xFF) + ((c >> 8) & 0xFF) + ((d >> 8) & 0xFF) + 2) >> 2) << 8;
+        int blue = ((a & 0xFF) + (b & 0xFF) + (c & 0xFF) + (d & 0xFF) + 2) >> 2;
+        return alpha | red | green | blue;
+    }
+
+    /**
+     * Bilinear resample to an exact size, sampling at pixel centers
+     */
+    static int[] resample(int[] source, int sourceWidth, int sourceHeight, int width, int height, boolean parallel) {
+        int[] target = new int[width * height];
+        // Column lookups are the same for every row: left index and 8-bit weight of the right pixel
+        int[] left = new int[width];
+        int[] right = new int[width];
+        int[] weightX = new int[width];
+        for (int x = 0; x < width; x++) {
+            double sx = Math.max(0, (x + 0.5) * sourceWidth / width - 0.5);
+            left[x] = Math.min((int) sx, sourceWidth - 1);
+            right[x] = Math.min(left[x] + 1, sourceWidth - 1);
+            weightX[x] = (int) Math.round((sx - (int) sx) * 256);
+        }
+        forEachBand(height, (long) width * height, parallel, (from, to) -> {
+            for (int y = from; y < to; y++) {
+                double sy = Math.max(0, (y + 0.5) * sourceHeight / height - 0.5);
+                int top = Math.min((int) sy, sourceHeight - 1) * sourceWidth;
+                int bottom = Math.min((int) sy + 1, sourceHeight - 1) * sourceWidth;
+                int weightY = (int) Math.round((sy - (int) sy) * 256);
+                int out = y * width;
+                for (int x = 0; x < width; x++) {
+                    int upper = lerp(source[top + left[x]], source[top + right[x]], weightX[x]);
+                    int lower = lerp(source[bottom + left[x]], source[bottom + right[x]], weightX[x]);
+                    target[out + x] = lerp(upper, lower, weightY);
+                }
+            }
+        });
+        return target;
+    }
+
+    /**
+     * Blend two pixels per channel; weight is the share of b out of 256
+     */
+    private static int lerp(int a, int b, int weight) {
+        if (weight == 0 || a == b) {
+            return a;
+        }
+        int inverse = 256 - weight;
+        int alpha = ((a >>> 24) * inverse + (b >>> 24) * weight + 128) >> 8;
+        int red = (((a >> 16) & 0xFF) * inverse + ((b >> 16) & 0xFF) * weight + 128) >> 8;
+        int green = (((a >> 8) & 0xFF) * inverse + ((b >> 8) & 0xFF) * weight + 128) >> 8;
+        int blue = ((a & 0xFF) * inverse + (b & 0xFF) * weight + 128) >> 8;
+        return (alpha << 24) | (red << 16) | (green << 8) | blue;
+    }
+
+    /**
+     * Run a task over all output rows, in parallel bands when the work is large enough
+     */
+    private static void forEachBand(int height, long work, boolean parallel, RowTask task) {
+        int bands = Math.min(POOL_SIZE * 2, height);
+        if (!parallel || work < TILE_PIXELS || POOL_SIZE == 1 || bands < 2
+                || Thread.currentThread().getName().startsWith("image-scale-")) {
+            task.rows(0, height);
+            return;
+        }
+        List<Future<?>> futures = new ArrayList<>();
+        int rowsPerBand = (height + bands - 1) / bands;
+        for (int from = rowsPerBand; from < height; from += rowsPerBand) {
+            int start = from;
+            int end = Math.min(height, from + rowsPerBand);
+            futures.add(pool.submit(() -> task.rows(start, end)));
+        }
+        task.rows(0, Math.min(height, rowsPerBand)); // The caller takes the first band itself
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while scaling", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Scaling failed", e.getCause());
+            }
+        }
+    }
+
+    static int getPoolSize() {
+        return POOL_SIZE;
+    }
+}
@@ -0,0 +1,264 @@
+import javax.swing.ImageIcon;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Process-wide cache of scaled sprites.
+ *
+ * Every distinct (source image, width, height) is scaled once into a
+ * display-compatible BufferedImage and the same image is handed to every
+ * frame, enemy and preview that asks for it. Swing callers that need an
+ * ImageIcon get one made once per entry, on first request. Entries are evicted least recently
+ * used first once the cached pixels exceed the memory bound, which can be set
+ * in megabytes with -Dpet.scaleCacheMB (default 64).
+ */
+public class ScaledImageCache {
+    private static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+    private static final LinkedHashMap<Key, Entry> cache = new LinkedHashMap<>(64, 0.75f, true);
+    private static long maxBytes = readMaxBytes();
+    private static final boolean progressive = !"false".equalsIgnoreCase(System.getProperty("pet.progressiveScale"));
+    private static long currentBytes = 0;
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+    private static final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Source identity plus target size. The source (an image, or whatever a
+     * frame keeps its original in) is held weakly so the cache never keeps
+     * unloaded frames alive; stale keys simply age out.
+     */
+    private static final class Key {
+        final WeakReference<Object> source;
+        final int sourceHash;
+        final int width;
+        final int height;
+
+        Key(Object source, int width, int height) {
+            this.source = new WeakReference<>(source);
+            this.sourceHash = System.identityHashCode(source);
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            Object mine = source.get();
+            return mine != null && mine == other.source.get()
+                && width == other.width && height == other.height;
+        }
+
+        @Override
+        public int hashCode() {
+            return (sourceHash * 31 + width) * 31 + height;
+        }
+    }
+
+    /**
+     * A scaled image and, once a Swing caller has asked, its icon
+     */
+    private static final class Entry {
+        final BufferedImage image;
+        ImageIcon icon;
+
+        Entry(BufferedImage image) {
+            this.image = image;
+        }
+
+        synchronized ImageIcon icon() {
+            if (icon == null) {
+                icon = new ImageIcon(image);
+            }
+            return icon;
+        }
+    }
+
+    /**
+     * Get an icon scaled to the given size, scaling it on first use
+     */
+    public static ImageIcon getScaled(ImageIcon source, int width, int height) {
+        if (source == null) {
+            return null;
+        }
+        return getScaled(source.getImage(), width, height);
+    }
+
+    /**
+     * Get an icon for an image scaled to the given size, scaling it on first use
+     */
+    public static ImageIcon getScaled(Image source, int width, int height) {
+        if (source == null || width <= 0 || height <= 0) {
+            return source != null ? new ImageIcon(source) : null;
+        }
+        return getEntry(source, () -> source, width, height).icon();
+    }
+
+    /**
+     * Get an image scaled to the given size, scaling it on first use
+     */
+    public static BufferedImage getScaledImage(Image source, int width, int height) {
+        if (source == null || width <= 0 || height <= 0) {
+            return source instanceof BufferedImage ? (BufferedImage) source : null;
+        }
+        return getEntry(source, () -> source, width, height).image;
+    }
+
+    /**
+     * Get a scaled copy of a source that only has to be decoded when this
+     * size isn't cached yet. owner identifies the source in the cache.
+     */
+    public static BufferedImage getScaledImage(Object owner, Supplier<? extends Image> decode, int width, int height) {
+        if (owner == null || width <= 0 || height <= 0) {
+            return null;
+        }
+        return getEntry(owner, decode, width, height).image;
+    }
+
+    private static Entry getEntry(Object owner, Supplier<? extends Image> decode, int width, int height) {
+        Key key = new Key(owner, width, height);
+        synchronized (cache) {
+            Entry cached = cache.get(key);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
+            }
+        }
+
+        misses.incrementAndGet();
+        Entry scaled = new Entry(scale(decode.get(), width, height));
+
+        synchronized (cache) {
+            Entry existing = cache.get(key);
+            if (existing != null) {
+                return existing; // Another thread scaled it first
+            }
+            cache.put(key, scaled);
+            currentBytes += bytesOf(width, height);
+            evictIfNeeded();
+        }
+        return scaled;
+    }
+
+    /**
+     * Scale an image into a new compatible BufferedImage without caching it.
+     * Used for one-off loads where the source is discarded right away.
+     * Downscales go through ProgressiveScaler unless -Dpet.progressiveScale=false.
+     */
+    public static BufferedImage scale(Image source, int width, int height) {
+        if (progressive && width <= source.getWidth(null) && height <= source.getHeight(null)) {
+            return ProgressiveScaler.scale(source, width, height);
+        }
+        return scaleBicubic(source, width, height);
+    }
+
+    /**
+     * Scale with one bicubic draw (used for enlarging)
+     */
+    static BufferedImage scaleBicubic(Image source, int width, int height) {
+        BufferedImage target = CompatibleImages.createTranslucent(width, height);
+        Graphics2D g2d = target.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+        g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g2d.setRenderingHint(RenderingHints.KEY_ALPHA_INTERPOLATION, RenderingHints.VALUE_ALPHA_INTERPOLATION_QUALITY);
+        g2d.drawImage(source, 0, 0, width, height, null);
+        g2d.dispose();
+        return target;
+    }
+
+    private static long bytesOf(int width, int height) {
+        return (long) width * height * 4;
+    }
+
+    /**
+     * Drop least recently used entries until the cache fits its bound.
+     * Must be called while holding the cache lock.
+     */
+    private static void evictIfNeeded() {
+        Iterator<Map.Entry<Key, Entry>> it = cache.entrySet().iterator();
+        while (currentBytes > maxBytes && it.hasNext()) {
+            Map.Entry<Key, Entry> eldest = it.next();
+            currentBytes -= bytesOf(eldest.getKey().width, eldest.getKey().height);
+            it.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    private static long readMaxBytes() {
+        String value = System.getProperty("pet.scaleCacheMB");
+        if (value != null) {
+            try {
+                return Math.max(1, Long.parseLong(value.trim())) * 1024 * 1024;
+            } catch (NumberFormatException e) {
+                System.out.println("Invalid pet.scaleCacheMB value: " + value);
+            }
+        }
+        return DEFAULT_MAX_BYTES;
+    }
+
+    /**
+     * Change the memory bound, evicting immediately if needed
+     */
+    public static void setMaxBytes(long bytes) {
+        synchronized (cache) {
+            maxBytes = Math.max(0, bytes);
+            evictIfNeeded();
+        }
+    }
+
+    /**
+     * Drop all cached scales (e.g. after frames are rebuilt)
+     */
+    public static void clear() {
+        synchronized (cache) {
+            cache.clear();
+            currentBytes = 0;
+        }
+    }
+
+    public static int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    public static long getCurrentBytes() {
+        synchronized (cache) {
+            return currentBytes;
+        }
+    }
+
+    public static long getMaxBytes() {
+        synchronized (cache) {
+            return maxBytes;
+        }
+    }
+
+    public static long getHitCount() { return hits.get(); }
+    public static long getMissCount() { return misses.get(); }
+    public static long getEvictionCount() { return evictions.get(); }
+
+    public static void resetCounters() {
+        hits.set(0);
+        misses.set(0);
+        evictions.set(0);
+    }
+
+    /**
+     * One-line summary for debug output
+     */
+    public static String getStats() {
+        return "Scale cache: " + size() + " entries, " + (getCurrentBytes() / 1024) + "/" + (getMaxBytes() / 1024)
+            + " KB, " + getHitCount() + " hits, " + getMissCount() + " misses, " + getEvictionCount() + " evictions";
+    }
+}
@@ -0,0 +1,144 @@
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+
+/**
+ * Compares sprite downscaling paths without opening any windows.
+ *
+ * Usage:
+ *   java -cp target ScalerBenchmark [imageFile] [--iterations N]
+ *
+ * For source sizes from 64 to 1024 px (or the given image) and targets of
+ * 3/4, 1/2 and 1/8 of the source, times ProgressiveScaler, the single
+ * bicubic draw ScaledImageCache used before it, and getScaledInstance with
+ * SCALE_SMOOTH. Quality is the mean per-channel difference from the
+ * SCALE_SMOOTH result, whose area averaging is the reference for
+ * downscaling.
+ */
+public class ScalerBenchmark {
+
+    public static void main(String[] args) {
+        if (System.getProperty("java.awt.headless") == null) {
+            System.setProperty("java.awt.headless", "true");
+        }
+
+        String imagePath = null;
+        int iterations = 20;
+        for (int i = 0; i < args.length; i++) {
+            if ("--iterations".equals(args[i]) && i + 1 < args.length) {
+                iterations = Integer.parseInt(args[++i]);
+            } else {
+                imagePath = args[i];
+            }
+        }
+
+        BufferedImage[] sources;
+        if (imagePath != null) {
+            BufferedImage image = CharacterFileManager.readImage(new File(imagePath));
+            if (image == null) {
+                System.out.println("Could not read image " + imagePath);
+                return;
+            }
+            sources = new BufferedImage[] {image};
+        } else {
+            int[] sizes = {64, 128, 256, 512, 1024};
+            sources = new BufferedImage[sizes.length];
+            for (int i = 0; i < sizes.length; i++) {
+                sources[i] = createSyntheticSprite(sizes[i]);
+            }
+        }
+
+        System.out.println("Scaler benchmark: " + iterations + " scales per case, "
+            + ProgressiveScaler.getPoolSize() + " scaling threads");
+        System.out.println(String.format("%-11s %-11s %12s %12s %12s %9s %10s %10s", "source", "target",
+            "progressive", "bicubic", "smooth", "speedup", "err prog", "err bicub"));
+        for (BufferedImage source : sources) {
+            for (int[] fraction : new int[][] {{3, 4}, {1, 2}, {1, 8}}) {
+                int width = Math.max(1, source.getWidth() * fraction[0] / fraction[1]);
+                int height = Math.max(1, source.getHeight() * fraction[0] / fraction[1]);
+
+                BufferedImage reference = scaleSmooth(source, width, height);
+                BufferedImage progressive = ProgressiveScaler.scale(source, width, height);
+                BufferedImage bicubic = ScaledImageCache.scaleBicubic(source, width, height);
+
+                double progressiveMs = time(iterations, () -> ProgressiveScaler.scale(source, width, height));
+                double bicubicMs = time(iterations, () -> ScaledImageCache.scaleBicubic(source, width, height));
+                double smoothMs = time(iterations, () -> scaleSmooth(source, width, height));
+
+                System.out.println(String.format("%-11s %-11s %10.3fms %10.3fms %10.3fms %8.1fx %10.2f %10.2f",
+                    source.getWidth() + "x" + source.getHeight(), width + "x" + height,
+                    progressiveMs, bicubicMs, smoothMs, smoothMs / progressiveMs,
+                    meanDifference(progressive, reference), meanDifference(bicubic, reference)));
+            }
+        }
+    }
+
+    /**
+     * The area-averaging path: getScaledInstance(SCALE_SMOOTH) drawn into an image
+     */
+    static BufferedImage scaleSmooth(Image source, int width, int height) {
+        Image scaled = source.getScaledInstance(width, height, Image.SCALE_SMOOTH);
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g2d = target.createGraphics();
+        g2d.drawImage(scaled, 0, 0, null);
+        g2d.dispose();
+        return target;
+    }
+
+    /**
+     * Average milliseconds per run, after a warm-up of the same length
+     */
+    static double time(int iterations, Runnable scale) {
+        for (int i = 0; i < iterations; i++) {
+            scale.run(); // Warm up JIT and the scaling threads
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            scale.run();
+        }
+        return (System.nanoTime() - start) / 1_000_000.0 / iterations;
+    }
+
+    /**
+     * Mean absolute difference per premultiplied channel (0-255)
+     */
+    static double meanDifference(BufferedImage a, BufferedImage b) {
+        BufferedImage first = CompatibleImages.toPremultiplied(a);
+        BufferedImage second = CompatibleImages.toPremultiplied(b);
+        long total = 0;
+        for (int y = 0; y < first.getHeight(); y++) {
+            for (int x = 0; x < first.getWidth(); x++) {
+                int p = first.getRaster().getDataBuffer().getElem(y * first.getWidth() + x);
+                int q = second.getRaster().getDataBuffer().getElem(y * second.getWidth() + x);
+                for (int shift = 0; shift < 32; shift += 8) {
+                    total += Math.abs(((p >>> shift) & 0xFF) - ((q >>> shift) & 0xFF));
+                }
+            }
+        }
+        return (double) total / (first.getWidth() * first.getHeight() * 4);
+    }
+
+    /**
+     * A sprite-like test image: soft body, hard outline and fine stripes that alias if undersampled
+     */
+    static BufferedImage createSyntheticSprite(int size) {
+        BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = image.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setColor(new Color(90, 160, 230));
+        g2d.fillOval(size / 8, size / 8, size * 3 / 4, size * 3 / 4);
+        g2d.setColor(Color.BLACK);
+        g2d.setStroke(new BasicStroke(Math.max(1, size / 64f)));
+        g2d.drawOval(size / 8, size / 8, size * 3 / 4, size * 3 / 4);
+        g2d.setColor(new Color(250, 220, 60));
+        for (int x = size / 4; x < size * 3 / 4; x += 2) {
+            g2d.drawLine(x, size / 3, x, size / 2);
+        }
+        g2d.dispose();
+        return image;
+    }
+}
@@ -0,0 +1,131 @@
+import javax.swing.ImageIcon;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of horizontally mirrored sprites for left-facing pets and enemies.
+ *
+ * Each source image is flipped once and the result is reused on every later
+ * frame, so turning around is a map lookup instead of a new BufferedImage.
+ * Entries are keyed weakly by the source image, so frames that are rescaled
+ * or unloaded drop out of the cache on their own.
+ */
+public class SpriteFlipCache {
+    private static final Map<Image, Entry> flipped = new WeakHashMap<>();
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+
+    /**
+     * A mirrored image and, once a Swing caller has asked, its icon
+     */
+    private static final class Entry {
+        final BufferedImage image;
+        ImageIcon icon;
+
+        Entry(BufferedImage image) {
+            this.image = image;
+        }
+
+        synchronized ImageIcon icon() {
+            if (icon == null) {
+                icon = new ImageIcon(image);
+            }
+            return icon;
+        }
+    }
+
+    /**
+     * Get the mirrored version of an icon, building it on first use
+     */
+    public static ImageIcon getFlipped(ImageIcon original) {
+        if (original == null || original.getImage() == null) {
+            return original;
+        }
+        Entry entry = getEntry(original.getImage());
+        return entry != null ? entry.icon() : original;
+    }
+
+    /**
+     * Get the mirrored version of a frame image, building it on first use
+     */
+    public static BufferedImage getFlipped(BufferedImage original) {
+        if (original == null) {
+            return null;
+        }
+        Entry entry = getEntry(original);
+        return entry != null ? entry.image : original;
+    }
+
+    private static Entry getEntry(Image source) {
+        synchronized (flipped) {
+            Entry cached = flipped.get(source);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
+            }
+        }
+
+        misses.incrementAndGet();
+        BufferedImage mirrored = flipHorizontally(source);
+        if (mirrored == null) {
+            return null;
+        }
+
+        Entry entry = new Entry(mirrored);
+        synchronized (flipped) {
+            Entry existing = flipped.putIfAbsent(source, entry);
+            return existing != null ? existing : entry;
+        }
+    }
+
+    /**
+     * Mirror an image horizontally into a new image in the display's format
+     */
+    private static BufferedImage flipHorizontally(Image img) {
+        int width = img.getWidth(null);
+        int height = img.getHeight(null);
+        if (width <= 0 || height <= 0) {
+            return null;
+        }
+
+        BufferedImage mirrored = CompatibleImages.createTranslucent(width, height);
+        Graphics2D g2d = mirrored.createGraphics();
+        g2d.drawImage(img, width, 0, -width, height, null);
+        g2d.dispose();
+        return mirrored;
+    }
+
+    /**
+     * Drop all cached flips (e.g. after frames are rebuilt)
+     */
+    public static void clear() {
+        synchronized (flipped) {
+            flipped.clear();
+        }
+    }
+
+    public static long getHitCount() { return hits.get(); }
+    public static long getMissCount() { return misses.get(); }
+
+    public static int size() {
+        synchronized (flipped) {
+            return flipped.size();
+        }
+    }
+
+    public static void resetCounters() {
+        hits.set(0);
+        misses.set(0);
+    }
+
+    /**
+     * One-line summary for debug output
+     */
+    public static String getStats() {
+        return "Flip cache: " + size() + " entries, " + getHitCount() + " hits, " + getMissCount() + " misses";
+    }
+}
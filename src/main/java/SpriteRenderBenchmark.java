@@ -0,0 +1,145 @@
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures animation playback cost without opening any windows.
+ *
+ * Usage:
+ *   java -cp target SpriteRenderBenchmark [characterSetDir] [--size N] [--frames N]
+ *
+ * Plays the idle, walking, special and pain sequences of the given set (or a
+ * generated one) through HeadlessSpriteRenderer, facing right and then left,
+ * and prints frames per second and bytes allocated per frame for each.
+ * The one-shot special and pain sequences are replayed from the start, so
+ * they are measured drawing frames like the looping ones.
+ */
+public class SpriteRenderBenchmark {
+
+    public static void main(String[] args) {
+        if (System.getProperty("java.awt.headless") == null) {
+            System.setProperty("java.awt.headless", "true");
+        }
+
+        String setPath = null;
+        int size = 128;
+        int frames = 2000;
+        for (int i = 0; i < args.length; i++) {
+            if ("--size".equals(args[i]) && i + 1 < args.length) {
+                size = Integer.parseInt(args[++i]);
+            } else if ("--frames".equals(args[i]) && i + 1 < args.length) {
+                frames = Integer.parseInt(args[++i]);
+            } else {
+                setPath = args[i];
+            }
+        }
+
+        CharacterSet set;
+        if (setPath != null) {
+            File setDir = new File(setPath);
+            set = CharacterSetManager.loadCharacterSetFromDirectory(setDir, setDir.getName());
+            if (set == null) {
+                System.out.println("Could not load character set from " + setPath);
+                return;
+            }
+        } else {
+            set = createSyntheticSet(256, 8);
+        }
+
+        HeadlessSpriteRenderer renderer = new HeadlessSpriteRenderer(size, size);
+        renderer.prepare(set);
+
+        System.out.println("Sprite render benchmark: set '" + set.getName() + "', " + size + "x" + size
+            + ", " + frames + " frames per run");
+        System.out.println(String.format("%-10s %-6s %12s %14s %10s", "sequence", "facing", "frames/sec", "bytes/frame", "drawn"));
+
+        AnimationSequence[] sequences = {
+            set.getIdleAnimation(), set.getWalkingAnimation(), set.getSpecialAnimation(), set.getPainAnimation()
+        };
+        for (AnimationSequence sequence : sequences) {
+            if (sequence.getFrameCount() == 0) {
+                System.out.println(String.format("%-10s (no frames)", sequence.getName()));
+                continue;
+            }
+            for (boolean facingRight : new boolean[] {true, false}) {
+                renderer.setFacingRight(facingRight);
+                run(renderer, sequence, frames / 10); // Warm up caches and JIT
+                Result result = run(renderer, sequence, frames);
+                System.out.println(String.format("%-10s %-6s %12.0f %14s %10d", sequence.getName(),
+                    facingRight ? "right" : "left", result.framesPerSecond,
+                    result.bytesPerFrame >= 0 ? String.valueOf(result.bytesPerFrame) : "n/a", result.drawn));
+            }
+        }
+        System.out.println(ScaledImageCache.getStats());
+        System.out.println(SpriteFlipCache.getStats());
+    }
+
+    static final class Result {
+        double framesPerSecond;
+        long bytesPerFrame;
+        long drawn;
+    }
+
+    static Result run(HeadlessSpriteRenderer renderer, AnimationSequence sequence, int frames) {
+        long drawnBefore = renderer.getFramesRendered();
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < frames; i++) {
+            renderer.renderNextFrame(sequence);
+        }
+        long elapsed = Math.max(1, System.nanoTime() - start);
+        long allocatedAfter = allocatedBytes();
+
+        Result result = new Result();
+        result.framesPerSecond = frames * 1_000_000_000.0 / elapsed;
+        result.bytesPerFrame = allocatedBefore >= 0 && allocatedAfter >= 0 ? (allocatedAfter - allocatedBefore) / frames : -1;
+        result.drawn = renderer.getFramesRendered() - drawnBefore;
+        return result;
+    }
+
+    /**
+     * Bytes allocated so far by this thread, or -1 if the JVM can't tell
+     */
+    static long allocatedBytes() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+            if (sunBean.isThreadAllocatedMemorySupported() && sunBean.isThreadAllocatedMemoryEnabled()) {
+                return sunBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Build a set of simple generated frames for runs without a set on disk
+     */
+    static CharacterSet createSyntheticSet(int frameSize, int framesPerSequence) {
+        CharacterSet set = new CharacterSet("synthetic", "");
+        String[] animations = {"idle", "walking", "special", "pain"};
+        Color[] colors = {Color.CYAN, Color.GREEN, Color.MAGENTA, Color.RED};
+        for (int s = 0; s < animations.length; s++) {
+            List<AnimationFrame> frames = new ArrayList<>();
+            for (int f = 0; f < framesPerSequence; f++) {
+                BufferedImage image = new BufferedImage(frameSize, frameSize, BufferedImage.TYPE_INT_ARGB);
+                Graphics2D g2d = image.createGraphics();
+                g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                g2d.setColor(colors[s]);
+                int offset = f * frameSize / (framesPerSequence * 4);
+                g2d.fillOval(frameSize / 8 + offset, frameSize / 8, frameSize / 2, frameSize * 3 / 4);
+                g2d.setColor(Color.BLACK);
+                g2d.fillOval(frameSize / 2 + offset, frameSize / 3, frameSize / 12, frameSize / 12);
+                g2d.dispose();
+                frames.add(new AnimationFrame(image, "synthetic_" + s + "_" + f, 150));
+            }
+            set.setFrames(animations[s], frames);
+        }
+        return set;
+    }
+}
@@ -0,0 +1,101 @@
+import javax.swing.Icon;
+import javax.swing.ImageIcon;
+import javax.swing.JComponent;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Image;
+
+/**
+ * Lightweight surface that paints one sprite frame.
+ *
+ * Replaces JLabel.setIcon for pet and enemy windows: swapping the frame
+ * does not fire property changes or revalidate the layout, and setting the
+ * frame that is already showing (same image, same facing) is a no-op
+ * instead of a full repaint. The frame is drawn centered with drawImage.
+ * Animation frames are shown with setImage, so no ImageIcon is made per tick.
+ */
+public class SpriteView extends JComponent {
+    private Icon icon;
+    private Image image; // What is drawn, when the frame is an image
+    private long repaintCount = 0;
+    private long skippedCount = 0;
+    private Runnable frameListener;
+
+    public SpriteView() {
+        setOpaque(false);
+    }
+
+    /**
+     * Show a frame, repainting only if it differs from the current one
+     */
+    public void setIcon(Icon newIcon) {
+        show(newIcon instanceof ImageIcon ? ((ImageIcon) newIcon).getImage() : null, newIcon);
+    }
+
+    /**
+     * Show a frame image, repainting only if it differs from the current one
+     */
+    public void setImage(Image newImage) {
+        show(newImage, null);
+    }
+
+    private void show(Image newImage, Icon newIcon) {
+        if (newImage != null ? newImage == image : newIcon == icon && image == null) {
+            skippedCount++;
+            return;
+        }
+        image = newImage;
+        icon = newIcon;
+        repaintCount++;
+        repaint();
+        if (frameListener != null) {
+            frameListener.run();
+        }
+    }
+
+    /**
+     * Get notified when the frame changes (used when drawn by OverlayRenderer)
+     */
+    public void setFrameListener(Runnable listener) {
+        this.frameListener = listener;
+    }
+
+    public Icon getIcon() {
+        if (icon == null && image != null) {
+            icon = new ImageIcon(image); // Only made if a caller asks for it
+        }
+        return icon;
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        paintSprite(g, getWidth(), getHeight());
+    }
+
+    /**
+     * Paint the current frame centered in an area of the given size
+     */
+    public void paintSprite(Graphics g, int width, int height) {
+        if (isOpaque() && getBackground() != null) {
+            g.setColor(getBackground());
+            g.fillRect(0, 0, width, height);
+        }
+        if (image != null) {
+            g.drawImage(image, (width - image.getWidth(null)) / 2, (height - image.getHeight(null)) / 2, null);
+        } else if (icon != null) {
+            icon.paintIcon(this, g, (width - icon.getIconWidth()) / 2, (height - icon.getIconHeight()) / 2);
+        }
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        if (isPreferredSizeSet() || (icon == null && image == null)) {
+            return super.getPreferredSize();
+        }
+        return image != null ? new Dimension(image.getWidth(null), image.getHeight(null))
+            : new Dimension(icon.getIconWidth(), icon.getIconHeight());
+    }
+
+    public long getRepaintCount() { return repaintCount; }
+    public long getSkippedCount() { return skippedCount; }
+}
@@ -0,0 +1,140 @@
+import javax.swing.JWindow;
+import java.awt.AlphaComposite;
+import java.awt.Component;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+
+/**
+ * Base window for pets and enemies.
+ *
+ * In the default mode this is a plain JWindow. When the overlay renderer is
+ * enabled the window is never shown natively: visibility, position, opacity
+ * and repaints are redirected to OverlayRenderer, which draws the window's
+ * SpriteView into the shared monitor overlay. Subclasses keep calling
+ * setVisible/setLocation/setOpacity as before.
+ */
+public abstract class SpriteWindow extends JWindow implements OverlaySprite {
+    private final boolean overlayMode = OverlayRenderer.isEnabled();
+    private boolean overlayVisible = false;
+    private boolean overlayDisposed = false;
+    private float overlayOpacity = 1.0f;
+    private SpriteView spriteView;
+
+    /**
+     * Register the view that holds this window's current frame
+     */
+    protected void attachSpriteView(SpriteView view) {
+        this.spriteView = view;
+        if (overlayMode) {
+            view.setFrameListener(this::overlayChanged);
+        }
+    }
+
+    public boolean isOverlayMode() {
+        return overlayMode;
+    }
+
+    /**
+     * Whether the window is still in use. Overlay sprites never get a native
+     * peer, so isDisplayable() is always false for them; they stay live until
+     * disposed.
+     */
+    public boolean isLive() {
+        return isLive(overlayMode, overlayDisposed, isDisplayable());
+    }
+
+    static boolean isLive(boolean overlayMode, boolean overlayDisposed, boolean displayable) {
+        return overlayMode ? !overlayDisposed : displayable;
+    }
+
+    private void overlayChanged() {
+        if (overlayVisible) {
+            OverlayRenderer.getInstance().spriteChanged(this);
+        }
+    }
+
+    @Override
+    public void setVisible(boolean visible) {
+        if (!overlayMode) {
+            super.setVisible(visible);
+            return;
+        }
+        if (visible == overlayVisible) {
+            return;
+        }
+        overlayVisible = visible;
+        if (visible) {
+            OverlayRenderer.getInstance().add(this);
+        } else {
+            OverlayRenderer.getInstance().remove(this);
+        }
+    }
+
+    @Override
+    public boolean isVisible() {
+        return overlayMode ? overlayVisible : super.isVisible();
+    }
+
+    @Override
+    public void setBounds(int x, int y, int width, int height) {
+        super.setBounds(x, y, width, height); // No native window in overlay mode, so this is cheap
+        if (overlayMode) {
+            overlayChanged();
+        }
+    }
+
+    @Override
+    public void setOpacity(float opacity) {
+        if (!overlayMode) {
+            super.setOpacity(opacity);
+            return;
+        }
+        overlayOpacity = Math.max(0f, Math.min(1f, opacity));
+        overlayChanged();
+    }
+
+    @Override
+    public float getOpacity() {
+        return overlayMode ? overlayOpacity : super.getOpacity();
+    }
+
+    @Override
+    public void repaint(long tm, int x, int y, int width, int height) {
+        if (overlayMode) {
+            overlayChanged();
+        } else {
+            super.repaint(tm, x, y, width, height);
+        }
+    }
+
+    @Override
+    public void dispose() {
+        if (overlayMode) {
+            overlayVisible = false;
+            overlayDisposed = true;
+            OverlayRenderer.getInstance().remove(this);
+        }
+        super.dispose();
+    }
+
+    @Override
+    public Rectangle getOverlayBounds() {
+        return getBounds();
+    }
+
+    @Override
+    public void paintOverlay(Graphics2D g) {
+        if (spriteView == null) {
+            return;
+        }
+        if (overlayOpacity < 1.0f) {
+            g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, overlayOpacity));
+        }
+        spriteView.paintSprite(g, getWidth(), getHeight());
+    }
+
+    @Override
+    public Component getOverlayInputTarget() {
+        return spriteView;
+    }
+}
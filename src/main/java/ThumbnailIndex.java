@@ -0,0 +1,297 @@
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import javax.swing.ImageIcon;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Persisted small previews of every character set.
+ *
+ * Selection dialogs and the import window combo box list every set, so
+ * their previews must not depend on decoding frames. For each set this keeps
+ * a pre-rendered thumbnail (at most THUMBNAIL_SIZE) and combo icon (at most
+ * ICON_SIZE) made from the set's first frame, together with that frame's
+ * name, size and modification time. The index is loaded once from
+ * cache/thumbnails.index (-Dpet.thumbnailIndex); an entry is re-rendered only
+ * when its source frame changes or the set is saved.
+ */
+public class ThumbnailIndex {
+    public static final int THUMBNAIL_SIZE = 64;
+    public static final int ICON_SIZE = 32;
+    private static final int MAGIC = 0x5045544E; // "PETN"
+    private static final int VERSION = 1;
+
+    private static File indexFile = new File(System.getProperty("pet.thumbnailIndex", "cache/thumbnails.index"));
+    private static Map<String, Entry> entries;
+    private static boolean dirty = false;
+
+    /**
+     * Thumbnail and icon for one set
+     */
+    public static final class Entry {
+        final String signature;
+        public final ImageIcon thumbnail;
+        public final ImageIcon icon;
+
+        Entry(String signature, ImageIcon thumbnail, ImageIcon icon) {
+            this.signature = signature;
+            this.thumbnail = thumbnail;
+            this.icon = icon;
+        }
+    }
+
+    /**
+     * Get the previews of a set, rendering them from its first frame if the
+     * index has none or the frame changed. Null if the set has no frames.
+     */
+    public static Entry get(File setDir) {
+        File source = findFirstFrame(setDir);
+        if (source == null) {
+            return null;
+        }
+        String signature = signatureOf(source);
+        synchronized (ThumbnailIndex.class) {
+            Entry entry = getEntries().get(keyFor(setDir));
+            if (entry != null && entry.signature.equals(signature)) {
+                return entry;
+            }
+        }
+        return render(keyFor(setDir), signature, source);
+    }
+
+    /**
+     * Re-render a set's previews after it was saved
+     */
+    public static Entry update(File setDir) {
+        File source = findFirstFrame(setDir);
+        if (source == null) {
+            remove(setDir);
+            return null;
+        }
+        return render(keyFor(setDir), signatureOf(source), source);
+    }
+
+    /**
+     * Forget a deleted set
+     */
+    public static synchronized void remove(File setDir) {
+        if (getEntries().remove(keyFor(setDir)) != null) {
+            dirty = true;
+        }
+    }
+
+    /**
+     * Write the index if anything changed, dropping sets that no longer exist
+     */
+    public static synchronized void save() {
+        if (entries == null) {
+            return;
+        }
+        for (Iterator<String> keys = entries.keySet().iterator(); keys.hasNext(); ) {
+            if (!new File(keys.next()).isDirectory()) {
+                keys.remove();
+                dirty = true;
+            }
+        }
+        if (!dirty) {
+            return;
+        }
+
+        Path temp = null;
+        try {
+            File parent = indexFile.getAbsoluteFile().getParentFile();
+            Files.createDirectories(parent.toPath());
+            temp = Files.createTempFile(parent.toPath(), indexFile.getName(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(temp.toFile())))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(entries.size());
+                for (Map.Entry<String, Entry> item : entries.entrySet()) {
+                    out.writeUTF(item.getKey());
+                    out.writeUTF(item.getValue().signature);
+                    writeImage(out, (BufferedImage) item.getValue().thumbnail.getImage());
+                    writeImage(out, (BufferedImage) item.getValue().icon.getImage());
+                }
+            }
+            try {
+                Files.move(temp, indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            dirty = false;
+        } catch (IOException e) {
+            System.out.println("Error saving thumbnail index: " + e.getMessage());
+            if (temp != null) {
+                temp.toFile().delete();
+            }
+        }
+    }
+
+    /**
+     * Render outside the lock so stub loading threads decode in parallel
+     */
+    private static Entry render(String key, String signature, File source) {
+        ImageIcon thumbnail = readThumbnail(source, THUMBNAIL_SIZE);
+        if (thumbnail == null) {
+            return null;
+        }
+        BufferedImage thumbnailImage = CompatibleImages.toPremultiplied(thumbnail.getImage());
+        Entry entry = new Entry(signature, new ImageIcon(thumbnailImage),
+            new ImageIcon(fit(thumbnailImage, ICON_SIZE)));
+        synchronized (ThumbnailIndex.class) {
+            getEntries().put(key, entry);
+            dirty = true;
+        }
+        return entry;
+    }
+
+    /**
+     * Decode a frame file subsampled close to the thumbnail size, so large
+     * frames never become full-size rasters just for a preview
+     */
+    private static ImageIcon readThumbnail(File imageFile, int size) {
+        try (ImageInputStream input = ImageIO.createImageInputStream(imageFile)) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int step = Math.max(1, Math.max(reader.getWidth(0), reader.getHeight(0)) / (size * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                BufferedImage image = reader.read(0, param);
+                int width = image.getWidth();
+                int height = image.getHeight();
+                if (width > size || height > size) {
+                    double scale = Math.min((double) size / width, (double) size / height);
+                    width = Math.max(1, (int) (width * scale));
+                    height = Math.max(1, (int) (height * scale));
+                    return new ImageIcon(ScaledImageCache.scale(image, width, height));
+                }
+                return new ImageIcon(image);
+            } finally {
+                reader.dispose();
+            }
+        } catch (Exception e) {
+            System.out.println("Error reading thumbnail " + imageFile.getName() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static Map<String, Entry> getEntries() {
+        if (entries == null) {
+            entries = new LinkedHashMap<>();
+            if (indexFile.isFile()) {
+                load();
+            }
+        }
+        return entries;
+    }
+
+    private static void load() {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(indexFile)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String key = in.readUTF();
+                String signature = in.readUTF();
+                ImageIcon thumbnail = new ImageIcon(readImage(in));
+                ImageIcon icon = new ImageIcon(readImage(in));
+                entries.put(key, new Entry(signature, thumbnail, icon));
+            }
+        } catch (Exception e) {
+            System.out.println("Ignoring unreadable thumbnail index: " + e.getMessage());
+            entries.clear();
+        }
+    }
+
+    private static File findFirstFrame(File setDir) {
+        for (String animation : new String[] {"idle", "walking", "special", "pain"}) {
+            File[] imageFiles = CharacterFileManager.listImageFiles(new File(setDir, animation));
+            if (imageFiles.length > 0) {
+                return imageFiles[0];
+            }
+        }
+        return null;
+    }
+
+    private static String keyFor(File setDir) {
+        return setDir.getPath().replace('\\', '/');
+    }
+
+    private static String signatureOf(File source) {
+        return source.getParentFile().getName() + "/" + source.getName() + ":" + source.length() + ":" + source.lastModified();
+    }
+
+    private static BufferedImage fit(BufferedImage image, int size) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        if (width <= size && height <= size) {
+            return image;
+        }
+        double scale = Math.min((double) size / width, (double) size / height);
+        BufferedImage scaled = ScaledImageCache.scale(image,
+            Math.max(1, (int) (width * scale)), Math.max(1, (int) (height * scale)));
+        return CompatibleImages.toPremultiplied(scaled);
+    }
+
+    private static void writeImage(DataOutputStream out, BufferedImage image) throws IOException {
+        out.writeShort(image.getWidth());
+        out.writeShort(image.getHeight());
+        for (int pixel : ((DataBufferInt) image.getRaster().getDataBuffer()).getData()) {
+            out.writeInt(pixel);
+        }
+    }
+
+    private static BufferedImage readImage(DataInputStream in) throws IOException {
+        int width = in.readUnsignedShort();
+        int height = in.readUnsignedShort();
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        for (int i = 0; i < pixels.length; i++) {
+            pixels[i] = in.readInt();
+        }
+        return image;
+    }
+
+    /**
+     * Point the index at another file (drops what is in memory)
+     */
+    public static synchronized void setIndexFile(File file) {
+        indexFile = file;
+        entries = null;
+        dirty = false;
+    }
+
+    public static File getIndexFile() { return indexFile; }
+
+    public static synchronized int size() {
+        return getEntries().size();
+    }
+}
@@ -0,0 +1,82 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+import java.awt.image.BufferedImage;
+import java.util.List;
+
+/**
+ * Unit tests for AnimationPlayhead
+ */
+public class AnimationPlayheadTest {
+
+    private AnimationSequence walking;
+    private AnimationFrame frame1;
+    private AnimationFrame frame2;
+    private AnimationFrame frame3;
+
+    @BeforeEach
+    void setUp() {
+        frame1 = new AnimationFrame(new BufferedImage(4, 4, BufferedImage.TYPE_INT_ARGB), "frame1.png", 100);
+        frame2 = new AnimationFrame(new BufferedImage(4, 4, BufferedImage.TYPE_INT_ARGB), "frame2.png", 100);
+        frame3 = new AnimationFrame(new BufferedImage(4, 4, BufferedImage.TYPE_INT_ARGB), "frame3.png", 100);
+        walking = new AnimationSequence("walking", true, List.of(frame1, frame2, frame3));
+    }
+
+    @Test
+    void testPlayheadsAdvanceIndependently() {
+        AnimationPlayhead first = new AnimationPlayhead(walking);
+        AnimationPlayhead second = new AnimationPlayhead(walking);
+
+        assertEquals(frame2, first.nextFrame());
+        assertEquals(frame3, first.nextFrame());
+
+        assertEquals(frame1, second.getCurrentFrame());
+        assertEquals(frame2, second.nextFrame());
+    }
+
+    @Test
+    void testPlayOnlyRestartsOnSequenceChange() {
+        AnimationSequence idle = new AnimationSequence("idle", true, List.of(frame3));
+
+        AnimationPlayhead playhead = new AnimationPlayhead();
+        playhead.play(walking);
+        playhead.nextFrame();
+        playhead.play(walking);
+        assertEquals(1, playhead.getCurrentFrameIndex());
+
+        playhead.play(idle);
+        assertEquals(0, playhead.getCurrentFrameIndex());
+        assertSame(idle, playhead.getSequence());
+    }
+
+    @Test
+    void testNonLoopingStaysOnLastFrame() {
+        AnimationSequence once = new AnimationSequence("special", false, List.of(frame1, frame2, frame3));
+        AnimationPlayhead playhead = new AnimationPlayhead(once);
+
+        playhead.nextFrame();
+        playhead.nextFrame();
+        assertEquals(frame3, playhead.nextFrame());
+        assertEquals(2, playhead.getCurrentFrameIndex());
+    }
+
+    @Test
+    void testReplacedFramesLeaveThePlayingSequenceAlone() {
+        AnimationPlayhead playhead = new AnimationPlayhead(walking);
+        playhead.nextFrame();
+        playhead.nextFrame();
+
+        AnimationSequence replaced = walking.withFrames(List.of(frame1));
+        assertEquals(frame3, playhead.getCurrentFrame());
+        assertEquals(3, walking.getFrameCount());
+        assertEquals(1, replaced.getFrameCount());
+        assertTrue(replaced.isLoop());
+    }
+
+    @Test
+    void testEmptyPlayheadReturnsNull() {
+        AnimationPlayhead playhead = new AnimationPlayhead();
+        assertNull(playhead.getCurrentFrame());
+        assertNull(playhead.nextFrame());
+    }
+}
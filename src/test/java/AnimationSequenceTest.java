@@ -6,8 +6,9 @@
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import static org.junit.jupiter.api.Assertions.*;
-import javax.swing.ImageIcon;
 import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Unit tests for AnimationSequence class
@@ -28,26 +29,26 @@ public class AnimationSequenceTest {
         walkingSequence = new AnimationSequence("walking", false); // Non-looping
         
         // Create test frames with dummy images
-        frame1 = new AnimationFrame(createDummyImageIcon(), "frame1.png", 100);
-        frame2 = new AnimationFrame(createDummyImageIcon(), "frame2.png", 150);
-        frame3 = new AnimationFrame(createDummyImageIcon(), "frame3.png", 200);
+        frame1 = new AnimationFrame(createDummyImage(), "frame1.png", 100);
+        frame2 = new AnimationFrame(createDummyImage(), "frame2.png", 150);
+        frame3 = new AnimationFrame(createDummyImage(), "frame3.png", 200);
     }
     
     /**
-     * Helper method to create a dummy ImageIcon for testing
+     * Helper method to create a dummy image for testing
      */
-    private ImageIcon createDummyImageIcon() {
-        BufferedImage image = new BufferedImage(64, 64, BufferedImage.TYPE_INT_ARGB);
-        return new ImageIcon(image);
+    private BufferedImage createDummyImage() {
+        return new BufferedImage(64, 64, BufferedImage.TYPE_INT_ARGB);
     }
     
     @Test
     void testEmptySequence() {
         // Test initial state of empty sequence
+        AnimationPlayhead playhead = new AnimationPlayhead(idleSequence);
         assertEquals(0, idleSequence.getFrameCount());
-        assertNull(idleSequence.getCurrentFrame());
-        assertNull(idleSequence.nextFrame());
-        assertEquals(0, idleSequence.getCurrentFrameIndex());
+        assertNull(idleSequence.getFrame(0));
+        assertNull(playhead.getCurrentFrame());
+        assertNull(playhead.nextFrame());
     }
     
     @Test
@@ -61,136 +62,107 @@ public class AnimationSequenceTest {
     }
     
     @Test
-    void testAddFrames() {
-        // Test adding frames
-        idleSequence.addFrame(frame1);
-        idleSequence.addFrame(frame2);
-        
-        assertEquals(2, idleSequence.getFrameCount());
-        assertEquals(frame1, idleSequence.getCurrentFrame());
-        assertEquals(0, idleSequence.getCurrentFrameIndex());
+    void testSequenceWithFrames() {
+        // Test building a sequence from frames
+        AnimationSequence sequence = idleSequence.withFrames(List.of(frame1, frame2));
+        
+        assertEquals(2, sequence.getFrameCount());
+        assertEquals("idle", sequence.getName());
+        assertTrue(sequence.isLoop());
+        assertEquals(0, idleSequence.getFrameCount()); // Original unchanged
     }
     
     @Test
     void testFrameNavigation() {
         // Setup sequence with frames
-        idleSequence.addFrame(frame1);
-        idleSequence.addFrame(frame2);
-        idleSequence.addFrame(frame3);
+        AnimationPlayhead playhead = new AnimationPlayhead(idleSequence.withFrames(List.of(frame1, frame2, frame3)));
         
         // Test initial state
-        assertEquals(frame1, idleSequence.getCurrentFrame());
-        assertEquals(0, idleSequence.getCurrentFrameIndex());
+        assertEquals(frame1, playhead.getCurrentFrame());
+        assertEquals(0, playhead.getCurrentFrameIndex());
         
         // Test next frame
-        assertEquals(frame2, idleSequence.nextFrame());
-        assertEquals(1, idleSequence.getCurrentFrameIndex());
+        assertEquals(frame2, playhead.nextFrame());
+        assertEquals(1, playhead.getCurrentFrameIndex());
         
         // Test another next frame
-        assertEquals(frame3, idleSequence.nextFrame());
-        assertEquals(2, idleSequence.getCurrentFrameIndex());
+        assertEquals(frame3, playhead.nextFrame());
+        assertEquals(2, playhead.getCurrentFrameIndex());
     }
     
     @Test
     void testLoopingBehavior() {
         // Test looping sequence behavior
-        idleSequence.addFrame(frame1);
-        idleSequence.addFrame(frame2);
+        AnimationPlayhead playhead = new AnimationPlayhead(idleSequence.withFrames(List.of(frame1, frame2)));
         
         // Navigate to end of sequence
-        assertEquals(frame2, idleSequence.nextFrame());
-        assertEquals(1, idleSequence.getCurrentFrameIndex());
+        assertEquals(frame2, playhead.nextFrame());
+        assertEquals(1, playhead.getCurrentFrameIndex());
         
         // Should loop back to start
-        assertEquals(frame1, idleSequence.nextFrame());
-        assertEquals(0, idleSequence.getCurrentFrameIndex());
+        assertEquals(frame1, playhead.nextFrame());
+        assertEquals(0, playhead.getCurrentFrameIndex());
     }
     
     @Test
     void testNonLoopingBehavior() {
         // Test non-looping sequence behavior
-        walkingSequence.addFrame(frame1);
-        walkingSequence.addFrame(frame2);
+        AnimationPlayhead playhead = new AnimationPlayhead(walkingSequence.withFrames(List.of(frame1, frame2)));
         
         // Navigate to end of sequence
-        assertEquals(frame2, walkingSequence.nextFrame());
-        assertEquals(1, walkingSequence.getCurrentFrameIndex());
+        assertEquals(frame2, playhead.nextFrame());
+        assertEquals(1, playhead.getCurrentFrameIndex());
         
         // Should stay at last frame (not loop)
-        assertEquals(frame2, walkingSequence.nextFrame());
-        assertEquals(1, walkingSequence.getCurrentFrameIndex());
+        assertEquals(frame2, playhead.nextFrame());
+        assertEquals(1, playhead.getCurrentFrameIndex());
     }
     
     @Test
     void testReset() {
         // Setup sequence and navigate away from start
-        idleSequence.addFrame(frame1);
-        idleSequence.addFrame(frame2);
-        idleSequence.addFrame(frame3);
+        AnimationPlayhead playhead = new AnimationPlayhead(idleSequence.withFrames(List.of(frame1, frame2, frame3)));
         
         // Navigate to middle
-        idleSequence.nextFrame();
-        idleSequence.nextFrame();
-        assertEquals(2, idleSequence.getCurrentFrameIndex());
+        playhead.nextFrame();
+        playhead.nextFrame();
+        assertEquals(2, playhead.getCurrentFrameIndex());
         
         // Reset should go back to start
-        idleSequence.reset();
-        assertEquals(0, idleSequence.getCurrentFrameIndex());
-        assertEquals(frame1, idleSequence.getCurrentFrame());
+        playhead.reset();
+        assertEquals(0, playhead.getCurrentFrameIndex());
+        assertEquals(frame1, playhead.getCurrentFrame());
     }
     
     @Test
-    void testRemoveFrame() {
-        // Setup sequence with frames
-        idleSequence.addFrame(frame1);
-        idleSequence.addFrame(frame2);
-        idleSequence.addFrame(frame3);
-        
-        assertEquals(3, idleSequence.getFrameCount());
-        
-        // Remove middle frame
-        idleSequence.removeFrame(1);
-        assertEquals(2, idleSequence.getFrameCount());
-        
-        // Verify correct frames remain
-        assertEquals(frame1, idleSequence.getCurrentFrame());
-        assertEquals(frame3, idleSequence.nextFrame());
+    void testFramesCannotBeChanged() {
+        // The frame list is shared between pets, so it is read-only
+        List<AnimationFrame> source = new ArrayList<>(List.of(frame1, frame2));
+        AnimationSequence sequence = idleSequence.withFrames(source);
+        
+        source.add(frame3);
+        assertEquals(2, sequence.getFrameCount());
+        assertThrows(UnsupportedOperationException.class, () -> sequence.getFrames().add(frame3));
+        assertThrows(UnsupportedOperationException.class, () -> sequence.getFrames().clear());
     }
     
     @Test
-    void testRemoveInvalidIndex() {
-        // Setup sequence with one frame
-        idleSequence.addFrame(frame1);
+    void testGetFrameOutOfRange() {
+        AnimationSequence sequence = idleSequence.withFrames(List.of(frame1));
         
         // Should handle invalid indices gracefully
-        idleSequence.removeFrame(-1);  // Negative index
-        idleSequence.removeFrame(5);   // Out of bounds
-        
-        // Frame should still be there
-        assertEquals(1, idleSequence.getFrameCount());
-        assertEquals(frame1, idleSequence.getCurrentFrame());
-    }
-    
-    @Test
-    void testSetLoopProperty() {
-        // Test changing loop property
-        assertFalse(walkingSequence.isLoop());
-        
-        walkingSequence.setLoop(true);
-        assertTrue(walkingSequence.isLoop());
-        
-        walkingSequence.setLoop(false);
-        assertFalse(walkingSequence.isLoop());
+        assertNull(sequence.getFrame(-1));  // Negative index
+        assertNull(sequence.getFrame(5));   // Out of bounds
+        assertEquals(frame1, sequence.getFrame(0));
     }
     
     @Test
     void testFrameListAccess() {
         // Test direct access to frames list
-        idleSequence.addFrame(frame1);
-        idleSequence.addFrame(frame2);
+        AnimationSequence sequence = idleSequence.withFrames(List.of(frame1, frame2));
         
-        assertEquals(2, idleSequence.getFrames().size());
-        assertEquals(frame1, idleSequence.getFrames().get(0));
-        assertEquals(frame2, idleSequence.getFrames().get(1));
+        assertEquals(2, sequence.getFrames().size());
+        assertEquals(frame1, sequence.getFrames().get(0));
+        assertEquals(frame2, sequence.getFrames().get(1));
     }
 } 
\ No newline at end of file
@@ -0,0 +1,105 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+
+/**
+ * Unit tests for CharacterPack
+ */
+public class CharacterPackTest {
+
+    private Path tempDir;
+    private File previousCacheDirectory;
+    private File setDir;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        tempDir = Files.createTempDirectory("pet-pack");
+        previousCacheDirectory = DecodedFrameCache.getDirectory();
+        DecodedFrameCache.setDirectory(new File(tempDir.toFile(), "frame-cache")); // Decode for real, not from ./cache
+        setDir = tempDir.toFile();
+        File idleDir = new File(setDir, "idle");
+        assertTrue(idleDir.mkdirs());
+        for (int i = 0; i < 2; i++) {
+            writeFrame(new File(idleDir, "frame" + i + ".png"), 0x80FF0000 + i);
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        DecodedFrameCache.setDirectory(previousCacheDirectory);
+        try (var paths = Files.walk(tempDir)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    private void writeFrame(File file, int argb) throws Exception {
+        BufferedImage image = new BufferedImage(100, 80, BufferedImage.TYPE_INT_ARGB);
+        image.setRGB(5, 5, argb);
+        ImageIO.write(image, "png", file);
+    }
+
+    @Test
+    void testLoadWritesPackThatRoundTrips() {
+        CharacterSet decoded = CharacterSetLoader.load(setDir, "packed");
+        assertTrue(CharacterPack.isFresh(setDir));
+
+        CharacterSet packed = CharacterPack.read(setDir, "packed");
+        assertNotNull(packed);
+        assertEquals(2, packed.getIdleAnimation().getFrameCount());
+        for (int i = 0; i < 2; i++) {
+            BufferedImage expected = decoded.getIdleAnimation().getFrame(i).getImage();
+            BufferedImage actual = packed.getIdleAnimation().getFrame(i).getImage();
+            assertEquals(expected.getWidth(), actual.getWidth());
+            assertEquals(expected.getRGB(5, 5), actual.getRGB(5, 5));
+            assertEquals(decoded.getIdleAnimation().getFrame(i).getImagePath(),
+                packed.getIdleAnimation().getFrame(i).getImagePath());
+        }
+    }
+
+    @Test
+    void testAddedFrameMakesPackStale() throws Exception {
+        CharacterSetLoader.load(setDir, "packed");
+        writeFrame(new File(setDir, "idle/frame2.png"), 0xFF00FF00);
+
+        assertFalse(CharacterPack.isFresh(setDir));
+        assertEquals(3, CharacterSetLoader.load(setDir, "packed").getIdleAnimation().getFrameCount());
+        assertTrue(CharacterPack.isFresh(setDir));
+    }
+
+    @Test
+    void testEditedFrameMakesPackStale() throws Exception {
+        CharacterSetLoader.load(setDir, "packed");
+        File frame = new File(setDir, "idle/frame0.png");
+        assertTrue(frame.setLastModified(CharacterPack.getPackFile(setDir).lastModified() + 5000));
+
+        assertFalse(CharacterPack.isFresh(setDir));
+    }
+
+    @Test
+    void testLargeFramesAndTruncatedPacks() throws Exception {
+        // Runs bigger than one read chunk are filled across several reads
+        BufferedImage large = new BufferedImage(250, 200, BufferedImage.TYPE_INT_ARGB);
+        large.setRGB(249, 199, 0xFF123456);
+        ImageIO.write(large, "png", new File(setDir, "idle/frame2.png"));
+        CharacterSetLoader.load(setDir, "packed");
+        FrameStore.clear();
+
+        CharacterSet packed = CharacterPack.read(setDir, "packed");
+        assertNotNull(packed);
+        assertEquals(0xFF123456, packed.getIdleAnimation().getFrame(2).getImage().getRGB(249, 199));
+
+        FrameStore.clear();
+        File packFile = CharacterPack.getPackFile(setDir);
+        try (java.io.RandomAccessFile file = new java.io.RandomAccessFile(packFile, "rw")) {
+            file.setLength(file.length() - 4);
+        }
+        assertNull(CharacterPack.read(setDir, "packed"));
+    }
+}
@@ -0,0 +1,164 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Unit tests for CharacterSetArchive
+ */
+public class CharacterSetArchiveTest {
+
+    private Path tempDir;
+    private File setDir;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        tempDir = Files.createTempDirectory("pet-archive");
+        setDir = new File(tempDir.toFile(), "source/owl");
+        assertTrue(new File(setDir, "idle").mkdirs());
+        assertTrue(new File(setDir, "walking").mkdirs());
+        for (int i = 0; i < 5; i++) {
+            BufferedImage image = new BufferedImage(40, 40, BufferedImage.TYPE_INT_ARGB);
+            image.setRGB(i, i, 0xFFFFFFFF);
+            ImageIO.write(image, "png", new File(setDir, (i < 3 ? "idle" : "walking") + "/frame" + i + ".png"));
+        }
+        Files.write(new File(setDir, "metadata.properties").toPath(), "author=Test\n".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        try (var paths = Files.walk(tempDir)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Test
+    void testExportIsAReadableZip() throws Exception {
+        File zip = new File(tempDir.toFile(), "owl.zip");
+        List<Long> progress = new ArrayList<>();
+
+        int count = CharacterSetArchive.exportSet(setDir, zip, (done, total) -> progress.add(done));
+
+        assertEquals(6, count);
+        assertEquals(6, progress.size());
+        try (ZipFile zipFile = new ZipFile(zip)) {
+            assertEquals(6, zipFile.size());
+            ZipEntry frame = zipFile.getEntry("owl/idle/frame0.png");
+            assertNotNull(frame);
+            BufferedImage image = ImageIO.read(zipFile.getInputStream(frame));
+            assertEquals(0xFFFFFFFF, image.getRGB(0, 0));
+            assertNotNull(zipFile.getEntry("owl/metadata.properties"));
+        }
+    }
+
+    @Test
+    void testImportRestoresTheSet() throws Exception {
+        File zip = new File(tempDir.toFile(), "owl.zip");
+        CharacterSetArchive.exportSet(setDir, zip, null);
+        File pets = new File(tempDir.toFile(), "Pets");
+
+        CharacterSetArchive.ImportResult result = CharacterSetArchive.importSet(zip, pets, null);
+
+        assertEquals(new File(pets, "owl"), result.setDir);
+        assertEquals(6, result.importedFiles);
+        assertTrue(result.skippedEntries.isEmpty());
+        assertEquals(3, CharacterFileManager.listImageFiles(new File(result.setDir, "idle")).length);
+        assertEquals(2, CharacterFileManager.listImageFiles(new File(result.setDir, "walking")).length);
+
+        // A second import of the same set gets its own folder
+        assertEquals(new File(pets, "owl_2"), CharacterSetArchive.importSet(zip, pets, null).setDir);
+    }
+
+    @Test
+    void testUnsafeAndInvalidEntriesAreSkipped() throws Exception {
+        File zip = new File(tempDir.toFile(), "bad.zip");
+        try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(zip))) {
+            out.putNextEntry(new ZipEntry("owl/idle/frame0.png"));
+            out.write(Files.readAllBytes(new File(setDir, "idle/frame0.png").toPath()));
+            out.putNextEntry(new ZipEntry("owl/idle/fake.png"));
+            out.write("not an image".getBytes(StandardCharsets.UTF_8));
+            out.putNextEntry(new ZipEntry("owl/../../escape.png"));
+            out.write(1);
+            out.putNextEntry(new ZipEntry("owl/scripts/run.sh"));
+            out.write(1);
+        }
+        File pets = new File(tempDir.toFile(), "Pets");
+
+        CharacterSetArchive.ImportResult result = CharacterSetArchive.importSet(zip, pets, null);
+
+        assertEquals(1, result.importedFiles);
+        assertEquals(3, result.skippedEntries.size());
+        assertFalse(new File(result.setDir, "idle/fake.png").exists());
+        assertFalse(new File(tempDir.toFile(), "escape.png").exists());
+    }
+
+    /**
+     * Reports progress and asks to stop once the given number of entries is done
+     */
+    private static CharacterSetArchive.ProgressListener cancelAfter(int entries) {
+        return new CharacterSetArchive.ProgressListener() {
+            private long done;
+
+            @Override
+            public void progress(long done, long total) {
+                this.done++;
+            }
+
+            @Override
+            public boolean isCanceled() {
+                return done >= entries;
+            }
+        };
+    }
+
+    @Test
+    void testCanceledExportLeavesNoFile() throws Exception {
+        File zip = new File(tempDir.toFile(), "owl.zip");
+
+        assertThrows(InterruptedIOException.class, () -> CharacterSetArchive.exportSet(setDir, zip, cancelAfter(2)));
+
+        assertFalse(zip.exists());
+        assertFalse(new File(tempDir.toFile(), "owl.zip.tmp").exists());
+    }
+
+    @Test
+    void testCanceledImportLeavesNoSet() throws Exception {
+        File zip = new File(tempDir.toFile(), "owl.zip");
+        CharacterSetArchive.exportSet(setDir, zip, null);
+        File pets = new File(tempDir.toFile(), "Pets");
+
+        assertThrows(InterruptedIOException.class, () -> CharacterSetArchive.importSet(zip, pets, cancelAfter(2)));
+
+        assertEquals(0, pets.list().length);
+        assertEquals(3, tempDir.toFile().list().length); // source, owl.zip and Pets; no staging folder
+    }
+
+    @Test
+    void testOversizedArchivesAreRejected() throws Exception {
+        File zip = new File(tempDir.toFile(), "owl.zip");
+        CharacterSetArchive.exportSet(setDir, zip, null);
+        File pets = new File(tempDir.toFile(), "Pets");
+        long frameBytes = new File(setDir, "idle/frame0.png").length();
+
+        assertThrows(IOException.class, () -> CharacterSetArchive.importSet(zip, pets, null, 5, Long.MAX_VALUE));
+        assertThrows(IOException.class, () -> CharacterSetArchive.importSet(zip, pets, null, 6, frameBytes * 2));
+
+        assertEquals(0, pets.list().length);
+        assertEquals(6, CharacterSetArchive.importSet(zip, pets, null, 6, Long.MAX_VALUE).importedFiles);
+    }
+}
@@ -0,0 +1,84 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+
+/**
+ * Unit tests for CharacterSetLoader
+ */
+public class CharacterSetLoaderTest {
+
+    private Path tempDir;
+    private File previousCacheDirectory;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        tempDir = Files.createTempDirectory("pet-sets");
+        previousCacheDirectory = DecodedFrameCache.getDirectory();
+        DecodedFrameCache.setDirectory(new File(tempDir.toFile(), "frame-cache")); // Decode for real, not from ./cache
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        DecodedFrameCache.setDirectory(previousCacheDirectory);
+        try (var paths = Files.walk(tempDir)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    private File createSet(String name, int idleFrames) throws Exception {
+        File setDir = new File(tempDir.toFile(), name);
+        File idleDir = new File(setDir, "idle");
+        assertTrue(idleDir.mkdirs());
+        for (int i = 0; i < idleFrames; i++) {
+            BufferedImage image = new BufferedImage(100 + i, 100, BufferedImage.TYPE_INT_ARGB);
+            ImageIO.write(image, "png", new File(idleDir, "frame" + i + ".png"));
+        }
+        return setDir;
+    }
+
+    @Test
+    void testFramesLoadInFileOrder() throws Exception {
+        File setDir = createSet("cat", 5);
+
+        CharacterSet set = CharacterSetLoader.load(setDir, "cat");
+        AnimationSequence idle = set.getAnimationByName("idle");
+
+        assertEquals(5, idle.getFrameCount());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(100 + i, idle.getFrame(i).getWidth());
+        }
+    }
+
+    @Test
+    void testStubReadsCountsAndThumbnailWithoutFrames() throws Exception {
+        File setDir = createSet("dog", 3);
+
+        CharacterSet stub = CharacterSetLoader.loadStub(setDir, "dog");
+
+        assertFalse(stub.isLoaded());
+        assertEquals(0, stub.getIdleAnimation().getFrameCount());
+        assertEquals(3, stub.getStoredFrameCount("idle"));
+        assertEquals(0, stub.getStoredFrameCount("walking"));
+        assertNotNull(stub.getThumbnail());
+        assertTrue(stub.getThumbnail().getIconWidth() <= ThumbnailIndex.THUMBNAIL_SIZE);
+    }
+
+    @Test
+    void testAdoptingDecodedFramesLoadsStub() throws Exception {
+        File setDir = createSet("bird", 2);
+        CharacterSet stub = CharacterSetLoader.loadStub(setDir, "bird");
+
+        stub.adoptFrames(CharacterSetLoader.loadAsync(setDir, "bird").get());
+
+        assertTrue(stub.isLoaded());
+        assertEquals(2, stub.getIdleAnimation().getFrameCount());
+        assertEquals(2, stub.getStoredFrameCount("idle"));
+    }
+}
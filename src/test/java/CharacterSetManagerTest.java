@@ -0,0 +1,65 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit tests for CharacterSetManager's hot reload
+ */
+public class CharacterSetManagerTest {
+
+    @BeforeEach
+    void setUp() {
+        ScaledImageCache.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ScaledImageCache.clear();
+    }
+
+    private static BufferedImage sprite(int marker) {
+        BufferedImage image = new BufferedImage(128, 128, BufferedImage.TYPE_INT_ARGB);
+        image.setRGB(marker, marker, 0xFF3366CC);
+        return image;
+    }
+
+    @Test
+    void testReloadKeepsUnchangedFramesDecodedOnce() {
+        File setDir = new File("owl").getAbsoluteFile();
+        List<File> idleFiles = new ArrayList<>();
+        CharacterSet set = new CharacterSet("owl", setDir.getPath());
+        List<AnimationFrame> idleFrames = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            File file = new File(setDir, "idle/frame" + i + ".png");
+            idleFiles.add(file);
+            AnimationFrame frame = new AnimationFrame(sprite(i), file.getPath(), 100);
+            frame.scaleToSize(64, 64); // Original moves to the compressed tier
+            idleFrames.add(frame);
+        }
+        set.setFrames("idle", idleFrames);
+        List<AnimationFrame> before = new ArrayList<>(set.getIdleAnimation().getFrames());
+        Map<String, List<File>> listing = new HashMap<>();
+        listing.put("idle", idleFiles);
+        Map<String, AnimationFrame> decoded = new HashMap<>();
+        AnimationFrame edited = new AnimationFrame(sprite(9), idleFiles.get(2).getPath(), 100);
+        decoded.put(idleFiles.get(2).getAbsolutePath(), edited);
+        long decodes = CompressedFrame.getDecodeCount();
+
+        List<File> unresolved = new ArrayList<>();
+        set.adoptFrames(CharacterSetManager.rebuildFrames(set, listing, decoded, unresolved));
+
+        assertEquals(decodes, CompressedFrame.getDecodeCount());
+        assertTrue(unresolved.isEmpty());
+        List<AnimationFrame> after = set.getIdleAnimation().getFrames();
+        assertSame(before.get(0), after.get(0));
+        assertSame(before.get(3), after.get(3));
+        assertSame(edited, after.get(2));
+    }
+}
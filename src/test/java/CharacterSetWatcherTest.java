@@ -0,0 +1,108 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for CharacterSetWatcher
+ */
+public class CharacterSetWatcherTest {
+
+    private Path tempDir;
+    private File petsDir;
+    private CharacterSetWatcher watcher;
+    private final LinkedBlockingQueue<CharacterSetWatcher.SetChange> changes = new LinkedBlockingQueue<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        tempDir = Files.createTempDirectory("pet-watch");
+        petsDir = new File(tempDir.toFile(), "Pets");
+        File enemiesDir = new File(tempDir.toFile(), "Enemies");
+        assertTrue(new File(petsDir, "cat/idle").mkdirs());
+        assertTrue(enemiesDir.mkdirs());
+        writeFrame(new File(petsDir, "cat/idle/frame0.png"));
+
+        watcher = new CharacterSetWatcher(petsDir, enemiesDir, changes::add);
+        watcher.start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        watcher.stop();
+        try (var paths = Files.walk(tempDir)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    private void writeFrame(File file) throws Exception {
+        ImageIO.write(new BufferedImage(8, 8, BufferedImage.TYPE_INT_ARGB), "png", file);
+    }
+
+    @Test
+    void testBurstOfEditsBecomesOneChange() throws Exception {
+        writeFrame(new File(petsDir, "cat/idle/frame0.png"));
+        writeFrame(new File(petsDir, "cat/idle/frame1.png"));
+        writeFrame(new File(petsDir, "cat/idle/frame2.png"));
+
+        CharacterSetWatcher.SetChange change = changes.poll(5, TimeUnit.SECONDS);
+        assertNotNull(change);
+        assertTrue(change.isPet);
+        assertEquals("cat", change.setDir.getName());
+        assertEquals(3, change.changedFiles.size());
+        assertNull(changes.poll(CharacterSetWatcher.DEBOUNCE_MS * 2, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void testNewSetIsWatchedAndReported() throws Exception {
+        File idle = new File(petsDir, "dog/idle");
+        assertTrue(idle.mkdirs());
+        writeFrame(new File(idle, "frame0.png"));
+
+        CharacterSetWatcher.SetChange change = changes.poll(5, TimeUnit.SECONDS);
+        assertNotNull(change);
+        assertEquals("dog", change.setDir.getName());
+
+        // Later edits inside the new set are seen too
+        writeFrame(new File(idle, "frame1.png"));
+        change = changes.poll(5, TimeUnit.SECONDS);
+        assertNotNull(change);
+        assertTrue(change.changedFiles.contains(new File(idle, "frame1.png").getAbsoluteFile()));
+    }
+
+    @Test
+    void testPackWritesAreIgnored() throws Exception {
+        Files.write(new File(petsDir, "cat/" + CharacterPack.FILE_NAME).toPath(), new byte[] {1});
+
+        assertNull(changes.poll(CharacterSetWatcher.DEBOUNCE_MS * 3, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void testUndecodableFrameIsRetriedAtMostOnce() throws Exception {
+        watcher.stop();
+        File broken = new File(petsDir, "cat/idle/frame1.png");
+        Files.write(broken.toPath(), new byte[] {'n', 'o', 't', ' ', 'p', 'n', 'g'});
+        File unseen = new File(petsDir, "cat/idle/frame2.png");
+        Files.write(unseen.toPath(), new byte[] {'n', 'o', 't', ' ', 'p', 'n', 'g'});
+
+        CharacterSetWatcher.SetChange change = new CharacterSetWatcher.SetChange(true, new File(petsDir, "cat"));
+        change.changedFiles.add(broken.getAbsoluteFile());
+        assertTrue(CharacterSetLoader.decodeFrames(change.changedFiles).isEmpty());
+
+        // The file the change asked for is dropped; the one that came without an event gets one pass
+        CharacterSetWatcher.SetChange followUp = change.followUp(List.of(broken, unseen));
+        assertEquals(1, followUp.changedFiles.size());
+        assertTrue(followUp.changedFiles.contains(unseen.getAbsoluteFile()));
+
+        assertTrue(CharacterSetLoader.decodeFrames(followUp.changedFiles).isEmpty());
+        assertTrue(followUp.followUp(List.of(unseen)).changedFiles.isEmpty());
+    }
+}
@@ -0,0 +1,127 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsDevice;
+import java.awt.Rectangle;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for CompatibleImages
+ */
+public class CompatibleImagesTest {
+
+    @Test
+    void testConversionKeepsPixels() {
+        BufferedImage source = new BufferedImage(2, 1, BufferedImage.TYPE_INT_ARGB);
+        source.setRGB(0, 0, 0xFFFF0000);
+        source.setRGB(1, 0, 0x00000000);
+
+        BufferedImage converted = CompatibleImages.toCompatible(source);
+
+        assertTrue(CompatibleImages.isCompatible(converted));
+        assertEquals(0xFFFF0000, converted.getRGB(0, 0));
+        assertEquals(0, converted.getRGB(1, 0) >>> 24); // Still transparent
+    }
+
+    @Test
+    void testCompatibleImageIsReused() {
+        BufferedImage compatible = CompatibleImages.createTranslucent(8, 8);
+        assertSame(compatible, CompatibleImages.toCompatible(compatible));
+    }
+
+    @Test
+    void testPremultipliedCopyScalesColorByAlpha() {
+        BufferedImage source = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+        source.setRGB(0, 0, 0x80FF0000); // Half-transparent red
+
+        BufferedImage premultiplied = CompatibleImages.toPremultiplied(source);
+
+        assertEquals(BufferedImage.TYPE_INT_ARGB_PRE, premultiplied.getType());
+        int stored = premultiplied.getRaster().getDataBuffer().getElem(0);
+        assertEquals(0x80, stored >>> 24);
+        assertEquals(0x80, (stored >> 16) & 0xFF, 1);
+        assertSame(premultiplied, CompatibleImages.toPremultiplied(premultiplied));
+    }
+
+    @Test
+    void testFrameConversionKeepsScaledSize() {
+        AnimationFrame frame = new AnimationFrame(
+            new BufferedImage(64, 64, BufferedImage.TYPE_INT_ARGB), "frame.png", 100);
+        frame.scaleToSize(32, 32);
+
+        frame.convertForDisplay();
+
+        assertTrue(CompatibleImages.isCompatible(frame.getOriginalImage()));
+        assertEquals(32, frame.getWidth());
+        assertEquals(64, frame.getOriginalImage().getWidth());
+    }
+
+    @Test
+    void testFramesFollowTheWindowsScreen() {
+        ColorModel straight = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).getColorModel();
+        ColorModel premultiplied = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB_PRE).getColorModel();
+        AtomicInteger rebuilds = new AtomicInteger();
+        Runnable listener = rebuilds::incrementAndGet;
+        CompatibleImages.addDisplayChangeListener(listener);
+        try {
+            CompatibleImages.setTargetConfiguration(new ScreenConfiguration(premultiplied));
+            int before = rebuilds.get();
+
+            CompatibleImages.setTargetConfiguration(new ScreenConfiguration(straight));
+            BufferedImage created = CompatibleImages.createTranslucent(4, 4);
+            assertEquals(straight, created.getColorModel());
+            assertTrue(CompatibleImages.isCompatible(created));
+            assertEquals(before + 1, rebuilds.get()); // Other format - frames rebuilt
+
+            CompatibleImages.setTargetConfiguration(new ScreenConfiguration(straight));
+            assertEquals(before + 1, rebuilds.get()); // Same format - nothing to convert
+        } finally {
+            CompatibleImages.setTargetConfiguration(new ScreenConfiguration(premultiplied));
+            CompatibleImages.removeDisplayChangeListener(listener);
+        }
+    }
+
+    /**
+     * A monitor whose translucent images use the given color model
+     */
+    private static class ScreenConfiguration extends GraphicsConfiguration {
+        private final ColorModel translucent;
+
+        ScreenConfiguration(ColorModel translucent) {
+            this.translucent = translucent;
+        }
+
+        @Override
+        public GraphicsDevice getDevice() {
+            return null;
+        }
+
+        @Override
+        public ColorModel getColorModel() {
+            return translucent;
+        }
+
+        @Override
+        public ColorModel getColorModel(int transparency) {
+            return translucent;
+        }
+
+        @Override
+        public AffineTransform getDefaultTransform() {
+            return new AffineTransform();
+        }
+
+        @Override
+        public AffineTransform getNormalizingTransform() {
+            return new AffineTransform();
+        }
+
+        @Override
+        public Rectangle getBounds() {
+            return new Rectangle(0, 0, 1920, 1080);
+        }
+    }
+}
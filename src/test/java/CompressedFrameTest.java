@@ -0,0 +1,85 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * Unit tests for CompressedFrame
+ */
+public class CompressedFrameTest {
+
+    @BeforeEach
+    void setUp() {
+        ScaledImageCache.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ScaledImageCache.clear();
+    }
+
+    private static BufferedImage sprite(int size) {
+        BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        for (int y = size / 4; y < size * 3 / 4; y++) {
+            for (int x = size / 4; x < size * 3 / 4; x++) {
+                image.setRGB(x, y, (x + y) % 2 == 0 ? 0xFF3366CC : 0x80FF0000);
+            }
+        }
+        return image;
+    }
+
+    @Test
+    void testPixelsSurviveCompression() {
+        BufferedImage image = sprite(64);
+        CompressedFrame compressed = CompressedFrame.of(image);
+        BufferedImage decoded = compressed.decode();
+
+        assertEquals(64, decoded.getWidth());
+        assertEquals(64, decoded.getHeight());
+        assertTrue(compressed.getCompressedBytes() < 64 * 64 * 4 / 4);
+        for (int y = 0; y < 64; y++) {
+            for (int x = 0; x < 64; x++) {
+                int expected = image.getRGB(x, y);
+                int actual = decoded.getRGB(x, y);
+                assertEquals(expected >>> 24, actual >>> 24);
+                if ((expected >>> 24) == 0xFF) {
+                    assertEquals(expected, actual);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testSameImageIsCompressedOnce() {
+        BufferedImage image = sprite(32);
+
+        assertSame(CompressedFrame.of(image), CompressedFrame.of(image));
+    }
+
+    @Test
+    void testOnlyDisplaySizeStaysDecoded() {
+        AnimationFrame frame = new AnimationFrame(sprite(128), "frame.png", 100);
+        frame.scaleToSize(64, 64);
+
+        assertNull(frame.getRetainedOriginal());
+        assertNotNull(frame.getCompressedOriginal());
+        assertEquals(64, frame.getWidth());
+        assertEquals(128, frame.getOriginalImage().getWidth());
+    }
+
+    @Test
+    void testOriginalIsDecodedOnlyForNewSizes() {
+        AnimationFrame frame = new AnimationFrame(sprite(128), "frame.png", 100);
+        frame.scaleToSize(64, 64);
+        long decodes = CompressedFrame.getDecodeCount();
+
+        frame.scaleToSize(64, 64);
+        BufferedImage enemy = frame.getScaledImage(32, 32);
+        assertSame(enemy, frame.getScaledImage(32, 32));
+        frame.scaleToSize(96, 96);
+
+        assertEquals(decodes + 2, CompressedFrame.getDecodeCount());
+        assertEquals(96, frame.getWidth());
+    }
+}
@@ -0,0 +1,91 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+
+/**
+ * Unit tests for DecodedFrameCache
+ */
+public class DecodedFrameCacheTest {
+
+    private Path tempDir;
+    private File previousDirectory;
+    private long previousMaxBytes;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        tempDir = Files.createTempDirectory("pet-frame-cache");
+        previousDirectory = DecodedFrameCache.getDirectory();
+        previousMaxBytes = DecodedFrameCache.getMaxBytes();
+        DecodedFrameCache.setDirectory(tempDir.toFile());
+        DecodedFrameCache.resetCounters();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        DecodedFrameCache.setDirectory(previousDirectory);
+        DecodedFrameCache.setMaxBytes(previousMaxBytes);
+        try (var paths = Files.walk(tempDir)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Test
+    void testKeyDependsOnBytesModeAndSize() {
+        byte[] source = {1, 2, 3};
+        String key = DecodedFrameCache.keyFor(source, "aspect", 256);
+
+        assertEquals(key, DecodedFrameCache.keyFor(new byte[] {1, 2, 3}, "aspect", 256));
+        assertNotEquals(key, DecodedFrameCache.keyFor(new byte[] {1, 2, 4}, "aspect", 256));
+        assertNotEquals(key, DecodedFrameCache.keyFor(source, "exact", 256));
+        assertNotEquals(key, DecodedFrameCache.keyFor(source, "aspect", 128));
+    }
+
+    @Test
+    void testStoredFrameRoundTrips() {
+        BufferedImage image = new BufferedImage(6, 4, BufferedImage.TYPE_INT_ARGB);
+        image.setRGB(2, 1, 0xFF336699);
+        String key = DecodedFrameCache.keyFor(new byte[] {9}, "aspect", 256);
+
+        assertNull(DecodedFrameCache.get(key));
+        DecodedFrameCache.put(key, image);
+        BufferedImage cached = DecodedFrameCache.get(key);
+
+        assertNotNull(cached);
+        assertEquals(6, cached.getWidth());
+        assertEquals(4, cached.getHeight());
+        assertEquals(0xFF336699, cached.getRGB(2, 1));
+        assertEquals(1, DecodedFrameCache.getHitCount());
+        assertEquals(1, DecodedFrameCache.getMissCount());
+    }
+
+    @Test
+    void testCorruptEntryIsAMiss() throws Exception {
+        String key = DecodedFrameCache.keyFor(new byte[] {7}, "aspect", 256);
+        Files.write(tempDir.resolve(key + ".frame"), new byte[] {1, 2, 3, 4, 5});
+
+        assertNull(DecodedFrameCache.get(key));
+    }
+
+    @Test
+    void testLeastRecentlyUsedEntriesAreTrimmed() throws Exception {
+        // Each 16x16 entry is 1036 bytes; allow room for two
+        DecodedFrameCache.setMaxBytes(2300);
+        String[] keys = new String[3];
+        for (int i = 0; i < 3; i++) {
+            keys[i] = DecodedFrameCache.keyFor(new byte[] {(byte) i}, "aspect", 16);
+            DecodedFrameCache.put(keys[i], new BufferedImage(16, 16, BufferedImage.TYPE_INT_ARGB));
+            new File(tempDir.toFile(), keys[i] + ".frame").setLastModified(1_000_000L * (i + 1));
+        }
+        DecodedFrameCache.trim();
+
+        assertNull(DecodedFrameCache.get(keys[0]));
+        assertNotNull(DecodedFrameCache.get(keys[2]));
+        assertTrue(DecodedFrameCache.getCurrentBytes() <= 2300);
+    }
+}
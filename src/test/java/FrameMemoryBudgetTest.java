@@ -0,0 +1,139 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Unit tests for FrameMemoryBudget
+ */
+public class FrameMemoryBudgetTest {
+
+    private static final long FRAME_BYTES = 100 * 100 * 4;
+
+    private static CharacterSet setWithFrames(String name, int frames) {
+        CharacterSet set = new CharacterSet(name, "/tmp/" + name + "/");
+        List<AnimationFrame> idleFrames = new ArrayList<>();
+        for (int i = 0; i < frames; i++) {
+            BufferedImage image = new BufferedImage(100, 100, BufferedImage.TYPE_INT_ARGB_PRE);
+            idleFrames.add(new AnimationFrame(image, name + i + ".png", 150));
+        }
+        set.setFrames("idle", idleFrames);
+        return set;
+    }
+
+    @Test
+    void testResidentBytesCountSharedImagesOnce() {
+        CharacterSet set = setWithFrames("owl", 2);
+        BufferedImage shared = set.getIdleAnimation().getFrames().get(0).getImage();
+        set.setFrames("walking", List.of(new AnimationFrame(shared, "copy.png", 150)));
+
+        assertEquals(2 * FRAME_BYTES, FrameMemoryBudget.residentBytes(set));
+
+        AnimationFrame scaled = set.getIdleAnimation().getFrames().get(1);
+        scaled.scaleToSize(50, 50);
+        // Its original moved to the compressed tier; only the display size stays decoded
+        assertNull(scaled.getRetainedOriginal());
+        assertEquals(FRAME_BYTES + 50 * 50 * 4 + scaled.getCompressedOriginal().getCompressedBytes(),
+            FrameMemoryBudget.residentBytes(set));
+    }
+
+    @Test
+    void testLeastRecentlyUsedIdleSetIsReleased() throws Exception {
+        FrameMemoryBudget budget = new FrameMemoryBudget(5 * FRAME_BYTES, set -> false);
+        CharacterSet older = setWithFrames("older", 3);
+        CharacterSet newer = setWithFrames("newer", 3);
+
+        budget.loaded(older);
+        Thread.sleep(5);
+        budget.loaded(newer);
+
+        assertFalse(older.isLoaded());
+        assertEquals(0, older.getIdleAnimation().getFrameCount());
+        assertEquals(3, older.getStoredFrameCount("idle"));
+        assertTrue(newer.isLoaded());
+        assertEquals(3 * FRAME_BYTES, budget.getResidentBytes());
+        assertEquals(1, budget.getEvictionCount());
+    }
+
+    @Test
+    void testRecentUseProtectsASet() throws Exception {
+        FrameMemoryBudget budget = new FrameMemoryBudget(5 * FRAME_BYTES, set -> false);
+        CharacterSet first = setWithFrames("first", 2);
+        CharacterSet second = setWithFrames("second", 2);
+        budget.loaded(first);
+        budget.loaded(second);
+        Thread.sleep(5);
+        budget.touched(first);
+
+        budget.loaded(setWithFrames("third", 2));
+
+        assertTrue(first.isLoaded());
+        assertFalse(second.isLoaded());
+    }
+
+    @Test
+    void testDisplayedSetsAreNeverReleased() {
+        Set<CharacterSet> displayed = new HashSet<>();
+        FrameMemoryBudget budget = new FrameMemoryBudget(FRAME_BYTES, displayed::contains);
+        CharacterSet pet = setWithFrames("pet", 3);
+        CharacterSet enemy = setWithFrames("enemy", 3);
+        displayed.add(pet);
+        displayed.add(enemy);
+
+        budget.loaded(pet);
+        budget.loaded(enemy);
+
+        assertTrue(pet.isLoaded());
+        assertTrue(enemy.isLoaded());
+
+        displayed.remove(pet);
+        List<CharacterSet> released = budget.enforce();
+        assertEquals(List.of(pet), released);
+        assertTrue(budget.getStats().contains("enemy: "));
+    }
+
+    @Test
+    void testZeroBudgetDisablesEviction() {
+        FrameMemoryBudget budget = new FrameMemoryBudget(0, set -> false);
+        CharacterSet set = setWithFrames("owl", 4);
+        budget.loaded(set);
+        budget.loaded(setWithFrames("bat", 4));
+
+        assertTrue(set.isLoaded());
+        assertEquals(8 * FRAME_BYTES, budget.getResidentBytes());
+    }
+
+    @Test
+    void testOpenViewsKeepTheirFramesAfterRelease() throws Exception {
+        FrameMemoryBudget budget = new FrameMemoryBudget(3 * FRAME_BYTES, set -> false);
+        CharacterSet previewed = setWithFrames("previewed", 3);
+        AnimationSequence shown = previewed.getIdleAnimation();
+        budget.loaded(previewed);
+        Thread.sleep(5);
+
+        budget.loaded(setWithFrames("other", 3));
+
+        assertFalse(previewed.isLoaded());
+        assertEquals(0, previewed.getIdleAnimation().getFrameCount());
+        assertEquals(3, shown.getFrameCount()); // Replaced, not cleared under the view
+    }
+
+    @Test
+    void testEvictionRunsOnTheEvictionThread() throws Exception {
+        List<Runnable> queued = new ArrayList<>();
+        FrameMemoryBudget budget = new FrameMemoryBudget(3 * FRAME_BYTES, set -> false, queued::add);
+        CharacterSet older = setWithFrames("older", 3);
+        CharacterSet newer = setWithFrames("newer", 3);
+        budget.loaded(older);
+        budget.loaded(newer);
+
+        assertTrue(older.isLoaded() && newer.isLoaded()); // Nothing released on the calling thread
+        assertEquals(0, budget.getEvictionCount());
+        queued.forEach(Runnable::run);
+        assertEquals(1, budget.getEvictionCount());
+        assertEquals(3 * FRAME_BYTES, budget.getResidentBytes());
+    }
+}
@@ -0,0 +1,69 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for FrameRateGovernor
+ */
+public class FrameRateGovernorTest {
+
+    @Test
+    void testIdleAndOffscreenSlowDown() {
+        FrameRateGovernor governor = FrameRateGovernor.getInstance();
+        FrameRateGovernor.Client client = governor.register("test");
+        try {
+            double active = governor.getSlowdown(client);
+            client.setIdle(true);
+            double idle = governor.getSlowdown(client);
+            client.setOffscreen(true);
+            double idleOffscreen = governor.getSlowdown(client);
+
+            assertTrue(idle > active);
+            assertTrue(idleOffscreen >= idle);
+            assertTrue(idleOffscreen <= FrameRateGovernor.MAX_SLOWDOWN);
+        } finally {
+            governor.unregister(client);
+        }
+    }
+
+    @Test
+    void testHiddenClientParksTimersUntilShown() throws Exception {
+        FrameRateGovernor.Client client = FrameRateGovernor.getInstance().register("hidden");
+        CountDownLatch fired = new CountDownLatch(1);
+        FrameTimer timer = new FrameTimer(20, e -> fired.countDown());
+        timer.setRateClient(client);
+        try {
+            client.setHidden(true);
+            timer.start();
+
+            assertFalse(fired.await(150, TimeUnit.MILLISECONDS));
+            assertTrue(timer.isRunning()); // Parked, not stopped
+
+            client.setHidden(false);
+            assertTrue(fired.await(1, TimeUnit.SECONDS));
+        } finally {
+            timer.stop();
+            FrameRateGovernor.getInstance().unregister(client);
+        }
+    }
+
+    @Test
+    void testStoppingParkedTimerForgetsIt() throws Exception {
+        FrameRateGovernor.Client client = FrameRateGovernor.getInstance().register("stopped");
+        boolean[] fired = {false};
+        FrameTimer timer = new FrameTimer(20, e -> fired[0] = true);
+        timer.setRateClient(client);
+        try {
+            client.setHidden(true);
+            timer.start();
+            timer.stop();
+            client.setHidden(false);
+
+            Thread.sleep(150);
+            assertFalse(fired[0]);
+        } finally {
+            FrameRateGovernor.getInstance().unregister(client);
+        }
+    }
+}
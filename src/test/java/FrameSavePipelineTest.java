@@ -0,0 +1,130 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import javax.imageio.ImageIO;
+import javax.swing.ImageIcon;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit tests for FrameSavePipeline
+ */
+public class FrameSavePipelineTest {
+
+    private Path tempDir;
+    private File setDir;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        tempDir = Files.createTempDirectory("pet-save");
+        setDir = new File(tempDir.toFile(), "owl");
+        assertTrue(setDir.mkdirs());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        try (var paths = Files.walk(tempDir)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    private static ImageIcon frame(int marker) {
+        BufferedImage image = new BufferedImage(20, 20, BufferedImage.TYPE_INT_ARGB);
+        image.setRGB(marker % 20, marker / 20, 0xFF00FF00);
+        return new ImageIcon(image);
+    }
+
+    private static Map<String, List<ImageIcon>> animations(List<ImageIcon> idle, List<ImageIcon> walking) {
+        Map<String, List<ImageIcon>> animations = new HashMap<>();
+        animations.put("idle", idle);
+        animations.put("walking", walking);
+        return animations;
+    }
+
+    @Test
+    void testFirstSaveEncodesEveryFrame() throws Exception {
+        List<Long> progress = new ArrayList<>();
+        FrameSavePipeline.Result result = FrameSavePipeline.save(setDir,
+            animations(List.of(frame(1), frame(2)), List.of(frame(3))), (done, total) -> progress.add(done));
+
+        assertEquals(3, result.encoded);
+        assertEquals(0, result.unchanged);
+        assertEquals(List.of(1L, 2L, 3L), progress);
+        assertEquals(2, result.frames.get("idle").size());
+        BufferedImage written = ImageIO.read(new File(setDir, "idle/idle_frame_001.png"));
+        assertEquals(0xFF00FF00, written.getRGB(2, 0));
+        assertTrue(new File(setDir, FrameSavePipeline.MANIFEST_NAME).isFile());
+    }
+
+    @Test
+    void testUnchangedFramesAreSkipped() throws Exception {
+        List<ImageIcon> idle = new ArrayList<>(List.of(frame(1), frame(2), frame(3)));
+        FrameSavePipeline.save(setDir, animations(idle, List.of()), null);
+        File untouched = new File(setDir, "idle/idle_frame_000.png");
+        long modified = untouched.lastModified();
+
+        idle.set(2, frame(9));
+        FrameSavePipeline.Result result = FrameSavePipeline.save(setDir, animations(idle, List.of()), null);
+
+        assertEquals(1, result.encoded);
+        assertEquals(2, result.unchanged);
+        assertEquals(modified, untouched.lastModified());
+        assertEquals(0xFF00FF00, ImageIO.read(new File(setDir, "idle/idle_frame_002.png")).getRGB(9, 0));
+    }
+
+    @Test
+    void testEqualPixelsInANewImageAreSkipped() throws Exception {
+        FrameSavePipeline.save(setDir, animations(List.of(frame(4)), List.of()), null);
+
+        FrameSavePipeline.Result result = FrameSavePipeline.save(setDir, animations(List.of(frame(4)), List.of()), null);
+
+        assertEquals(0, result.encoded);
+        assertEquals(1, result.unchanged);
+    }
+
+    @Test
+    void testFileEditedOnDiskIsRewritten() throws Exception {
+        List<ImageIcon> idle = List.of(frame(1));
+        FrameSavePipeline.save(setDir, animations(idle, List.of()), null);
+        File written = new File(setDir, "idle/idle_frame_000.png");
+        ImageIO.write(new BufferedImage(5, 5, BufferedImage.TYPE_INT_ARGB), "png", written);
+        assertTrue(written.setLastModified(written.lastModified() - 5000));
+
+        FrameSavePipeline.Result result = FrameSavePipeline.save(setDir, animations(idle, List.of()), null);
+
+        assertEquals(1, result.encoded);
+        assertEquals(20, ImageIO.read(written).getWidth());
+    }
+
+    @Test
+    void testLeftoverFramesAreRemoved() throws Exception {
+        FrameSavePipeline.save(setDir, animations(List.of(frame(1), frame(2), frame(3)), List.of(frame(4))), null);
+        File keep = new File(setDir, "idle/custom.png");
+        ImageIO.write(new BufferedImage(5, 5, BufferedImage.TYPE_INT_ARGB), "png", keep);
+
+        FrameSavePipeline.save(setDir, animations(List.of(frame(1)), List.of()), null);
+
+        assertTrue(new File(setDir, "idle/idle_frame_000.png").isFile());
+        assertFalse(new File(setDir, "idle/idle_frame_001.png").exists());
+        assertFalse(new File(setDir, "idle/idle_frame_002.png").exists());
+        assertFalse(new File(setDir, "walking/walking_frame_000.png").exists());
+        assertTrue(keep.isFile());
+    }
+
+    @Test
+    void testNoTempFilesRemain() throws Exception {
+        FrameSavePipeline.save(setDir, animations(List.of(frame(1), frame(2)), List.of(frame(3))), null);
+
+        try (var paths = Files.walk(setDir.toPath())) {
+            assertTrue(paths.noneMatch(path -> path.toString().endsWith(".tmp")));
+        }
+    }
+}
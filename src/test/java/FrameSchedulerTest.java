@@ -0,0 +1,91 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for FrameScheduler and FrameTimer
+ */
+public class FrameSchedulerTest {
+
+    @Test
+    void testTimersFireInDeadlineOrder() throws Exception {
+        List<String> fired = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(3);
+
+        FrameTimer slow = new FrameTimer(150, e -> { fired.add("slow"); latch.countDown(); });
+        FrameTimer fast = new FrameTimer(50, e -> { fired.add("fast"); latch.countDown(); });
+        FrameTimer medium = new FrameTimer(100, e -> { fired.add("medium"); latch.countDown(); });
+        slow.setRepeats(false);
+        fast.setRepeats(false);
+        medium.setRepeats(false);
+
+        slow.start();
+        fast.start();
+        medium.start();
+
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        assertEquals(List.of("fast", "medium", "slow"), fired);
+        assertFalse(fast.isRunning()); // One-shot timers stop after firing
+    }
+
+    @Test
+    void testRepeatingTimerStopsFromCallback() throws Exception {
+        CountDownLatch latch = new CountDownLatch(3);
+        int[] count = {0};
+
+        FrameTimer timer = new FrameTimer(10, e -> {
+            count[0]++;
+            latch.countDown();
+            if (count[0] >= 3) {
+                ((FrameTimer) e.getSource()).stop();
+            }
+        });
+        timer.start();
+
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        Thread.sleep(100);
+        assertEquals(3, count[0]);
+        assertFalse(timer.isRunning());
+    }
+
+    @Test
+    void testStoppedTimerNeverFires() throws Exception {
+        boolean[] fired = {false};
+        FrameTimer timer = new FrameTimer(30, e -> fired[0] = true);
+        timer.start();
+        timer.stop();
+
+        Thread.sleep(150);
+        assertFalse(fired[0]);
+    }
+
+    @Test
+    void testSlowCallbacksYieldToTheEventQueue() throws Exception {
+        // Callbacks together take longer than the period, so there is always a timer due
+        List<FrameTimer> timers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            FrameTimer timer = new FrameTimer(5, e -> {
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException ignored) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            timers.add(timer);
+            timer.start();
+        }
+        Thread.sleep(50);
+
+        CountDownLatch painted = new CountDownLatch(1);
+        javax.swing.SwingUtilities.invokeLater(painted::countDown);
+        try {
+            assertTrue(painted.await(2, TimeUnit.SECONDS));
+        } finally {
+            javax.swing.SwingUtilities.invokeAndWait(() -> timers.forEach(FrameTimer::stop));
+        }
+    }
+}
@@ -0,0 +1,138 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Unit tests for FrameStore
+ */
+public class FrameStoreTest {
+
+    private Path tempDir;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        tempDir = Files.createTempDirectory("pet-frames");
+        DecodedFrameCache.setDirectory(new File(tempDir.toFile(), "cache"));
+        FrameStore.setEnabled(true);
+        FrameStore.clear();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        FrameStore.clear();
+        DecodedFrameCache.setDirectory(new File("cache/frames"));
+        try (var paths = Files.walk(tempDir)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    private static BufferedImage image(int marker) {
+        BufferedImage image = new BufferedImage(100, 100, BufferedImage.TYPE_INT_ARGB_PRE);
+        image.setRGB(marker, marker, 0xFFFF0000);
+        return image;
+    }
+
+    @Test
+    void testIdenticalPixelsAreStoredOnce() {
+        BufferedImage first = FrameStore.intern(image(1), null);
+        BufferedImage second = FrameStore.intern(image(1), null);
+        BufferedImage other = FrameStore.intern(image(2), null);
+
+        assertSame(first, second);
+        assertNotSame(first, other);
+        assertEquals(2, FrameStore.getUniqueCount());
+        assertEquals(1, FrameStore.getSharedCount());
+        assertEquals(100 * 100 * 4, FrameStore.getSharedBytes());
+    }
+
+    @Test
+    void testSourceKeyFindsFrameWithoutDecoding() {
+        BufferedImage stored = FrameStore.intern(image(3), "source-key");
+
+        assertSame(stored, FrameStore.lookup("source-key"));
+        assertNull(FrameStore.lookup("other-key"));
+    }
+
+    @Test
+    void testRepeatedLookupsCountAFrameOnce() {
+        FrameStore.intern(image(3), "source-key");
+
+        for (int i = 0; i < 3; i++) {
+            assertNotNull(FrameStore.lookup("source-key"));
+        }
+
+        assertEquals(1, FrameStore.getSharedCount());
+        assertEquals(100 * 100 * 4, FrameStore.getSharedBytes());
+    }
+
+    @Test
+    void testDecodeRunsOutsideTheLock() {
+        BufferedImage racing = image(7);
+        String hash = FrameStore.pixelHash(racing);
+
+        BufferedImage stored = FrameStore.intern(hash, () -> {
+            assertFalse(Thread.holdsLock(FrameStore.class));
+            // Another loader stores the same frame while this one decodes
+            FrameStore.intern(hash, () -> racing);
+            return image(7);
+        });
+
+        assertSame(racing, stored);
+        assertEquals(1, FrameStore.getUniqueCount());
+    }
+
+    @Test
+    void testDisabledStoreNeverShares() {
+        FrameStore.setEnabled(false);
+
+        assertNotSame(FrameStore.intern(image(1), "key"), FrameStore.intern(image(1), "key"));
+        assertNull(FrameStore.lookup("key"));
+    }
+
+    @Test
+    void testCopiedFramesAcrossSetsShareOneImage() throws Exception {
+        File petFrame = new File(tempDir.toFile(), "Pets/owl/idle/frame.png");
+        File enemyFrame = new File(tempDir.toFile(), "Enemies/bat/pain/copy.png");
+        assertTrue(petFrame.getParentFile().mkdirs());
+        assertTrue(enemyFrame.getParentFile().mkdirs());
+        ImageIO.write(image(4), "png", petFrame);
+        Files.copy(petFrame.toPath(), enemyFrame.toPath());
+
+        BufferedImage pet = CharacterFileManager.loadAndScaleImagePreserveAspect(petFrame, 256);
+        BufferedImage enemy = CharacterFileManager.loadAndScaleImagePreserveAspect(enemyFrame, 256);
+
+        assertSame(pet, enemy);
+    }
+
+    @Test
+    void testPackStoresRepeatedFramesOnce() throws Exception {
+        File setDir = new File(tempDir.toFile(), "owl");
+        for (String animation : List.of("idle", "walking")) {
+            File animationDir = new File(setDir, animation);
+            assertTrue(animationDir.mkdirs());
+            ImageIO.write(image(5), "png", new File(animationDir, "frame0.png"));
+            ImageIO.write(image(6), "png", new File(animationDir, "frame1.png"));
+        }
+        CharacterSet decoded = CharacterSetLoader.load(setDir, "owl");
+        long packSize = CharacterPack.getPackFile(setDir).length();
+
+        assertTrue(FrameStore.getPackBytesSaved() >= 2L * 100 * 100 * 4);
+        assertTrue(packSize < 3L * 100 * 100 * 4);
+
+        FrameStore.clear();
+        CharacterSet packed = CharacterPack.read(setDir, "owl");
+        assertNotNull(packed);
+        assertSame(packed.getIdleAnimation().getFrames().get(0).getImage(),
+            packed.getWalkingAnimation().getFrames().get(0).getImage());
+        assertEquals(2, FrameStore.getUniqueCount());
+        assertEquals(4, decoded.getIdleAnimation().getFrames().size() + decoded.getWalkingAnimation().getFrames().size());
+    }
+}
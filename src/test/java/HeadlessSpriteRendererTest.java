@@ -0,0 +1,75 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.awt.image.BufferedImage;
+import java.util.List;
+
+/**
+ * Unit tests for HeadlessSpriteRenderer
+ */
+public class HeadlessSpriteRendererTest {
+
+    private static AnimationSequence sequenceWithMarkerFrame() {
+        BufferedImage image = new BufferedImage(10, 10, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < 10; y++) {
+            image.setRGB(0, y, 0xFFFF0000); // Red column on the left edge
+        }
+        return new AnimationSequence("idle", true, List.of(new AnimationFrame(image, "marker.png", 100)));
+    }
+
+    @Test
+    void testRendersFrameIntoCanvas() {
+        HeadlessSpriteRenderer renderer = new HeadlessSpriteRenderer(10, 10);
+
+        assertNotNull(renderer.renderNextFrame(sequenceWithMarkerFrame()));
+
+        assertEquals(0xFFFF0000, renderer.getCanvas().getRGB(0, 5));
+        assertEquals(0, renderer.getCanvas().getRGB(9, 5) >>> 24);
+    }
+
+    @Test
+    void testLeftFacingIsMirrored() {
+        HeadlessSpriteRenderer renderer = new HeadlessSpriteRenderer(10, 10);
+        renderer.setFacingRight(false);
+
+        renderer.renderNextFrame(sequenceWithMarkerFrame());
+
+        assertEquals(0xFFFF0000, renderer.getCanvas().getRGB(9, 5));
+    }
+
+    @Test
+    void testIdenticalFramesAreNotRedrawn() {
+        HeadlessSpriteRenderer renderer = new HeadlessSpriteRenderer(10, 10);
+        AnimationSequence single = sequenceWithMarkerFrame();
+
+        renderer.renderNextFrame(single);
+        renderer.renderNextFrame(single);
+
+        assertEquals(1, renderer.getFramesRendered());
+        assertEquals(1, renderer.getFramesSkipped());
+    }
+
+    @Test
+    void testNonLoopingSequenceStartsOver() {
+        AnimationSequence once = new AnimationSequence("special", false, List.of(
+            new AnimationFrame(new BufferedImage(10, 10, BufferedImage.TYPE_INT_ARGB), "a.png", 100),
+            new AnimationFrame(new BufferedImage(10, 10, BufferedImage.TYPE_INT_ARGB), "b.png", 100)));
+        HeadlessSpriteRenderer renderer = new HeadlessSpriteRenderer(10, 10);
+
+        for (int i = 0; i < 6; i++) {
+            renderer.renderNextFrame(once);
+        }
+
+        assertEquals(6, renderer.getFramesRendered());
+        assertEquals(0, renderer.getFramesSkipped());
+    }
+
+    @Test
+    void testSyntheticSetPrepares() {
+        CharacterSet set = SpriteRenderBenchmark.createSyntheticSet(32, 2);
+        HeadlessSpriteRenderer renderer = new HeadlessSpriteRenderer(16, 16);
+
+        renderer.prepare(set);
+
+        assertEquals(16, set.getWalkingAnimation().getFrames().get(0).getWidth());
+    }
+}
@@ -0,0 +1,130 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import javax.imageio.ImageIO;
+import javax.swing.ImageIcon;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for ImageImportPipeline
+ */
+public class ImageImportPipelineTest {
+
+    private Path tempDir;
+    private File previousCacheDirectory;
+    private final List<File> files = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        tempDir = Files.createTempDirectory("pet-import");
+        previousCacheDirectory = DecodedFrameCache.getDirectory();
+        DecodedFrameCache.setDirectory(new File(tempDir.toFile(), "frame-cache")); // Decode for real, not from ./cache
+        for (int i = 0; i < 12; i++) {
+            BufferedImage image = new BufferedImage(100 + i, 100, BufferedImage.TYPE_INT_ARGB);
+            File file = new File(tempDir.toFile(), "frame" + i + ".png");
+            ImageIO.write(image, "png", file);
+            files.add(file);
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        DecodedFrameCache.setDirectory(previousCacheDirectory);
+        try (var paths = Files.walk(tempDir)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    private File writeText(String name) throws Exception {
+        File file = new File(tempDir.toFile(), name);
+        Files.write(file.toPath(), "not an image".getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    @Test
+    void testResultsArriveInFileOrder() throws Exception {
+        File broken = writeText("broken.png");
+        List<File> selection = new ArrayList<>(files);
+        selection.add(5, broken);
+        List<Integer> widths = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> thumbnailWidths = Collections.synchronizedList(new ArrayList<>());
+        List<File> rejected = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch finished = new CountDownLatch(1);
+        int[] counts = new int[2];
+
+        ImageImportPipeline.importImages(selection.toArray(new File[0]), new ImageImportPipeline.Listener() {
+            @Override
+            public void imported(File file, ImageIcon image, ImageIcon thumbnail) {
+                widths.add(image.getIconWidth());
+                thumbnailWidths.add(thumbnail.getIconWidth());
+            }
+
+            @Override
+            public void rejected(File file, String reason) {
+                rejected.add(file);
+            }
+
+            @Override
+            public void finished(int imported, int rejectedCount) {
+                counts[0] = imported;
+                counts[1] = rejectedCount;
+                finished.countDown();
+            }
+        });
+
+        assertTrue(finished.await(10, TimeUnit.SECONDS));
+        assertEquals(12, counts[0]);
+        assertEquals(1, counts[1]);
+        assertEquals(List.of(broken), rejected);
+        for (int i = 0; i < widths.size(); i++) {
+            assertEquals(100 + i, (int) widths.get(i));
+            assertEquals(ImageImportPipeline.THUMBNAIL_SIZE, (int) thumbnailWidths.get(i));
+        }
+    }
+
+    @Test
+    void testValidationChecksExtensionAndHeader() throws Exception {
+        assertNull(ImageImportPipeline.validate(files.get(0)));
+        assertNotNull(ImageImportPipeline.validate(writeText("notes.txt")));
+        assertNotNull(ImageImportPipeline.validate(writeText("fake.png")));
+        assertNotNull(ImageImportPipeline.validate(new File(tempDir.toFile(), "missing.png")));
+    }
+
+    @Test
+    void testSmallImagesAreTheirOwnThumbnail() {
+        ImageIcon small = new ImageIcon(new BufferedImage(30, 20, BufferedImage.TYPE_INT_ARGB));
+        assertSame(small, ImageImportPipeline.thumbnailOf(small));
+
+        ImageIcon large = new ImageIcon(new BufferedImage(200, 100, BufferedImage.TYPE_INT_ARGB));
+        ImageIcon thumbnail = ImageImportPipeline.thumbnailOf(large);
+        assertEquals(80, thumbnail.getIconWidth());
+        assertEquals(40, thumbnail.getIconHeight());
+    }
+
+    @Test
+    void testCopyNumbersValidFramesInOrder() throws Exception {
+        File animationDir = new File(tempDir.toFile(), "set/idle");
+        assertTrue(animationDir.mkdirs());
+        List<File> selection = new ArrayList<>(files.subList(0, 3));
+        selection.add(1, writeText("broken.png"));
+
+        int copied = ImageImportPipeline.copyImages(selection.toArray(new File[0]), animationDir, "idle");
+
+        assertEquals(3, copied);
+        assertEquals(3, CharacterFileManager.listImageFiles(animationDir).length);
+        assertEquals(102, ImageIO.read(new File(animationDir, "idle_frame_002.png")).getWidth());
+        assertArrayEquals(Files.readAllBytes(files.get(1).toPath()),
+            Files.readAllBytes(new File(animationDir, "idle_frame_001.png").toPath()));
+    }
+}
@@ -0,0 +1,83 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.awt.Point;
+
+/**
+ * Unit tests for MotionIntegrator
+ */
+public class MotionIntegratorTest {
+
+    private static final long MS = 1_000_000L;
+
+    private static void tick(MotionIntegrator motion, long nowNanos, double targetX, double speed) {
+        motion.advance(nowNanos);
+        while (motion.nextStep()) {
+            motion.moveToward(targetX, 0, speed);
+        }
+    }
+
+    @Test
+    void testDistanceDependsOnTimeNotTickCount() {
+        MotionIntegrator regular = new MotionIntegrator(10, 100);
+        MotionIntegrator late = new MotionIntegrator(10, 100);
+        regular.reset(new Point(0, 0));
+        late.reset(new Point(0, 0));
+
+        // Same 500ms of time: ten on-time ticks vs. two late ones
+        tick(regular, 0, 1000, 60);
+        tick(late, 0, 1000, 60);
+        for (int i = 1; i <= 10; i++) {
+            tick(regular, i * 50 * MS, 1000, 60);
+        }
+        tick(late, 250 * MS, 1000, 60);
+        tick(late, 500 * MS, 1000, 60);
+
+        assertEquals(regular.getX(), late.getX(), 0.001);
+        assertEquals(30.6, regular.getX(), 0.001); // 500ms at 60px/s plus the first immediate step
+    }
+
+    @Test
+    void testCatchUpIsCapped() {
+        MotionIntegrator motion = new MotionIntegrator(10, 5);
+        motion.reset(new Point(0, 0));
+
+        tick(motion, 0, 1000, 100);
+        tick(motion, 10_000 * MS, 1000, 100); // Ten seconds stalled
+
+        assertEquals(6, motion.getStepCount()); // First step plus at most five catch-up steps
+    }
+
+    @Test
+    void testDoesNotOvershootTarget() {
+        MotionIntegrator motion = new MotionIntegrator(10, 100);
+        motion.reset(new Point(0, 0));
+
+        tick(motion, 0, 3, 1000);
+        tick(motion, 100 * MS, 3, 1000);
+
+        assertEquals(3.0, motion.getX(), 0.001);
+    }
+
+    @Test
+    void testRenderPositionInterpolates() {
+        MotionIntegrator motion = new MotionIntegrator(10, 100);
+        motion.reset(new Point(0, 0));
+        motion.advance(0);
+        motion.nextStep();
+        motion.moveToward(100, 0, 1000); // 10px per step
+        motion.advance(5 * MS); // Half a step left over
+
+        assertEquals(new Point(5, 0), motion.getRenderPosition());
+        assertEquals(new Point(10, 0), motion.settle());
+    }
+
+    @Test
+    void testSyncFollowsOutsideMoves() {
+        MotionIntegrator motion = new MotionIntegrator(10, 100);
+        motion.reset(new Point(0, 0));
+
+        motion.sync(new Point(200, 50)); // Dragged elsewhere
+
+        assertEquals(new Point(200, 50), motion.getPosition());
+    }
+}
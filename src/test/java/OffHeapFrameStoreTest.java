@@ -0,0 +1,108 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+
+/**
+ * Unit tests for OffHeapFrameStore
+ */
+public class OffHeapFrameStoreTest {
+
+    @BeforeEach
+    void setUp() {
+        OffHeapFrameStore.setEnabled(true);
+        FrameStore.clear();
+        ScaledImageCache.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        OffHeapFrameStore.setEnabled(false);
+        FrameStore.clear();
+        ScaledImageCache.clear();
+    }
+
+    private static BufferedImage image(int width, int height, int argb) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        image.setRGB(1, 2, argb);
+        return image;
+    }
+
+    @Test
+    void testPixelsSurviveTheRoundTrip() {
+        long before = OffHeapFrameStore.getOffHeapBytes();
+        BufferedImage frame = OffHeapFrameStore.wrap(image(40, 30, 0xFF336699));
+
+        assertTrue(OffHeapFrameStore.isOffHeap(frame));
+        assertEquals(40, frame.getWidth());
+        assertEquals(30, frame.getHeight());
+        assertEquals(before + 40 * 30 * 4, OffHeapFrameStore.getOffHeapBytes());
+        assertEquals(0xFF336699, frame.getRGB(1, 2));
+        assertEquals(0, frame.getRGB(0, 0));
+    }
+
+    @Test
+    void testScaledCopiesLiveOnTheHeap() {
+        BufferedImage frame = OffHeapFrameStore.wrap(image(40, 40, 0xFFFFFFFF));
+        AnimationFrame animationFrame = new AnimationFrame(frame, "frame.png", 100);
+
+        animationFrame.scaleToSize(20, 20);
+        animationFrame.convertForDisplay();
+
+        assertNull(animationFrame.getRetainedOriginal()); // Direct memory can be released
+        assertTrue(animationFrame.getImage().getRaster().getDataBuffer() instanceof DataBufferInt);
+        assertEquals(20, animationFrame.getWidth());
+    }
+
+    @Test
+    void testHeapCopyIsMadeOnlyWhenDrawn() {
+        BufferedImage frame = OffHeapFrameStore.wrap(image(40, 40, 0xFF336699));
+        AnimationFrame animationFrame = new AnimationFrame(frame, "frame.png", 100);
+
+        assertSame(frame, animationFrame.getImage()); // Loading alone copies nothing to the heap
+        BufferedImage drawn = animationFrame.getDisplayImage();
+        assertFalse(OffHeapFrameStore.isOffHeap(drawn));
+        assertSame(drawn, animationFrame.getDisplayImage());
+        assertEquals(0xFF336699, drawn.getRGB(1, 2));
+
+        animationFrame.convertForDisplay();
+
+        assertSame(frame, animationFrame.getImage());
+        assertNotSame(drawn, animationFrame.getDisplayImage()); // Copied again for the new display
+        assertEquals(0xFF336699, animationFrame.getDisplayImage().getRGB(1, 2));
+    }
+
+    @Test
+    void testRescaleLeavesTheOffHeapTier() {
+        BufferedImage frame = OffHeapFrameStore.wrap(image(40, 40, 0xFF336699));
+        AnimationFrame animationFrame = new AnimationFrame(frame, "frame.png", 100);
+
+        animationFrame.scaleToSize(20, 20);
+
+        assertNull(animationFrame.getRetainedOriginal());
+        assertNotNull(animationFrame.getCompressedOriginal()); // Originals move to the compressed heap tier
+        assertFalse(OffHeapFrameStore.isOffHeap(animationFrame.getOriginalImage()));
+        assertSame(animationFrame.getImage(), animationFrame.getDisplayImage());
+    }
+
+    @Test
+    void testDisabledStoreKeepsPixelsOnTheHeap() {
+        OffHeapFrameStore.setEnabled(false);
+        BufferedImage image = image(10, 10, 0xFFFFFFFF);
+
+        assertSame(image, OffHeapFrameStore.wrap(image));
+        assertFalse(OffHeapFrameStore.isOffHeap(image));
+    }
+
+    @Test
+    void testFrameStoreHandsOutOffHeapFrames() {
+        BufferedImage first = FrameStore.intern(image(50, 50, 0xFF00FF00), "key");
+        BufferedImage second = FrameStore.intern(image(50, 50, 0xFF00FF00), null);
+
+        assertSame(first, second);
+        assertTrue(OffHeapFrameStore.isOffHeap(first));
+        assertEquals(0xFF00FF00, first.getRGB(1, 2));
+    }
+}
@@ -0,0 +1,127 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+
+/**
+ * Unit tests for ProgressiveScaler
+ */
+public class ProgressiveScalerTest {
+
+    private static BufferedImage gradient(int size) {
+        BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                image.setRGB(x, y, 0xFF000000 | (x * 255 / size) << 16 | (y * 255 / size) << 8);
+            }
+        }
+        return image;
+    }
+
+    @Test
+    void testScalesToTheRequestedSize() {
+        BufferedImage scaled = ProgressiveScaler.scale(gradient(300), 37, 120);
+
+        assertEquals(37, scaled.getWidth());
+        assertEquals(120, scaled.getHeight());
+    }
+
+    @Test
+    void testHalvingAveragesEachBlock() {
+        int[] pixels = {0xFF000000, 0xFFFFFFFF, 0x00000000, 0x00000000};
+
+        int[] halved = ProgressiveScaler.halve(pixels, 2, 2, true, true, false);
+
+        assertEquals(1, halved.length);
+        assertEquals(0x80404040, halved[0]);
+    }
+
+    @Test
+    void testOddEdgeIsKeptWhenHalving() {
+        int[] pixels = {0xFF000000, 0xFF000000, 0xFF000000, 0xFF000000, 0xFFFFFFFF};
+
+        int[] halved = ProgressiveScaler.halve(pixels, 5, 1, true, false, false);
+
+        assertEquals(3, halved.length);
+        assertEquals(0xFF000000, halved[1]);
+        assertEquals(0xFFFFFFFF, halved[2]);
+    }
+
+    @Test
+    void testOneAxisDownscaleIsAveraged() {
+        // One-pixel stripes alias to solid black or white unless the wide axis is halved
+        BufferedImage stripes = new BufferedImage(400, 40, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < 40; y++) {
+            for (int x = 0; x < 400; x++) {
+                stripes.setRGB(x, y, x % 2 == 0 ? 0xFF000000 : 0xFFFFFFFF);
+            }
+        }
+
+        BufferedImage scaled = ProgressiveScaler.scale(stripes, 50, 40);
+
+        for (int x = 0; x < 50; x++) {
+            int red = (scaled.getRGB(x, 20) >> 16) & 0xFF;
+            assertTrue(Math.abs(red - 128) <= 2, "column " + x + " is " + red);
+        }
+    }
+
+    @Test
+    void testSubImageKeepsTranslucentColor() {
+        BufferedImage image = new BufferedImage(64, 64, BufferedImage.TYPE_INT_ARGB_PRE);
+        for (int y = 0; y < 64; y++) {
+            for (int x = 0; x < 64; x++) {
+                image.setRGB(x, y, 0x80FF0000);
+            }
+        }
+
+        BufferedImage scaled = ProgressiveScaler.scale(image.getSubimage(8, 8, 33, 31), 16, 15);
+
+        int argb = scaled.getRGB(7, 7);
+        assertTrue(Math.abs((argb >>> 24) - 0x80) <= 1);
+        assertTrue(Math.abs(((argb >> 16) & 0xFF) - 0xFF) <= 2);
+        assertEquals(0, argb & 0xFFFF);
+    }
+
+    @Test
+    void testFlatColorStaysFlat() {
+        BufferedImage image = new BufferedImage(256, 256, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < 256; y++) {
+            for (int x = 0; x < 256; x++) {
+                image.setRGB(x, y, 0xFF3366CC);
+            }
+        }
+
+        BufferedImage scaled = ProgressiveScaler.scale(image, 50, 50);
+
+        assertEquals(0xFF3366CC, scaled.getRGB(0, 0));
+        assertEquals(0xFF3366CC, scaled.getRGB(49, 49));
+    }
+
+    @Test
+    void testCloseToAreaAveraging() {
+        BufferedImage source = gradient(512);
+        BufferedImage reference = new BufferedImage(96, 96, BufferedImage.TYPE_INT_ARGB);
+        reference.getGraphics().drawImage(source.getScaledInstance(96, 96, Image.SCALE_SMOOTH), 0, 0, null);
+
+        BufferedImage scaled = ProgressiveScaler.scale(source, 96, 96);
+
+        for (int y = 0; y < 96; y += 7) {
+            for (int x = 0; x < 96; x += 7) {
+                int expected = reference.getRGB(x, y);
+                int actual = scaled.getRGB(x, y);
+                assertTrue(Math.abs(((expected >> 16) & 0xFF) - ((actual >> 16) & 0xFF)) <= 3);
+                assertTrue(Math.abs(((expected >> 8) & 0xFF) - ((actual >> 8) & 0xFF)) <= 3);
+            }
+        }
+    }
+
+    @Test
+    void testParallelBandsMatchSerialResult() {
+        BufferedImage source = gradient(600);
+
+        BufferedImage serial = ProgressiveScaler.scale(source, 250, 170, false);
+        BufferedImage parallel = ProgressiveScaler.scale(source, 250, 170, true);
+
+        assertArrayEquals(serial.getRGB(0, 0, 250, 170, null, 0, 250), parallel.getRGB(0, 0, 250, 170, null, 0, 250));
+    }
+}
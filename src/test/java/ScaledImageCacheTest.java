@@ -0,0 +1,73 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+import javax.swing.ImageIcon;
+import java.awt.image.BufferedImage;
+
+/**
+ * Unit tests for ScaledImageCache
+ */
+public class ScaledImageCacheTest {
+
+    @BeforeEach
+    void setUp() {
+        ScaledImageCache.clear();
+        ScaledImageCache.resetCounters();
+        ScaledImageCache.setMaxBytes(64L * 1024 * 1024);
+    }
+
+    @Test
+    void testScaledToRequestedSize() {
+        ImageIcon source = new ImageIcon(new BufferedImage(100, 50, BufferedImage.TYPE_INT_ARGB));
+
+        ImageIcon scaled = ScaledImageCache.getScaled(source, 40, 20);
+
+        assertEquals(40, scaled.getIconWidth());
+        assertEquals(20, scaled.getIconHeight());
+        assertTrue(scaled.getImage() instanceof BufferedImage);
+    }
+
+    @Test
+    void testSameSizeIsSharedAcrossCallers() {
+        ImageIcon source = new ImageIcon(new BufferedImage(64, 64, BufferedImage.TYPE_INT_ARGB));
+
+        ImageIcon first = ScaledImageCache.getScaled(source, 32, 32);
+        ImageIcon second = ScaledImageCache.getScaled(source, 32, 32);
+        ImageIcon other = ScaledImageCache.getScaled(source, 16, 16);
+
+        assertSame(first, second);
+        assertNotSame(first, other);
+        assertEquals(1, ScaledImageCache.getHitCount());
+        assertEquals(2, ScaledImageCache.getMissCount());
+    }
+
+    @Test
+    void testLeastRecentlyUsedEntryIsEvicted() {
+        ScaledImageCache.setMaxBytes(2 * 10 * 10 * 4); // Room for two 10x10 images
+        ImageIcon a = new ImageIcon(new BufferedImage(20, 20, BufferedImage.TYPE_INT_ARGB));
+        ImageIcon b = new ImageIcon(new BufferedImage(20, 20, BufferedImage.TYPE_INT_ARGB));
+        ImageIcon c = new ImageIcon(new BufferedImage(20, 20, BufferedImage.TYPE_INT_ARGB));
+
+        ImageIcon scaledA = ScaledImageCache.getScaled(a, 10, 10);
+        ScaledImageCache.getScaled(b, 10, 10);
+        ScaledImageCache.getScaled(a, 10, 10); // Touch a so b becomes eldest
+        ScaledImageCache.getScaled(c, 10, 10);
+
+        assertEquals(2, ScaledImageCache.size());
+        assertEquals(1, ScaledImageCache.getEvictionCount());
+        assertSame(scaledA, ScaledImageCache.getScaled(a, 10, 10));
+        assertTrue(ScaledImageCache.getCurrentBytes() <= ScaledImageCache.getMaxBytes());
+    }
+
+    @Test
+    void testFrameScaleUsesSharedCache() {
+        BufferedImage source = new BufferedImage(64, 64, BufferedImage.TYPE_INT_ARGB);
+        AnimationFrame first = new AnimationFrame(source, "a.png", 100);
+        AnimationFrame second = new AnimationFrame(source, "a.png", 100);
+
+        first.scaleToSize(32, 32);
+        second.scaleToSize(32, 32);
+
+        assertSame(first.getImage(), second.getImage());
+    }
+}
@@ -0,0 +1,65 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+import javax.swing.ImageIcon;
+import java.awt.image.BufferedImage;
+
+/**
+ * Unit tests for SpriteFlipCache
+ */
+public class SpriteFlipCacheTest {
+
+    @BeforeEach
+    void setUp() {
+        SpriteFlipCache.clear();
+        SpriteFlipCache.resetCounters();
+    }
+
+    @Test
+    void testFlipMirrorsPixels() {
+        BufferedImage image = new BufferedImage(4, 1, BufferedImage.TYPE_INT_ARGB);
+        image.setRGB(0, 0, 0xFFFF0000); // Red on the left
+        image.setRGB(3, 0, 0xFF0000FF); // Blue on the right
+
+        ImageIcon flipped = SpriteFlipCache.getFlipped(new ImageIcon(image));
+        BufferedImage result = (BufferedImage) flipped.getImage();
+
+        assertEquals(0xFF0000FF, result.getRGB(0, 0));
+        assertEquals(0xFFFF0000, result.getRGB(3, 0));
+    }
+
+    @Test
+    void testSecondLookupIsCacheHit() {
+        ImageIcon icon = new ImageIcon(new BufferedImage(8, 8, BufferedImage.TYPE_INT_ARGB));
+
+        ImageIcon first = SpriteFlipCache.getFlipped(icon);
+        ImageIcon second = SpriteFlipCache.getFlipped(icon);
+
+        assertSame(first, second);
+        assertEquals(1, SpriteFlipCache.getMissCount());
+        assertEquals(1, SpriteFlipCache.getHitCount());
+    }
+
+    @Test
+    void testFlipIsDisplayCompatible() {
+        AnimationFrame frame = new AnimationFrame(
+            new BufferedImage(8, 8, BufferedImage.TYPE_INT_ARGB), "frame.png", 100);
+
+        assertTrue(CompatibleImages.isCompatible(frame.getFlippedImage()));
+    }
+
+    @Test
+    void testFrameFlipUsesCache() {
+        AnimationFrame frame = new AnimationFrame(
+            new BufferedImage(8, 8, BufferedImage.TYPE_INT_ARGB), "frame.png", 100);
+
+        assertSame(frame.getFlippedImage(), frame.getFlippedImage());
+        assertEquals(1, SpriteFlipCache.getMissCount());
+    }
+
+    @Test
+    void testNullIsPassedThrough() {
+        assertNull(SpriteFlipCache.getFlipped((ImageIcon) null));
+        assertNull(SpriteFlipCache.getFlipped((BufferedImage) null));
+    }
+}
@@ -0,0 +1,58 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import javax.swing.ImageIcon;
+import java.awt.image.BufferedImage;
+
+/**
+ * Unit tests for SpriteView
+ */
+public class SpriteViewTest {
+
+    @Test
+    void testIdenticalFrameIsSkipped() {
+        SpriteView view = new SpriteView();
+        BufferedImage image = new BufferedImage(8, 8, BufferedImage.TYPE_INT_ARGB);
+
+        view.setIcon(new ImageIcon(image));
+        view.setIcon(new ImageIcon(image)); // Different icon, same image
+
+        assertEquals(1, view.getRepaintCount());
+        assertEquals(1, view.getSkippedCount());
+    }
+
+    @Test
+    void testFlippedFrameRepaints() {
+        SpriteView view = new SpriteView();
+        ImageIcon frame = new ImageIcon(new BufferedImage(8, 8, BufferedImage.TYPE_INT_ARGB));
+
+        view.setIcon(frame);
+        view.setIcon(SpriteFlipCache.getFlipped(frame));
+
+        assertEquals(2, view.getRepaintCount());
+        assertEquals(0, view.getSkippedCount());
+    }
+
+    @Test
+    void testPreferredSizeFollowsIcon() {
+        SpriteView view = new SpriteView();
+        view.setIcon(new ImageIcon(new BufferedImage(12, 7, BufferedImage.TYPE_INT_ARGB)));
+
+        assertEquals(12, view.getPreferredSize().width);
+        assertEquals(7, view.getPreferredSize().height);
+    }
+
+    @Test
+    void testFrameImagesShowWithoutIcons() {
+        SpriteView view = new SpriteView();
+        BufferedImage image = new BufferedImage(9, 5, BufferedImage.TYPE_INT_ARGB);
+
+        view.setImage(image);
+        view.setIcon(new ImageIcon(image)); // Same frame shown through an icon
+        view.setImage(image);
+
+        assertEquals(1, view.getRepaintCount());
+        assertEquals(2, view.getSkippedCount());
+        assertEquals(9, view.getPreferredSize().width);
+        assertSame(image, ((ImageIcon) view.getIcon()).getImage());
+    }
+}
@@ -0,0 +1,25 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SpriteWindow liveness (windows themselves need a display)
+ */
+public class SpriteWindowTest {
+
+    @Test
+    void testOverlaySpriteWithoutPeerSurvivesCleanup() {
+        // Overlay sprites are never made displayable, which cleanup used to read as disposed
+        assertTrue(SpriteWindow.isLive(true, false, false));
+    }
+
+    @Test
+    void testDisposedOverlaySpriteIsRemoved() {
+        assertFalse(SpriteWindow.isLive(true, true, false));
+    }
+
+    @Test
+    void testNativeWindowFollowsDisplayable() {
+        assertTrue(SpriteWindow.isLive(false, false, true));
+        assertFalse(SpriteWindow.isLive(false, false, false));
+    }
+}
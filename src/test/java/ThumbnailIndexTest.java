@@ -0,0 +1,95 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+
+/**
+ * Unit tests for ThumbnailIndex
+ */
+public class ThumbnailIndexTest {
+
+    private Path tempDir;
+    private File previousIndexFile;
+    private File setDir;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        tempDir = Files.createTempDirectory("pet-thumbnails");
+        previousIndexFile = ThumbnailIndex.getIndexFile();
+        ThumbnailIndex.setIndexFile(new File(tempDir.toFile(), "thumbnails.index"));
+        setDir = new File(tempDir.toFile(), "fox");
+        assertTrue(new File(setDir, "walking").mkdirs());
+        writeFrame(new File(setDir, "walking/frame0.png"), 200, 100, 0xFF00FF00);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        ThumbnailIndex.setIndexFile(previousIndexFile);
+        try (var paths = Files.walk(tempDir)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    private void writeFrame(File file, int width, int height, int argb) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setRGB(x, y, argb);
+            }
+        }
+        ImageIO.write(image, "png", file);
+    }
+
+    @Test
+    void testPreviewsFitTheirSizes() {
+        ThumbnailIndex.Entry entry = ThumbnailIndex.get(setDir);
+
+        assertNotNull(entry);
+        assertEquals(ThumbnailIndex.THUMBNAIL_SIZE, entry.thumbnail.getIconWidth());
+        assertEquals(ThumbnailIndex.THUMBNAIL_SIZE / 2, entry.thumbnail.getIconHeight());
+        assertEquals(ThumbnailIndex.ICON_SIZE, entry.icon.getIconWidth());
+    }
+
+    @Test
+    void testSavedIndexIsReusedWithoutRendering() {
+        ThumbnailIndex.Entry rendered = ThumbnailIndex.get(setDir);
+        ThumbnailIndex.save();
+        assertTrue(ThumbnailIndex.getIndexFile().isFile());
+
+        // A fresh in-memory index reads the saved file
+        ThumbnailIndex.setIndexFile(ThumbnailIndex.getIndexFile());
+        ThumbnailIndex.Entry loaded = ThumbnailIndex.get(setDir);
+
+        assertNotSame(rendered, loaded);
+        assertSame(loaded, ThumbnailIndex.get(setDir));
+        BufferedImage image = (BufferedImage) loaded.thumbnail.getImage();
+        assertEquals(0xFF00FF00, image.getRGB(10, 10));
+    }
+
+    @Test
+    void testChangedFrameIsRerendered() throws Exception {
+        ThumbnailIndex.Entry first = ThumbnailIndex.get(setDir);
+        File frame = new File(setDir, "walking/frame0.png");
+        writeFrame(frame, 200, 100, 0xFFFF0000);
+        assertTrue(frame.setLastModified(frame.lastModified() + 5000));
+
+        ThumbnailIndex.Entry second = ThumbnailIndex.get(setDir);
+
+        assertNotSame(first, second);
+        assertEquals(0xFFFF0000, ((BufferedImage) second.thumbnail.getImage()).getRGB(10, 10));
+    }
+
+    @Test
+    void testSetWithoutFramesHasNoPreview() {
+        File empty = new File(tempDir.toFile(), "empty");
+        assertTrue(empty.mkdirs());
+
+        assertNull(ThumbnailIndex.get(empty));
+    }
+}